@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.approval.ApprovalItemDTO;
+import com.biopark.cepex_system.domain.approval.ApprovalItemRefDTO;
+import com.biopark.cepex_system.domain.approval.BulkApprovalResultDTO;
 import com.biopark.cepex_system.service.ApprovalService;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping; // Importar PutMapping
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam; // Importar RequestParam
 import org.springframework.web.bind.annotation.RestController;
@@ -23,15 +26,36 @@ public class ApprovalController {
 
     private final ApprovalService service;
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_ITEMS = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     public ApprovalController(ApprovalService service) {
         this.service = service;
     }
 
+    /**
+     * Lista a fila de aprovação com paginação por cursor.
+     * O cursor da próxima página é devolvido no cabeçalho X-Next-Cursor (ausente na última página).
+     */
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('ADMIN', 'COORDENATION', 'SECRETARY')")
-    public ResponseEntity<List<ApprovalItemDTO>> getPendingApprovals() {
-        List<ApprovalItemDTO> pendingApprovals = service.getPendingApprovals();
-        return ResponseEntity.ok(pendingApprovals);
+    public ResponseEntity<List<ApprovalItemDTO>> getPendingApprovals(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+            ApprovalService.PendingApprovalsPage page = service.getPendingApprovals(type, cursor, pageSize);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            // Tipo ou cursor inválido
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Aprovar uma atividade
@@ -58,4 +82,24 @@ public class ApprovalController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // Aprovar várias atividades de uma vez
+    @PutMapping("/bulk/approve")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENATION', 'SECRETARY')")
+    public ResponseEntity<List<BulkApprovalResultDTO>> approveItems(@RequestBody List<ApprovalItemRefDTO> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.approveItems(items));
+    }
+
+    // Rejeitar várias atividades de uma vez
+    @PutMapping("/bulk/reject")
+    @PreAuthorize("hasAnyRole('ADMIN', 'COORDENATION', 'SECRETARY')")
+    public ResponseEntity<List<BulkApprovalResultDTO>> rejectItems(@RequestBody List<ApprovalItemRefDTO> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(service.rejectItems(items));
+    }
+}
@@ -3,6 +3,7 @@ package com.biopark.cepex_system.controller;
 import com.biopark.cepex_system.domain.user.*;
 import com.biopark.cepex_system.infra.security.TokenService;
 import com.biopark.cepex_system.repository.UserRepository;
+import com.biopark.cepex_system.service.PasswordResetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -20,7 +21,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder; // Importar PasswordEncoder
 import org.springframework.web.bind.annotation.*;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("auth")
@@ -34,6 +34,8 @@ public class AuthenticationController {
     private TokenService tokenService;
     @Autowired // Injetar o PasswordEncoder
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PasswordResetService passwordResetService;
 
     @PostMapping("/login")
     @Operation(
@@ -61,6 +63,10 @@ public class AuthenticationController {
                     value = "Falha na autenticação: Login ou senha inválidos."
                 )
             )
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Servidor sobrecarregado de logins, tente novamente em instantes"
         )
     })
     public ResponseEntity<?> login(
@@ -114,6 +120,10 @@ public class AuthenticationController {
                     value = "Erro: Login já cadastrado."
                 )
             )
+        ),
+        @ApiResponse(
+            responseCode = "429",
+            description = "Servidor sobrecarregado de cadastros, tente novamente em instantes"
         )
     })
     public ResponseEntity<?> register(
@@ -132,7 +142,7 @@ public class AuthenticationController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Erro: Email já cadastrado.");
         }
 
-        // Criptografa a senha antes de salvar
+        // Criptografa a senha antes de salvar (pool de hashing saturado vira 429 no RestExceptionHandler)
         String encryptedPassword = passwordEncoder.encode(data.password());
         // Cria o novo usuário usando o construtor que definimos em User.java
         User newUser = new User(data.login(), data.email(), encryptedPassword, data.role());
@@ -145,7 +155,7 @@ public class AuthenticationController {
     @PostMapping("/forgot-password")
     @Operation(
         summary = "Solicitar recuperação de senha",
-        description = "Inicia o processo de recuperação de senha via email"
+        description = "Envia por email um código de recuperação de uso único, limitado a alguns pedidos por hora para cada usuário"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -166,25 +176,15 @@ public class AuthenticationController {
         )
         @RequestBody @Valid ForgotPasswordDTO data
     ) {
-        User user = repository.findByEmail(data.email());
-        
-        if (user == null) {
-            // Por segurança, não informamos se o email existe ou não
-            return ResponseEntity.ok().body("Se o email estiver cadastrado, você receberá as instruções de recuperação.");
-        }
-
-        // Gerar um token único para recuperação de senha
-        String resetToken = UUID.randomUUID().toString();
-        
-        // TODO: Implementar o envio de email com o token
-        // Por enquanto, apenas retornamos uma mensagem de sucesso
+        // Mesma resposta com ou sem cadastro e acima do limite de pedidos: não revela se o email existe
+        passwordResetService.requestReset(data.email());
         return ResponseEntity.ok().body("Se o email estiver cadastrado, você receberá as instruções de recuperação.");
     }
 
     @PostMapping("/reset-password")
     @Operation(
         summary = "Redefinir senha",
-        description = "Redefine a senha do usuário usando o token de recuperação"
+        description = "Redefine a senha do usuário usando o código de recuperação recebido por email"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -196,6 +196,16 @@ public class AuthenticationController {
                     value = "Senha atualizada com sucesso!"
                 )
             )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Código inválido, expirado ou já usado, ou confirmação de senha diferente",
+            content = @Content(
+                mediaType = "text/plain",
+                examples = @ExampleObject(
+                    value = "Código de recuperação inválido ou expirado."
+                )
+            )
         )
     })
     public ResponseEntity<?> resetPassword(
@@ -205,8 +215,11 @@ public class AuthenticationController {
         )
         @RequestBody @Valid ResetPasswordDTO data
     ) {
-        // TODO: Implementar a validação do token e atualização da senha
-        // Por enquanto, apenas retornamos uma mensagem de sucesso
-        return ResponseEntity.ok().body("Senha atualizada com sucesso!");
+        try {
+            passwordResetService.resetPassword(data.token(), data.password(), data.confirmPassword());
+            return ResponseEntity.ok().body("Senha atualizada com sucesso!");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -1,16 +1,19 @@
 package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.feedback.AvaliacaoPlataforma;
-import com.biopark.cepex_system.domain.user.User; // Importar User
+import com.biopark.cepex_system.domain.feedback.RatingTrendGranularity;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
 import com.biopark.cepex_system.service.AvaliacaoPlataformaService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal; // Para obter o usuário autenticado
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,12 +30,13 @@ public class AvaliacaoPlataformaController {
 
     // enviar uma nova avaliação de plataforma
     @PostMapping
-    public ResponseEntity<AvaliacaoPlataforma> sendFeedback(@RequestParam @NotNull @Min(1) @Max(5) Integer rating, @AuthenticationPrincipal User userAutenticado) {
+    public ResponseEntity<AvaliacaoPlataforma> sendFeedback(@RequestParam @NotNull @Min(1) @Max(5) Integer rating, @AuthenticationPrincipal UserPrincipal userAutenticado) {
         if (userAutenticado == null) {
             return ResponseEntity.status(401).build(); // Usuário não autenticado
         }
 
         try {
+            // A nota fora de 1 a 5 é rejeitada pelo serviço com IllegalArgumentException
             AvaliacaoPlataforma avaliacao = service.save(rating, userAutenticado.getId());
             return ResponseEntity.ok(avaliacao);
         } catch (RuntimeException e) {
@@ -49,10 +53,39 @@ public class AvaliacaoPlataformaController {
         return ResponseEntity.ok(avaliacoes);
     }
 
-    // média das avaliações (útil para exibir no front-end)
+    // média das avaliações (útil para exibir no front-end), lida do resumo por estrela
     @GetMapping("/average-rating")
     public ResponseEntity<Double> getAverageRating() {
         Double average = service.getAverageRating();
         return ResponseEntity.ok(average);
     }
+
+    // contagem, média e histograma por estrela
+    @GetMapping("/summary")
+    public ResponseEntity<AvaliacaoPlataformaService.RatingSummaryDTO> getRatingSummary() {
+        return ResponseEntity.ok(service.getRatingSummary());
+    }
+
+    /**
+     * Tendência das avaliações por período (DAY, WEEK ou MONTH) entre as datas from e to (inclusive).
+     * Sem datas, usa os últimos 30 dias, 12 semanas ou 12 meses, conforme a granularidade.
+     */
+    @GetMapping("/trend")
+    public ResponseEntity<?> getRatingTrend(
+            @RequestParam(defaultValue = "DAY") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            RatingTrendGranularity period = RatingTrendGranularity.valueOf(granularity.trim().toUpperCase());
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : switch (period) {
+                case DAY -> end.minusDays(29);
+                case WEEK -> end.minusWeeks(12);
+                case MONTH -> end.minusMonths(12).withDayOfMonth(1);
+            };
+            return ResponseEntity.ok(service.getRatingTrend(period, start, end));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Granularidade ou intervalo inválido
+        }
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.course.Course;
 import com.biopark.cepex_system.service.CourseService;
+import com.biopark.cepex_system.service.ReferenceDataVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,13 +12,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("courses")
@@ -27,6 +31,9 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private ReferenceDataVersion referenceDataVersion;
+
     @GetMapping
     @Operation(
         summary = "Listar todos os cursos",
@@ -42,9 +49,8 @@ public class CourseController {
             )
         )
     })
-    public ResponseEntity<List<Course>> getAllCourses() {
-        List<Course> courses = courseService.findAll();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<List<Course>> getAllCourses(WebRequest request) {
+        return conditional(request, courseService::findAll);
     }
 
     @GetMapping("/{id}")
@@ -194,8 +200,20 @@ public class CourseController {
             )
         )
     })
-    public ResponseEntity<List<Course>> getActiveCourses() {
-        List<Course> activeCourses = courseService.findActiveCourses();
-        return ResponseEntity.ok(activeCourses);
+    public ResponseEntity<List<Course>> getActiveCourses(WebRequest request) {
+        return conditional(request, courseService::findActiveCourses);
+    }
+
+    /**
+     * Responde 304 quando o If-None-Match / If-Modified-Since do cliente corresponde à versão atual dos dados
+     * de referência; caso contrário devolve a lista com ETag e Last-Modified, exigindo revalidação (no-cache).
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+        ReferenceDataVersion.Stamp stamp = referenceDataVersion.current();
+        // checkNotModified também grava os cabeçalhos ETag e Last-Modified na resposta
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
     }
 }
\ No newline at end of file
@@ -2,9 +2,13 @@ package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.course.Discipline;
 import com.biopark.cepex_system.service.DisciplineService;
+import com.biopark.cepex_system.service.ReferenceDataVersion;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,9 +20,11 @@ import java.util.UUID;
 public class DisciplineController {
 
     private final DisciplineService service;
+    private final ReferenceDataVersion referenceDataVersion;
 
-    public DisciplineController(DisciplineService service) {
+    public DisciplineController(DisciplineService service, ReferenceDataVersion referenceDataVersion) {
         this.service = service;
+        this.referenceDataVersion = referenceDataVersion;
     }
 
     @PostMapping
@@ -28,13 +34,18 @@ public class DisciplineController {
 
     @GetMapping
     public ResponseEntity<List<Discipline>> getAllDisciplines(
-            @RequestParam(required = false) UUID courseId) {
+            @RequestParam(required = false) UUID courseId, WebRequest request) {
+        // 304 quando o cliente já tem a versão atual dos dados de referência (ETag / Last-Modified)
+        ReferenceDataVersion.Stamp stamp = referenceDataVersion.current();
+        if (request.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         if (courseId != null) {
             List<Discipline> disciplines = service.findByCourseId(courseId);
-            return ResponseEntity.ok(disciplines);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(disciplines);
         }
         List<Discipline> disciplines = service.findAll();
-        return ResponseEntity.ok(disciplines);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(disciplines);
     }
 
     @GetMapping("/{id}")
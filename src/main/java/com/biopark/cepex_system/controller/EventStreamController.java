@@ -0,0 +1,48 @@
+package com.biopark.cepex_system.controller;
+
+import com.biopark.cepex_system.domain.event.ChangeTopic;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
+import com.biopark.cepex_system.service.ChangeStreamHub;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+/**
+ * Controlador REST do canal de eventos em tempo real (Server-Sent Events).
+ */
+@RestController
+@RequestMapping("/events")
+@CrossOrigin(origins = "*")
+public class EventStreamController {
+
+    private final ChangeStreamHub changeStreamHub;
+
+    public EventStreamController(ChangeStreamHub changeStreamHub) {
+        this.changeStreamHub = changeStreamHub;
+    }
+
+    /**
+     * Abre o fluxo de eventos do usuário autenticado. Cada evento tem o nome do tópico (APPROVAL_QUEUE ou ENROLLMENT)
+     * e um ChangeEvent em JSON; o cliente deve recarregar a fila ou o status ao reconectar.
+     * O token vai no cabeçalho Authorization, como nas demais rotas (EventSource nativo não envia cabeçalhos;
+     * use um cliente SSE baseado em fetch).
+     * @param topics tópicos desejados; por padrão, todos os permitidos ao papel do usuário.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(
+            @RequestParam(value = "topics", required = false) Set<ChangeTopic> topics,
+            @AuthenticationPrincipal UserPrincipal user) {
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            return ResponseEntity.ok(changeStreamHub.subscribe(user.getId(), user.getRole(), topics));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+}
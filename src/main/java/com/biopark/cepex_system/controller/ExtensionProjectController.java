@@ -2,21 +2,29 @@ package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.project.ExtensionProject;
 import com.biopark.cepex_system.domain.project.InscricaoExtensionProject;
-import com.biopark.cepex_system.domain.user.User;
-import com.biopark.cepex_system.repository.UserRepository;
+import com.biopark.cepex_system.domain.project.ExtensionProjectSummary;
+import com.biopark.cepex_system.domain.project.StatusInscricaoProjeto;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
 import com.biopark.cepex_system.service.ExtensionProjectService;
+import com.biopark.cepex_system.service.ProjectListPage;
 import com.biopark.cepex_system.service.InscricaoExtensionProjectService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Controlador REST para gerenciar Projetos de Extensão.
@@ -30,120 +38,108 @@ public class ExtensionProjectController {
 
     private final ExtensionProjectService extensionProjectService;
     private final InscricaoExtensionProjectService inscricaoExtensionProjectService;
-    private final UserRepository userRepository;
 
-    public ExtensionProjectController(ExtensionProjectService extensionProjectService, InscricaoExtensionProjectService inscricaoExtensionProjectService, UserRepository userRepository) {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("title", "status", "startDate", "endDate");
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public ExtensionProjectController(ExtensionProjectService extensionProjectService, InscricaoExtensionProjectService inscricaoExtensionProjectService) {
         this.extensionProjectService = extensionProjectService;
         this.inscricaoExtensionProjectService = inscricaoExtensionProjectService;
-        this.userRepository = userRepository;
     }
 
     // Endpoint para criar um novo projeto de extensão.
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
-    public ResponseEntity<ExtensionProject> createExtensionProject(@RequestBody @Valid ExtensionProject extensionProject) {
+    public ResponseEntity<?> createExtensionProject(@RequestBody @Valid ExtensionProject extensionProject) {
         try {
-            // Carregar coordenador do banco de dados
-            if (extensionProject.getCoordinator() != null && extensionProject.getCoordinator().getId() != null) {
-                Optional<User> coordinatorOpt = userRepository.findById(extensionProject.getCoordinator().getId());
-                if (coordinatorOpt.isPresent()) {
-                    User coordinator = coordinatorOpt.get();
-                    extensionProject.setCoordinator(coordinator);
-                    // Definir o leadResearcher como o mesmo usuário do coordenador
-                    extensionProject.setLeadResearcher(coordinator);
-                } else {
-                    throw new RuntimeException("Coordenador não encontrado com ID: " + extensionProject.getCoordinator().getId());
-                }
-            }
-            
-            // Carregar membros da equipe do banco de dados
-            if (extensionProject.getTeam() != null && !extensionProject.getTeam().isEmpty()) {
-                Set<User> loadedTeam = new HashSet<>();
-                for (User teamMember : extensionProject.getTeam()) {
-                    if (teamMember.getId() != null) {
-                        Optional<User> userOpt = userRepository.findById(teamMember.getId());
-                        if (userOpt.isPresent()) {
-                            loadedTeam.add(userOpt.get());
-                        }
-                    }
-                }
-                extensionProject.setTeam(loadedTeam);
-            }
-            
-            // Validar se o status é válido
-            if (extensionProject.getStatus() == null) {
-                extensionProject.setStatus(ExtensionProject.ProjectStatus.ANALISE);
-            }
-            
-            ExtensionProject savedProject = extensionProjectService.save(extensionProject);
-            return ResponseEntity.ok(savedProject);
-        } catch (Exception e) {
-            throw e;
+            // O serviço carrega coordenador e equipe do banco em uma única consulta
+            return ResponseEntity.ok(extensionProjectService.create(extensionProject));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Usuários referenciados inexistentes
         }
     }
 
-    // Endpoint para listar projetos de extensão, com filtros por busca e status.
+    /**
+     * Endpoint para listar projetos de extensão, com filtros por busca e status, paginação e ordenação no banco.
+     * O total de registros vai no cabeçalho X-Total-Count (apenas sem cursor). Quando a ordenação é por título
+     * crescente, o cabeçalho X-Next-Cursor traz o cursor para continuar a leitura por keyset (ausente na última página).
+     */
     @GetMapping
-    public ResponseEntity<List<ExtensionProject>> getAllExtensionProjects(
+    public ResponseEntity<List<ExtensionProjectSummary>> getAllExtensionProjects(
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String status) {
-        List<ExtensionProject> projects = extensionProjectService.findAll(search, status);
-        return ResponseEntity.ok(projects);
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "title") String sort,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+            // O id desempata a ordenação para que a paginação seja estável
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                    Sort.by(sortDirection, sort).and(Sort.by(sortDirection, "id")));
+            // Projeção leve; a descrição e a equipe ficam em GET /extension-projects/{id}
+            ProjectListPage<ExtensionProjectSummary> result = extensionProjectService.findSummaries(search, status, cursor, pageable);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.totalCount() != null) {
+                response.header(TOTAL_COUNT_HEADER, String.valueOf(result.totalCount()));
+            }
+            if (result.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+            }
+            return response.body(result.items());
+        } catch (IllegalArgumentException e) {
+            // Direção de ordenação ou cursor inválido
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Endpoint para buscar um projeto de extensão por ID.
     @GetMapping("/{id}")
-    public ResponseEntity<ExtensionProject> getExtensionProjectById(@PathVariable UUID id) {
+    public ResponseEntity<ExtensionProject> getExtensionProjectById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão antes de carregar o projeto e suas associações
+            Optional<Long> version = extensionProjectService.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (VersionTags.notModified(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VersionTags.of(version.get())).build();
+            }
+        }
         Optional<ExtensionProject> project = extensionProjectService.findById(id);
-        return project.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return project.map(p -> ResponseEntity.ok().eTag(VersionTags.of(p.getVersion())).body(p))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * Endpoint para atualizar um projeto de extensão existente.
      * **Importante**: Mapeia e atualiza os campos específicos de ExtensionProject.
+     * Com If-Match, responde 412 se o projeto tiver sido alterado desde a versão informada.
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
-    public ResponseEntity<ExtensionProject> updateExtensionProject(@PathVariable UUID id, @RequestBody @Valid ExtensionProject projectDetails) {
-        return extensionProjectService.findById(id)
-                .map(existingProject -> {
-                    existingProject.setTitle(projectDetails.getTitle());
-                    existingProject.setDescription(projectDetails.getDescription());
-                    existingProject.setLocation(projectDetails.getLocation());
-                    existingProject.setTargetBeneficiaries(projectDetails.getTargetBeneficiaries());
-                    existingProject.setStartDate(projectDetails.getStartDate());
-                    existingProject.setEndDate(projectDetails.getEndDate());
-                    existingProject.setStatus(projectDetails.getStatus());
-                    
-                    // Carregar coordenador do banco de dados
-                    if (projectDetails.getCoordinator() != null && projectDetails.getCoordinator().getId() != null) {
-                        Optional<User> coordinatorOpt = userRepository.findById(projectDetails.getCoordinator().getId());
-                        if (coordinatorOpt.isPresent()) {
-                            User coordinator = coordinatorOpt.get();
-                            existingProject.setCoordinator(coordinator);
-                            // Definir o leadResearcher como o mesmo usuário do coordenador
-                            existingProject.setLeadResearcher(coordinator);
-                        }
-                    }
-                    
-                    // Carregar membros da equipe do banco de dados
-                    if (projectDetails.getTeam() != null && !projectDetails.getTeam().isEmpty()) {
-                        Set<User> loadedTeam = new HashSet<>();
-                        for (User teamMember : projectDetails.getTeam()) {
-                            if (teamMember.getId() != null) {
-                                Optional<User> userOpt = userRepository.findById(teamMember.getId());
-                                if (userOpt.isPresent()) {
-                                    loadedTeam.add(userOpt.get());
-                                }
-                            }
-                        }
-                        existingProject.setTeam(loadedTeam);
-                    }
-
-                    ExtensionProject updatedProject = extensionProjectService.save(existingProject);
-                    return ResponseEntity.ok(updatedProject);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> updateExtensionProject(
+            @PathVariable UUID id,
+            @RequestBody @Valid ExtensionProject projectDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = VersionTags.expectedVersion(ifMatch);
+            return extensionProjectService.update(id, projectDetails, expectedVersion)
+                    .<ResponseEntity<?>>map(updated -> ResponseEntity.ok().eTag(VersionTags.of(updated.getVersion())).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // If-Match inválido ou usuários referenciados inexistentes
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     // Endpoint para deletar um projeto de extensão por ID.
@@ -161,11 +157,13 @@ public class ExtensionProjectController {
     /**
      * Endpoint para um aluno se inscrever em um projeto de extensão.
      * **Novo endpoint**, utiliza o serviço `InscricaoExtensionProjectService`.
+     * Reenviar a requisição com o mesmo cabeçalho Idempotency-Key devolve a inscrição já registrada.
      */
     @PostMapping("/{projectId}/inscrever")
     public ResponseEntity<InscricaoExtensionProject> inscreverExtensionProject(
             @PathVariable UUID projectId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -173,7 +171,7 @@ public class ExtensionProjectController {
 
         try {
             // Chama o serviço de inscrição específico para projetos de extensão.
-            InscricaoExtensionProject inscricao = inscricaoExtensionProjectService.inscrever(projectId, alunoAutenticado.getId());
+            InscricaoExtensionProject inscricao = inscricaoExtensionProjectService.inscrever(projectId, alunoAutenticado.getId(), idempotencyKey);
             return ResponseEntity.ok(inscricao);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(null);
@@ -187,7 +185,7 @@ public class ExtensionProjectController {
     @DeleteMapping("/{projectId}/inscrever")
     public ResponseEntity<Void> cancelarInscricaoExtensionProject(
             @PathVariable UUID projectId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -202,6 +200,27 @@ public class ExtensionProjectController {
         }
     }
 
+    /**
+     * Status da inscrição do aluno autenticado em vários projetos de extensão (ex.: os cards de uma página
+     * do catálogo), com uma única consulta. Projetos sem inscrição do aluno ficam fora do mapa.
+     */
+    @GetMapping("/inscricao-status")
+    public ResponseEntity<?> checkExtensionProjectInscricaoStatuses(
+            @RequestParam("ids") List<UUID> projectIds,
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
+
+        if (alunoAutenticado == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        try {
+            Map<UUID, StatusInscricaoProjeto> statuses = inscricaoExtensionProjectService.findInscricaoStatuses(projectIds, alunoAutenticado.getId());
+            return ResponseEntity.ok(statuses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Ids demais em uma única consulta
+        }
+    }
+
     /**
      * Endpoint para verificar o status de inscrição de um aluno em um projeto de extensão.
      * **Novo endpoint**, utiliza o serviço `InscricaoExtensionProjectService`.
@@ -209,7 +228,7 @@ public class ExtensionProjectController {
     @GetMapping("/{projectId}/inscricao-status")
     public ResponseEntity<Boolean> checkExtensionProjectInscricaoStatus(
             @PathVariable UUID projectId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -0,0 +1,37 @@
+package com.biopark.cepex_system.controller;
+
+import com.biopark.cepex_system.domain.enrollment.EnrollmentSummary;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
+import com.biopark.cepex_system.service.EnrollmentService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST dos dados do usuário autenticado.
+ */
+@RestController
+@RequestMapping("/me")
+@CrossOrigin(origins = "*")
+public class MeController {
+
+    private final EnrollmentService enrollmentService;
+
+    public MeController(EnrollmentService enrollmentService) {
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * Candidaturas a monitorias e inscrições em projetos do usuário autenticado, da mais recente para a mais antiga.
+     * Substitui as três chamadas separadas da tela inicial do aluno.
+     */
+    @GetMapping("/enrollments")
+    public ResponseEntity<List<EnrollmentSummary>> getMyEnrollments(@AuthenticationPrincipal UserPrincipal user) {
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(enrollmentService.findByAluno(user.getId()));
+    }
+}
@@ -1,23 +1,33 @@
 package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.MonitoriaSummary;
 import com.biopark.cepex_system.domain.monitoria.MonitoriaUpdateDTO;
+import com.biopark.cepex_system.domain.monitoria.StatusCandidatura;
 import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
-import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
 import com.biopark.cepex_system.domain.user.UserRole;
 import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
 import com.biopark.cepex_system.service.MonitoriaService;
 import com.biopark.cepex_system.service.CandidaturaMonitoriaService;
-import com.biopark.cepex_system.repository.CourseRepository;
-import com.biopark.cepex_system.repository.DisciplineRepository;
-import com.biopark.cepex_system.repository.ProfessorRepository;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -27,16 +37,14 @@ public class MonitoriaController {
 
     private final MonitoriaService monitoriaService;
     private final CandidaturaMonitoriaService candidaturaMonitoriaService;
-    private final CourseRepository courseRepository;
-    private final DisciplineRepository disciplineRepository;
-    private final ProfessorRepository professorRepository;
 
-    public MonitoriaController(MonitoriaService monitoriaService, CandidaturaMonitoriaService candidaturaMonitoriaService, CourseRepository courseRepository, DisciplineRepository disciplineRepository, ProfessorRepository professorRepository) {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "title", "inicialDate", "finalDate", "inicialIngressDate", "finalIngressDate", "statusMonitoria", "vacancies");
+
+    public MonitoriaController(MonitoriaService monitoriaService, CandidaturaMonitoriaService candidaturaMonitoriaService) {
         this.monitoriaService = monitoriaService;
         this.candidaturaMonitoriaService = candidaturaMonitoriaService;
-        this.courseRepository = courseRepository;
-        this.disciplineRepository = disciplineRepository;
-        this.professorRepository = professorRepository;
     }
 
     @PostMapping
@@ -46,66 +54,81 @@ public class MonitoriaController {
         return ResponseEntity.ok(monitoriaService.save(monitoria));
     }
 
+    /**
+     * Listagem paginada de monitorias, com busca e filtro por status no banco.
+     * A página é serializada como PagedModel (content + page), formato estável do Spring Data.
+     * Campo ou direção de ordenação desconhecidos respondem 400, como nas listagens de projetos.
+     */
     @GetMapping
-    public ResponseEntity<List<Monitoria>> getMonitorias(
+    public ResponseEntity<PagedModel<MonitoriaSummary>> getMonitorias(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String status,
-            @AuthenticationPrincipal User user) {
-        
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "title") String sort,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @AuthenticationPrincipal UserPrincipal user) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Direction sortDirection;
+        try {
+            sortDirection = Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // O id desempata a ordenação para que a paginação seja estável
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(sortDirection, sort).and(Sort.by(sortDirection, "id")));
+
         // Se for estudante, mostrar apenas monitorias aprovadas
         if (user != null && user.getRole() == UserRole.STUDENT) {
-            List<Monitoria> monitorias = monitoriaService.findAllForStudent(search);
-            return ResponseEntity.ok(monitorias);
+            return ResponseEntity.ok(new PagedModel<>(monitoriaService.findSummariesForStudent(search, pageable)));
         }
-        
+
         // Para outros roles, mostrar todas as monitorias com filtros
-        List<Monitoria> monitorias = monitoriaService.findAll(search, status);
-        return ResponseEntity.ok(monitorias);
+        // A listagem usa a projeção leve; o conteúdo completo fica em GET /monitorias/{id}
+        return ResponseEntity.ok(new PagedModel<>(monitoriaService.findSummaries(search, status, pageable)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Monitoria> getMonitoriaById(@PathVariable UUID id) {
+    public ResponseEntity<Monitoria> getMonitoriaById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão antes de carregar a monitoria
+            Optional<Long> version = monitoriaService.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (VersionTags.notModified(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VersionTags.of(version.get())).build();
+            }
+        }
         Optional<Monitoria> monitoria = monitoriaService.findById(id);
-        return monitoria.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return monitoria.map(found -> ResponseEntity.ok().eTag(VersionTags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // Atualizar Monitoria
+    /**
+     * Atualizar Monitoria.
+     * Com If-Match, responde 412 se a monitoria tiver sido alterada desde a versão informada.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Monitoria> updateMonitoria(@PathVariable UUID id, @RequestBody @Valid MonitoriaUpdateDTO monitoriaDetails) {
-        return monitoriaService.findById(id)
-                .map(existingMonitoria -> {
-                    // Buscar as entidades relacionadas
-                    var course = courseRepository.findById(monitoriaDetails.getCourseId())
-                            .orElseThrow(() -> new RuntimeException("Curso não encontrado"));
-                    var subject = disciplineRepository.findById(monitoriaDetails.getSubjectId())
-                            .orElseThrow(() -> new RuntimeException("Disciplina não encontrada"));
-                    var professor = professorRepository.findById(monitoriaDetails.getProfessorId())
-                            .orElseThrow(() -> new RuntimeException("Professor não encontrado"));
-
-                    // Atualizar os campos
-                    existingMonitoria.setTitle(monitoriaDetails.getTitle());
-                    existingMonitoria.setDescription(monitoriaDetails.getDescription());
-                    existingMonitoria.setRemote(monitoriaDetails.getRemote());
-                    existingMonitoria.setLocation(monitoriaDetails.getLocation());
-                    existingMonitoria.setVacancies(monitoriaDetails.getVacancies());
-                    existingMonitoria.setWorkload(monitoriaDetails.getWorkload());
-                    existingMonitoria.setInicialDate(monitoriaDetails.getInicialDate());
-                    existingMonitoria.setFinalDate(monitoriaDetails.getFinalDate());
-                    existingMonitoria.setInicialIngressDate(monitoriaDetails.getInicialIngressDate());
-                    existingMonitoria.setFinalIngressDate(monitoriaDetails.getFinalIngressDate());
-                    existingMonitoria.setSelectionType(monitoriaDetails.getSelectionType());
-                    existingMonitoria.setSelectionDate(monitoriaDetails.getSelectionDate());
-                    existingMonitoria.setSelectionTime(monitoriaDetails.getSelectionTime());
-                    existingMonitoria.setDivulgationDate(monitoriaDetails.getDivulgationDate());
-                    existingMonitoria.setStatusMonitoria(monitoriaDetails.getStatusMonitoria());
-                    existingMonitoria.setCourse(course);
-                    existingMonitoria.setSubject(subject);
-                    existingMonitoria.setProfessor(professor);
-
-                    Monitoria updatedMonitoria = monitoriaService.save(existingMonitoria);
-                    return ResponseEntity.ok(updatedMonitoria);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> updateMonitoria(
+            @PathVariable UUID id,
+            @RequestBody @Valid MonitoriaUpdateDTO monitoriaDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = VersionTags.expectedVersion(ifMatch);
+            return monitoriaService.update(id, monitoriaDetails, expectedVersion)
+                    .<ResponseEntity<?>>map(updated -> ResponseEntity.ok().eTag(VersionTags.of(updated.getVersion())).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // If-Match inválido ou curso, disciplina ou professor inexistente
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -118,17 +141,19 @@ public class MonitoriaController {
         }
     }
 
+    // Reenviar com o mesmo cabeçalho Idempotency-Key devolve a candidatura já registrada em vez de erro
     @PostMapping("/{monitoriaId}/candidatar")
     public ResponseEntity<CandidaturaMonitoria> candidatarMonitoria(
             @PathVariable UUID monitoriaId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
         }
 
         try {
-            CandidaturaMonitoria candidatura = candidaturaMonitoriaService.candidatar(monitoriaId, alunoAutenticado.getId());
+            CandidaturaMonitoria candidatura = candidaturaMonitoriaService.candidatar(monitoriaId, alunoAutenticado.getId(), idempotencyKey);
             return ResponseEntity.ok(candidatura);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(null);
@@ -138,7 +163,7 @@ public class MonitoriaController {
     @DeleteMapping("/{monitoriaId}/candidatar")
     public ResponseEntity<Object> cancelarCandidaturaMonitoria(
             @PathVariable UUID monitoriaId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -154,10 +179,67 @@ public class MonitoriaController {
         }
     }
 
+    /**
+     * Aprova uma candidatura se houver vaga; com a monitoria lotada, a candidatura entra na lista de espera.
+     * O status resultante (APROVADA ou LISTA_ESPERA) vem no corpo da resposta.
+     */
+    @PutMapping("/{monitoriaId}/candidaturas/{candidaturaId}/aprovar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
+    public ResponseEntity<Object> aprovarCandidatura(@PathVariable UUID monitoriaId, @PathVariable UUID candidaturaId) {
+        try {
+            return ResponseEntity.ok(candidaturaMonitoriaService.aprovarCandidatura(monitoriaId, candidaturaId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Rejeita uma candidatura; se ela estava aprovada, a vaga é liberada
+    @PutMapping("/{monitoriaId}/candidaturas/{candidaturaId}/rejeitar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
+    public ResponseEntity<Object> rejeitarCandidatura(@PathVariable UUID monitoriaId, @PathVariable UUID candidaturaId) {
+        try {
+            return ResponseEntity.ok(candidaturaMonitoriaService.rejeitarCandidatura(monitoriaId, candidaturaId));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Lista de espera da monitoria, na ordem de chegada
+    @GetMapping("/{monitoriaId}/lista-espera")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
+    public ResponseEntity<List<CandidaturaMonitoria>> getListaEspera(@PathVariable UUID monitoriaId) {
+        return ResponseEntity.ok(candidaturaMonitoriaService.findListaEspera(monitoriaId));
+    }
+
+    /**
+     * Status da candidatura do aluno autenticado em várias monitorias (ex.: os cards de uma página do catálogo),
+     * com uma única consulta. Monitorias sem candidatura do aluno ficam fora do mapa.
+     */
+    @GetMapping("/candidatura-status")
+    public ResponseEntity<?> checkCandidaturaStatuses(
+            @RequestParam("ids") List<UUID> monitoriaIds,
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
+
+        if (alunoAutenticado == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        try {
+            Map<UUID, StatusCandidatura> statuses = candidaturaMonitoriaService.findCandidaturaStatuses(monitoriaIds, alunoAutenticado.getId());
+            return ResponseEntity.ok(statuses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Ids demais em uma única consulta
+        }
+    }
+
     @GetMapping("/{monitoriaId}/candidatura-status")
     public ResponseEntity<Boolean> checkCandidaturaStatus(
             @PathVariable UUID monitoriaId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -170,7 +252,7 @@ public class MonitoriaController {
     // Obter estatísticas de Monitoria
     @GetMapping("/statistics")
     public ResponseEntity<MonitoriaService.MonitoriaStatisticsDTO> getMonitoriaStatistics(
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal UserPrincipal user) {
 
         // Verificar se o usuário tem permissão para ver estatísticas
         if (user == null || !user.getRole().equals(UserRole.ADMIN) &&
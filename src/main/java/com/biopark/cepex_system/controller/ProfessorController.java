@@ -3,6 +3,9 @@ package com.biopark.cepex_system.controller;
 import com.biopark.cepex_system.domain.professor.Professor;
 import com.biopark.cepex_system.service.ProfessorService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,9 +36,22 @@ public class ProfessorController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Professor> getProfessorById(@PathVariable UUID id) {
+    public ResponseEntity<Professor> getProfessorById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão antes de carregar o professor
+            Optional<Long> version = service.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (VersionTags.notModified(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VersionTags.of(version.get())).build();
+            }
+        }
         Optional<Professor> professor = service.findById(id);
-        return professor.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return professor.map(found -> ResponseEntity.ok().eTag(VersionTags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/ra/{ra}")
@@ -56,24 +72,25 @@ public class ProfessorController {
         return professor.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // Atualizar Professor
+    /**
+     * Atualiza o professor.
+     * Com If-Match, responde 412 se o professor tiver sido alterado desde a versão informada.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Professor> updateProfessor(@PathVariable UUID id, @RequestBody @Valid Professor professorDetails) {
-        return service.findById(id)
-                .map(existingProfessor -> {
-                    existingProfessor.setFirstName(professorDetails.getFirstName());
-                    existingProfessor.setLastName(professorDetails.getLastName());
-                    existingProfessor.setEmail(professorDetails.getEmail());
-                    existingProfessor.setRa(professorDetails.getRa());
-                    existingProfessor.setCpf(professorDetails.getCpf());
-                    existingProfessor.setNumber(professorDetails.getNumber());
-                    existingProfessor.setActive(professorDetails.getActive());
-                    existingProfessor.setCreatedAt(professorDetails.getCreatedAt());
-                    existingProfessor.setDisciplines(professorDetails.getDisciplines());
-                    Professor updatedProfessor = service.save(existingProfessor);
-                    return ResponseEntity.ok(updatedProfessor);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> updateProfessor(
+            @PathVariable UUID id,
+            @RequestBody @Valid Professor professorDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = VersionTags.expectedVersion(ifMatch);
+            return service.update(id, professorDetails, expectedVersion)
+                    .<ResponseEntity<?>>map(updated -> ResponseEntity.ok().eTag(VersionTags.of(updated.getVersion())).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // If-Match inválido
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     @PatchMapping("/{id}/status")
@@ -2,11 +2,19 @@ package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.project.ResearchProject;
 import com.biopark.cepex_system.domain.project.InscricaoResearchProject;
+import com.biopark.cepex_system.domain.project.ResearchProjectSummary;
+import com.biopark.cepex_system.domain.project.StatusInscricaoProjeto;
 import com.biopark.cepex_system.domain.user.User;
-import com.biopark.cepex_system.repository.UserRepository;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
 import com.biopark.cepex_system.service.ResearchProjectService;
+import com.biopark.cepex_system.service.ProjectListPage;
 import com.biopark.cepex_system.service.InscricaoResearchProjectService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,9 +24,8 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Controlador REST para gerenciar Projetos de Pesquisa.
@@ -32,134 +39,108 @@ public class ResearchProjectController {
 
     private final ResearchProjectService researchProjectService;
     private final InscricaoResearchProjectService inscricaoResearchProjectService;
-    private final UserRepository userRepository;
 
-    public ResearchProjectController(ResearchProjectService researchProjectService, InscricaoResearchProjectService inscricaoResearchProjectService, UserRepository userRepository) {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("title", "status", "startDate", "endDate");
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public ResearchProjectController(ResearchProjectService researchProjectService, InscricaoResearchProjectService inscricaoResearchProjectService) {
         this.researchProjectService = researchProjectService;
         this.inscricaoResearchProjectService = inscricaoResearchProjectService;
-        this.userRepository = userRepository;
     }
 
     // Endpoint para criar um novo projeto de pesquisa.
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
-    public ResponseEntity<ResearchProject> createResearchProject(@RequestBody @Valid ResearchProject researchProject) {
+    public ResponseEntity<?> createResearchProject(@RequestBody @Valid ResearchProject researchProject) {
         try {
-            // Carregar leadResearcher do banco de dados
-            if (researchProject.getLeadResearcher() != null && researchProject.getLeadResearcher().getId() != null) {
-                Optional<User> leadResearcherOpt = userRepository.findById(researchProject.getLeadResearcher().getId());
-                if (leadResearcherOpt.isPresent()) {
-                    researchProject.setLeadResearcher(leadResearcherOpt.get());
-                } else {
-                    throw new RuntimeException("Lead Researcher não encontrado com ID: " + researchProject.getLeadResearcher().getId());
-                }
-            }
-            
-            // Carregar collaborators do banco de dados
-            if (researchProject.getCollaborators() != null && !researchProject.getCollaborators().isEmpty()) {
-                Set<User> loadedCollaborators = new HashSet<>();
-                for (User collaborator : researchProject.getCollaborators()) {
-                    if (collaborator.getId() != null) {
-                        Optional<User> userOpt = userRepository.findById(collaborator.getId());
-                        if (userOpt.isPresent()) {
-                            loadedCollaborators.add(userOpt.get());
-                        }
-                    }
-                }
-                researchProject.setCollaborators(loadedCollaborators);
-            }
-            
-            return ResponseEntity.ok(researchProjectService.save(researchProject));
-        } catch (Exception e) {
-            throw e;
+            // O serviço carrega líder e colaboradores do banco em uma única consulta
+            return ResponseEntity.ok(researchProjectService.create(researchProject));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Usuários referenciados inexistentes
         }
     }
 
-    // Endpoint para listar projetos de pesquisa, com filtros por busca e status.
+    /**
+     * Endpoint para listar projetos de pesquisa, com filtros por busca e status, paginação e ordenação no banco.
+     * O total de registros vai no cabeçalho X-Total-Count (apenas sem cursor). Quando a ordenação é por título
+     * crescente, o cabeçalho X-Next-Cursor traz o cursor para continuar a leitura por keyset (ausente na última página).
+     */
     @GetMapping
-    public ResponseEntity<List<ResearchProject>> getAllResearchProjects(
+    public ResponseEntity<List<ResearchProjectSummary>> getAllResearchProjects(
             @RequestParam(required = false) String search,
-            @RequestParam(required = false) String status) {
-        List<ResearchProject> projects = researchProjectService.findAll(search, status);
-        return ResponseEntity.ok(projects);
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "title") String sort,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+            // O id desempata a ordenação para que a paginação seja estável
+            Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                    Sort.by(sortDirection, sort).and(Sort.by(sortDirection, "id")));
+            // Projeção leve; os campos TEXT e os colaboradores ficam em GET /research-projects/{id}
+            ProjectListPage<ResearchProjectSummary> result = researchProjectService.findSummaries(search, status, cursor, pageable);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.totalCount() != null) {
+                response.header(TOTAL_COUNT_HEADER, String.valueOf(result.totalCount()));
+            }
+            if (result.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+            }
+            return response.body(result.items());
+        } catch (IllegalArgumentException e) {
+            // Direção de ordenação ou cursor inválido
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     // Endpoint para buscar um projeto de pesquisa por ID.
     @GetMapping("/{id}")
-    public ResponseEntity<ResearchProject> getResearchProjectById(@PathVariable UUID id) {
+    public ResponseEntity<ResearchProject> getResearchProjectById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão antes de carregar o projeto e suas associações
+            Optional<Long> version = researchProjectService.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (VersionTags.notModified(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VersionTags.of(version.get())).build();
+            }
+        }
         Optional<ResearchProject> project = researchProjectService.findById(id);
-        return project.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return project.map(p -> ResponseEntity.ok().eTag(VersionTags.of(p.getVersion())).body(p))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
      * Endpoint para atualizar um projeto de pesquisa existente.
      * **Importante**: Mapeia e atualiza os campos específicos de ResearchProject.
+     * Com If-Match, responde 412 se o projeto tiver sido alterado desde a versão informada.
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROFESSOR', 'COORDENATION', 'SECRETARY')")
-    public ResponseEntity<ResearchProject> updateResearchProject(@PathVariable UUID id, @RequestBody @Valid ResearchProject projectDetails) {
-        System.out.println("Atualizando projeto de pesquisa com ID: " + id);
-        System.out.println("Título: " + projectDetails.getTitle());
-        System.out.println("LeadResearcher: " + (projectDetails.getLeadResearcher() != null ? projectDetails.getLeadResearcher().getId() : "null"));
-        System.out.println("Collaborators: " + (projectDetails.getCollaborators() != null ? projectDetails.getCollaborators().size() : "null"));
-        
-        return researchProjectService.findById(id)
-                .map(existingProject -> {
-                    existingProject.setTitle(projectDetails.getTitle());
-                    existingProject.setDescription(projectDetails.getDescription());
-                    existingProject.setStartDate(projectDetails.getStartDate());
-                    existingProject.setEndDate(projectDetails.getEndDate());
-                    existingProject.setStatus(projectDetails.getStatus());
-                    
-                    // Carregar leadResearcher do banco de dados
-                    if (projectDetails.getLeadResearcher() != null && projectDetails.getLeadResearcher().getId() != null) {
-                        Optional<User> leadResearcherOpt = userRepository.findById(projectDetails.getLeadResearcher().getId());
-                        if (leadResearcherOpt.isPresent()) {
-                            existingProject.setLeadResearcher(leadResearcherOpt.get());
-                            System.out.println("LeadResearcher carregado: " + leadResearcherOpt.get().getLogin());
-                        } else {
-                            System.out.println("LeadResearcher não encontrado com ID: " + projectDetails.getLeadResearcher().getId());
-                        }
-                    }
-                    
-                    // Carregar collaborators do banco de dados
-                    if (projectDetails.getCollaborators() != null && !projectDetails.getCollaborators().isEmpty()) {
-                        Set<User> loadedCollaborators = new HashSet<>();
-                        for (User collaborator : projectDetails.getCollaborators()) {
-                            if (collaborator.getId() != null) {
-                                Optional<User> userOpt = userRepository.findById(collaborator.getId());
-                                if (userOpt.isPresent()) {
-                                    loadedCollaborators.add(userOpt.get());
-                                    System.out.println("Collaborator carregado: " + userOpt.get().getLogin());
-                                } else {
-                                    System.out.println("Collaborator não encontrado com ID: " + collaborator.getId());
-                                }
-                            }
-                        }
-                        existingProject.setCollaborators(loadedCollaborators);
-                    }
-                    
-                    // Novos campos
-                    existingProject.setMaterialUsage(projectDetails.getMaterialUsage());
-                    existingProject.setResearchLine(projectDetails.getResearchLine());
-                    existingProject.setSubjectTheme(projectDetails.getSubjectTheme());
-                    existingProject.setJustification(projectDetails.getJustification());
-                    existingProject.setProblemFormulation(projectDetails.getProblemFormulation());
-                    existingProject.setHypothesisFormulation(projectDetails.getHypothesisFormulation());
-                    existingProject.setGeneralObjective(projectDetails.getGeneralObjective());
-                    existingProject.setSpecificObjective(projectDetails.getSpecificObjective());
-                    existingProject.setTheoreticalFoundation(projectDetails.getTheoreticalFoundation());
-                    existingProject.setMethodologicalApproaches(projectDetails.getMethodologicalApproaches());
-                    existingProject.setProjectReferences(projectDetails.getProjectReferences());
-
-                    ResearchProject updatedProject = researchProjectService.save(existingProject);
-                    System.out.println("Projeto atualizado com sucesso: " + updatedProject.getId());
-                    return ResponseEntity.ok(updatedProject);
-                })
-                .orElseGet(() -> {
-                    System.out.println("Projeto não encontrado com ID: " + id);
-                    return ResponseEntity.notFound().build();
-                });
+    public ResponseEntity<?> updateResearchProject(
+            @PathVariable UUID id,
+            @RequestBody @Valid ResearchProject projectDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = VersionTags.expectedVersion(ifMatch);
+            return researchProjectService.update(id, projectDetails, expectedVersion)
+                    .<ResponseEntity<?>>map(updated -> ResponseEntity.ok().eTag(VersionTags.of(updated.getVersion())).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // If-Match inválido ou usuários referenciados inexistentes
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     // Endpoint para deletar um projeto de pesquisa por ID.
@@ -178,11 +159,13 @@ public class ResearchProjectController {
      * Endpoint para um aluno se inscrever em um projeto de pesquisa.
      * **Novo endpoint** com retorno específico para a nova entidade de inscrição.
      * Utiliza o serviço `InscricaoResearchProjectService`.
+     * Reenviar a requisição com o mesmo cabeçalho Idempotency-Key devolve a inscrição já registrada.
      */
     @PostMapping("/{projectId}/inscrever")
     public ResponseEntity<InscricaoResearchProject> inscreverResearchProject(
             @PathVariable UUID projectId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build(); // Não autenticado
@@ -190,7 +173,7 @@ public class ResearchProjectController {
 
         try {
             // Chama o serviço de inscrição específico para projetos de pesquisa.
-            InscricaoResearchProject inscricao = inscricaoResearchProjectService.inscrever(projectId, alunoAutenticado.getId());
+            InscricaoResearchProject inscricao = inscricaoResearchProjectService.inscrever(projectId, alunoAutenticado.getId(), idempotencyKey);
             return ResponseEntity.ok(inscricao);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(null); // Erro na lógica de negócio (ex: já inscrito)
@@ -204,7 +187,7 @@ public class ResearchProjectController {
     @DeleteMapping("/{projectId}/inscrever")
     public ResponseEntity<Void> cancelarInscricaoResearchProject(
             @PathVariable UUID projectId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -219,6 +202,27 @@ public class ResearchProjectController {
         }
     }
 
+    /**
+     * Status da inscrição do aluno autenticado em vários projetos de pesquisa (ex.: os cards de uma página
+     * do catálogo), com uma única consulta. Projetos sem inscrição do aluno ficam fora do mapa.
+     */
+    @GetMapping("/inscricao-status")
+    public ResponseEntity<?> checkResearchProjectInscricaoStatuses(
+            @RequestParam("ids") List<UUID> projectIds,
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
+
+        if (alunoAutenticado == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        try {
+            Map<UUID, StatusInscricaoProjeto> statuses = inscricaoResearchProjectService.findInscricaoStatuses(projectIds, alunoAutenticado.getId());
+            return ResponseEntity.ok(statuses);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Ids demais em uma única consulta
+        }
+    }
+
     /**
      * Endpoint para verificar o status de inscrição de um aluno em um projeto de pesquisa.
      * **Novo endpoint** que utiliza o serviço `InscricaoResearchProjectService`.
@@ -226,7 +230,7 @@ public class ResearchProjectController {
     @GetMapping("/{projectId}/inscricao-status")
     public ResponseEntity<Boolean> checkResearchProjectInscricaoStatus(
             @PathVariable UUID projectId,
-            @AuthenticationPrincipal User alunoAutenticado) {
+            @AuthenticationPrincipal UserPrincipal alunoAutenticado) {
 
         if (alunoAutenticado == null) {
             return ResponseEntity.status(401).build();
@@ -0,0 +1,24 @@
+package com.biopark.cepex_system.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tratamento de erros comum a todos os controllers.
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    /**
+     * Pool de hashing de senhas saturado (ver BoundedPasswordEncoder): vale para login, cadastro,
+     * criação de usuários pela gerência e redefinição de senha.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecution(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Muitas solicitações no momento. Tente novamente em instantes.");
+    }
+}
@@ -0,0 +1,50 @@
+package com.biopark.cepex_system.controller;
+
+import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
+import com.biopark.cepex_system.domain.user.UserPrincipal;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST da busca textual unificada (monitorias, projetos de pesquisa e de extensão).
+ */
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Busca o termo q e devolve os resultados ordenados por relevância, paginados.
+     * O total de resultados vai no cabeçalho X-Total-Count.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @AuthenticationPrincipal UserPrincipal user) {
+        // Estudantes só enxergam monitorias aprovadas, como na listagem de /monitorias
+        StatusMonitoria monitoriaStatus = user != null && user.getRole() == UserRole.STUDENT ? StatusMonitoria.APROVADA : null;
+        try {
+            SearchService.SearchPage result = searchService.search(q, monitoriaStatus,
+                    Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(result.totalCount()))
+                    .body(result.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // Termo curto ou página além do limite
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.student.Student;
+import com.biopark.cepex_system.domain.student.StudentSummary;
 import com.biopark.cepex_system.service.StudentService;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,15 +31,28 @@ public class StudentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = service.findAll();
+    public ResponseEntity<List<StudentSummary>> getAllStudents() {
+        List<StudentSummary> students = service.findAllSummaries();
         return ResponseEntity.ok(students);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getStudentById(@PathVariable UUID id) {
+    public ResponseEntity<Student> getStudentById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidação: compara só a versão antes de carregar o estudante
+            Optional<Long> version = service.findVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (VersionTags.notModified(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VersionTags.of(version.get())).build();
+            }
+        }
         Optional<Student> student = service.findById(id);
-        return student.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return student.map(found -> ResponseEntity.ok().eTag(VersionTags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/ra/{ra}")
@@ -56,24 +73,25 @@ public class StudentController {
         return student.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    /**
+     * Atualiza o estudante.
+     * Com If-Match, responde 412 se o estudante tiver sido alterado desde a versão informada.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Student> updateStudent(@PathVariable UUID id, @RequestBody @Valid Student studentDetails) {
-        return service.findById(id)
-                .map(existingStudent -> {
-                    existingStudent.setFirstName(studentDetails.getFirstName());
-                    existingStudent.setLastName(studentDetails.getLastName());
-                    existingStudent.setEmail(studentDetails.getEmail());
-                    existingStudent.setNumber(studentDetails.getNumber());
-                    existingStudent.setRa(studentDetails.getRa());
-                    existingStudent.setCpf(studentDetails.getCpf());
-                    existingStudent.setStatus(studentDetails.getStatus());
-                    existingStudent.setUser(studentDetails.getUser());
-                    existingStudent.setCourse(studentDetails.getCourse());
-                    
-                    Student updatedStudent = service.save(existingStudent);
-                    return ResponseEntity.ok(updatedStudent);
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<?> updateStudent(
+            @PathVariable UUID id,
+            @RequestBody @Valid Student studentDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            Long expectedVersion = VersionTags.expectedVersion(ifMatch);
+            return service.update(id, studentDetails, expectedVersion)
+                    .<ResponseEntity<?>>map(updated -> ResponseEntity.ok().eTag(VersionTags.of(updated.getVersion())).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage()); // If-Match inválido
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        }
     }
 
     @PatchMapping("/{id}/status")
@@ -2,6 +2,7 @@ package com.biopark.cepex_system.controller;
 
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.domain.user.UserSummary;
 import com.biopark.cepex_system.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,7 +41,7 @@ public class UserController {
             description = "Lista de usuários retornada com sucesso",
             content = @Content(
                 mediaType = "application/json",
-                schema = @Schema(implementation = User.class)
+                schema = @Schema(implementation = UserSummary.class)
             )
         ),
         @ApiResponse(
@@ -48,8 +49,8 @@ public class UserController {
             description = "Acesso negado - requer permissões de administrador"
         )
     })
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.findAll();
+    public ResponseEntity<List<UserSummary>> getAllUsers() {
+        List<UserSummary> users = userService.findAllSummaries();
         return ResponseEntity.ok(users);
     }
 
@@ -188,7 +189,7 @@ public class UserController {
     @GetMapping("/stats")
     @Operation(
         summary = "Estatísticas de usuários",
-        description = "Retorna estatísticas sobre os usuários por role"
+        description = "Retorna estatísticas sobre os usuários por role e o total de usuários ativos"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -198,7 +199,7 @@ public class UserController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = UserService.UserRoleCountsDTO.class),
                 examples = @ExampleObject(
-                    value = "{\"studentCount\": 150, \"professorCount\": 25, \"coordenationCount\": 5, \"secretaryCount\": 3}"
+                    value = "{\"studentCount\": 150, \"professorCount\": 25, \"coordenationCount\": 5, \"secretaryCount\": 3, \"activeCount\": 170}"
                 )
             )
         )
@@ -0,0 +1,59 @@
+package com.biopark.cepex_system.controller;
+
+/**
+ * Converte a coluna de versão (@Version) das entidades em ETags e interpreta os cabeçalhos
+ * If-None-Match e If-Match dos endpoints de detalhe.
+ * O ETag é forte e contém apenas o número da versão, por exemplo "3".
+ */
+final class VersionTags {
+
+    private VersionTags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Indica se o If-None-Match enviado corresponde à versão atual (comparação fraca, aceita "*").
+     */
+    static boolean notModified(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = of(version);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extrai a versão esperada do If-Match.
+     * @return a versão, ou null se o cabeçalho estiver ausente ou for "*" (sem pré-condição de versão).
+     * @throws IllegalArgumentException se o valor não for um único ETag forte gerado por esta API.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match inválido: " + ifMatch);
+        }
+    }
+}
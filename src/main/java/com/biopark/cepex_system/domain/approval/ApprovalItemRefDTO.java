@@ -0,0 +1,8 @@
+package com.biopark.cepex_system.domain.approval;
+
+import java.util.UUID;
+
+public record ApprovalItemRefDTO(
+        UUID id,
+        String type // "MONITORIA", "PESQUISA" ou "EXTENSAO"
+) {}
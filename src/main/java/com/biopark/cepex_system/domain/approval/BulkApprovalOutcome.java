@@ -0,0 +1,8 @@
+package com.biopark.cepex_system.domain.approval;
+
+public enum BulkApprovalOutcome {
+    APLICADO,
+    NAO_ENCONTRADO,
+    NAO_PENDENTE,
+    TIPO_INVALIDO
+}
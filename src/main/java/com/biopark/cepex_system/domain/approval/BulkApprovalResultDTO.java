@@ -0,0 +1,9 @@
+package com.biopark.cepex_system.domain.approval;
+
+import java.util.UUID;
+
+public record BulkApprovalResultDTO(
+        UUID id,
+        String type,
+        BulkApprovalOutcome outcome
+) {}
@@ -1,5 +1,6 @@
 package com.biopark.cepex_system.domain.course;
 
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -20,7 +21,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Course {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O nome do curso não pode estar em branco.")
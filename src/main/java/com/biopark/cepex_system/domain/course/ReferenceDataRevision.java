@@ -0,0 +1,31 @@
+package com.biopark.cepex_system.domain.course;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha única com a versão dos dados de referência (cursos e disciplinas).
+ * Fica no banco para que todas as instâncias da aplicação enxerguem a mesma versão.
+ */
+@Table(name = "reference_data_version")
+@Entity(name = "ReferenceDataRevision")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class ReferenceDataRevision {
+
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    // Instante da última alteração, em milissegundos desde a época
+    @Column(name = "changed_at", nullable = false)
+    private long changedAt;
+}
@@ -0,0 +1,16 @@
+package com.biopark.cepex_system.domain.enrollment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma linha da consulta UNION ALL das inscrições do aluno (UserRepository.findEnrollmentsByAlunoId).
+ * Os ids vêm como texto (BIN_TO_UUID), já que a consulta é nativa.
+ */
+public interface EnrollmentRow {
+    String getType();
+    String getId();
+    String getItemId();
+    String getItemTitle();
+    String getStatus();
+    LocalDateTime getEnrolledAt();
+}
@@ -0,0 +1,19 @@
+package com.biopark.cepex_system.domain.enrollment;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Inscrição do aluno exibida na tela inicial, sem o grafo da monitoria ou do projeto.
+ * @param id id da candidatura/inscrição.
+ * @param itemId id da monitoria ou do projeto, para abrir o detalhe no endpoint correspondente.
+ * @param status status da candidatura (StatusCandidatura) ou da inscrição (StatusInscricaoProjeto).
+ */
+public record EnrollmentSummary(EnrollmentType type, UUID id, UUID itemId, String itemTitle, String status,
+                                LocalDateTime enrolledAt) {
+
+    public static EnrollmentSummary of(EnrollmentRow row) {
+        return new EnrollmentSummary(EnrollmentType.valueOf(row.getType()), UUID.fromString(row.getId()),
+                UUID.fromString(row.getItemId()), row.getItemTitle(), row.getStatus(), row.getEnrolledAt());
+    }
+}
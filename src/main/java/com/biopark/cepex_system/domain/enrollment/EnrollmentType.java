@@ -0,0 +1,10 @@
+package com.biopark.cepex_system.domain.enrollment;
+
+/**
+ * Tipos de inscrição de um aluno: candidatura a monitoria ou inscrição em projeto de pesquisa ou de extensão.
+ */
+public enum EnrollmentType {
+    MONITORIA,
+    RESEARCH_PROJECT,
+    EXTENSION_PROJECT
+}
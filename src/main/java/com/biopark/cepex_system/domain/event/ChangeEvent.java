@@ -0,0 +1,26 @@
+package com.biopark.cepex_system.domain.event;
+
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Alteração publicada pelos serviços e enviada aos clientes inscritos no canal de eventos depois do commit.
+ * Leva apenas o necessário para o cliente atualizar o card ou recarregar o item no endpoint correspondente.
+ * @param itemType tipo do item: MONITORIA, PESQUISA ou EXTENSAO na fila de aprovação; um EnrollmentType nas inscrições.
+ * @param itemId id da monitoria ou do projeto.
+ * @param status novo status do item ou da candidatura/inscrição.
+ * @param alunoId aluno dono da candidatura/inscrição, ou null na fila de aprovação.
+ */
+public record ChangeEvent(ChangeTopic topic, String itemType, UUID itemId, String status, UUID alunoId,
+                          LocalDateTime occurredAt) {
+
+    public static ChangeEvent approval(String itemType, UUID itemId, String status) {
+        return new ChangeEvent(ChangeTopic.APPROVAL_QUEUE, itemType, itemId, status, null, LocalDateTime.now());
+    }
+
+    public static ChangeEvent enrollment(EnrollmentType type, UUID itemId, UUID alunoId, String status) {
+        return new ChangeEvent(ChangeTopic.ENROLLMENT, type.name(), itemId, status, alunoId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,9 @@
+package com.biopark.cepex_system.domain.event;
+
+/**
+ * Tópicos do canal de eventos (GET /events/stream).
+ */
+public enum ChangeTopic {
+    APPROVAL_QUEUE, // Item aprovado ou rejeitado na fila de aprovação
+    ENROLLMENT      // Candidatura/inscrição criada ou com o status alterado
+}
@@ -1,6 +1,7 @@
 package com.biopark.cepex_system.domain.feedback;
 
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -23,7 +24,7 @@ import java.util.UUID;
 public class AvaliacaoPlataforma {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull(message = "A avaliação não pode ser nula.")
@@ -0,0 +1,29 @@
+package com.biopark.cepex_system.domain.feedback;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Total de avaliações da plataforma com uma dada quantidade de estrelas.
+ * As cinco linhas formam o histograma de onde saem a contagem e a média geral.
+ */
+@Table(name = "avaliacao_plataforma_resumo")
+@Entity(name = "AvaliacaoPlataformaResumo")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "rating")
+public class AvaliacaoPlataformaResumo {
+
+    @Id
+    @Column(name = "rating")
+    private Integer rating;
+
+    @Column(name = "total", nullable = false)
+    private long total;
+}
@@ -0,0 +1,10 @@
+package com.biopark.cepex_system.domain.feedback;
+
+/**
+ * Tamanho dos períodos da tendência de avaliações. WEEK começa na segunda-feira.
+ */
+public enum RatingTrendGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.domain.monitoria;
 
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -12,7 +14,8 @@ import lombok.EqualsAndHashCode;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Table(name = "candidatura_monitoria")
+@Table(name = "candidatura_monitoria",
+        uniqueConstraints = @UniqueConstraint(name = "uk_candidatura_monitoria_aluno", columnNames = {"monitoria_id", "aluno_id"}))
 @Entity(name = "CandidaturaMonitoria")
 @Getter
 @Setter
@@ -22,7 +25,7 @@ import java.util.UUID;
 public class CandidaturaMonitoria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotNull(message = "A monitoria não pode ser nula.")
@@ -40,6 +43,11 @@ public class CandidaturaMonitoria {
 
     private LocalDateTime dataCandidatura; // Data e hora da candidatura
 
+    // Chave de idempotência da requisição que criou ou reabriu a candidatura; repetir a mesma chave não gera erro
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     // Construtor para facilitar a criação de uma nova candidatura
     public CandidaturaMonitoria(Monitoria monitoria, User aluno) {
         this.monitoria = monitoria;
@@ -10,6 +10,8 @@ import lombok.*;
 import com.biopark.cepex_system.domain.course.Course;
 import com.biopark.cepex_system.domain.professor.Professor;
 import com.biopark.cepex_system.domain.course.Discipline;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Table(name = "monitoria")
 @Entity(name = "Monitoria")
@@ -21,7 +23,7 @@ import com.biopark.cepex_system.domain.course.Discipline;
 public class Monitoria {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O título da monitoria não pode estar em branco.")
@@ -95,4 +97,27 @@ public class Monitoria {
     @ManyToOne
     @JoinColumn(name = "professor_id")
     private  Professor professor;
+
+    // Vagas ocupadas por candidaturas aprovadas. Alterado apenas pelos UPDATEs condicionais do
+    // MonitoriaRepository (reserveSeat/releaseSeat), nunca pelo save da entidade
+    @Column(name = "filled", nullable = false, insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer filled = 0;
+
+    // Versão para controle de concorrência otimista; também origina o ETag dos endpoints de detalhe
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Construtor com todos os campos exceto as vagas ocupadas e a versão, que não são definidas pelo cliente
+    public Monitoria(UUID id, String title, String description, Boolean remote, String location, Integer vacancies,
+                     Integer workload, LocalDate inicialDate, LocalDate finalDate, LocalDate inicialIngressDate,
+                     LocalDate finalIngressDate, SelectionType selectionType, LocalDate selectionDate, String selectionTime,
+                     LocalDate divulgationDate, StatusMonitoria statusMonitoria, Course course, Discipline subject,
+                     Professor professor) {
+        this(id, title, description, remote, location, vacancies, workload, inicialDate, finalDate, inicialIngressDate,
+                finalIngressDate, selectionType, selectionDate, selectionTime, divulgationDate, statusMonitoria,
+                course, subject, professor, 0, null);
+    }
 }
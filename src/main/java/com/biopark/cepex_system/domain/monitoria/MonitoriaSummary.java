@@ -0,0 +1,23 @@
+package com.biopark.cepex_system.domain.monitoria;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projeção da listagem de monitorias: apenas as colunas exibidas no catálogo, lidas diretamente do SQL.
+ * Os demais campos ficam no endpoint de detalhe (GET /monitorias/{id}).
+ */
+public interface MonitoriaSummary {
+    UUID getId();
+    String getTitle();
+    StatusMonitoria getStatusMonitoria();
+    Boolean getRemote();
+    Integer getVacancies();
+    LocalDate getInicialDate();
+    LocalDate getFinalDate();
+    LocalDate getFinalIngressDate();
+    UUID getProfessorId();
+    String getProfessorName();
+    String getCourseName();
+    String getDisciplineName();
+}
@@ -4,5 +4,6 @@ public enum StatusCandidatura {
     PENDENTE,
     APROVADA,
     REJEITADA,
-    CANCELADA
+    CANCELADA,
+    LISTA_ESPERA // Aprovação solicitada sem vaga disponível; aguarda na ordem da data de candidatura
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.biopark.cepex_system.domain.notification;
+
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Notificação por e-mail gravada na mesma transação da alteração que a originou (transactional outbox).
+ * O envio acontece depois, fora da requisição, pelo NotificationDispatcher.
+ */
+@Table(name = "notification_outbox")
+@Entity(name = "NotificationOutbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class NotificationOutbox {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public NotificationOutbox(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = OutboxStatus.PENDENTE;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
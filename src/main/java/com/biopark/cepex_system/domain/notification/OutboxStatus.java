@@ -0,0 +1,7 @@
+package com.biopark.cepex_system.domain.notification;
+
+public enum OutboxStatus {
+    PENDENTE, // Aguardando envio ou nova tentativa
+    ENVIADA,
+    FALHA     // Tentativas esgotadas
+}
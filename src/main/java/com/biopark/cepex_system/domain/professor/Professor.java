@@ -3,6 +3,8 @@ package com.biopark.cepex_system.domain.professor;
 
 import com.biopark.cepex_system.domain.course.Discipline;
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -26,7 +28,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Professor {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O primeiro nome não pode estar em branco.")
@@ -73,4 +75,16 @@ public class Professor {
             inverseJoinColumns = @JoinColumn(name = "discipline_id")
     )
     private Set<Discipline> disciplines = new HashSet<>();
+
+    // Versão para controle de concorrência otimista; também origina o ETag dos endpoints de detalhe
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Construtor com todos os campos exceto a versão, que é controlada pelo Hibernate
+    public Professor(UUID id, String firstName, String lastName, String email, String ra, String cpf, String number,
+                     Boolean active, LocalDateTime createdAt, User user, Set<Discipline> disciplines) {
+        this(id, firstName, lastName, email, ra, cpf, number, active, createdAt, user, disciplines, null);
+    }
 }
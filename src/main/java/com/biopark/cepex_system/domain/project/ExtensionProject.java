@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.domain.project;
 
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -20,7 +22,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class ExtensionProject {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O título do projeto não pode estar em branco.")
@@ -69,4 +71,10 @@ public class ExtensionProject {
         COMPLETO,//COMPLETED
         CANCELADO//CANCELLED
     }
+
+    // Versão para controle de concorrência otimista; também origina o ETag dos endpoints de detalhe
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
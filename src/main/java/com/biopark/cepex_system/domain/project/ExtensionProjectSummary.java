@@ -0,0 +1,19 @@
+package com.biopark.cepex_system.domain.project;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projeção da listagem de projetos de extensão, sem a descrição e sem a equipe.
+ * O conteúdo completo fica no endpoint de detalhe (GET /extension-projects/{id}).
+ */
+public interface ExtensionProjectSummary {
+    UUID getId();
+    String getTitle();
+    ExtensionProject.ProjectStatus getStatus();
+    String getLocation();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+    UUID getCoordinatorId();
+    String getCoordinatorName();
+}
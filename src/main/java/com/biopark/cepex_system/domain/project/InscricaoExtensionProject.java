@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.domain.project;
 
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -17,13 +19,14 @@ import java.util.UUID;
  * Similar a InscricaoResearchProject, esta é uma *nova* entidade, garantindo
  * a separação clara das inscrições por tipo de projeto.
  */
-@Table(name = "inscricao_extension_project") // Nome da tabela específica para esta inscrição
+@Table(name = "inscricao_extension_project", // Nome da tabela específica para esta inscrição
+        uniqueConstraints = @UniqueConstraint(name = "uk_inscricao_extension_aluno", columnNames = {"extension_project_id", "aluno_id"}))
 @Entity(name = "InscricaoExtensionProject")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode(of = "id")
 public class InscricaoExtensionProject {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     // Relacionamento muitos-para-um com ExtensionProject.
@@ -44,6 +47,11 @@ public class InscricaoExtensionProject {
 
     private LocalDateTime dataInscricao;
 
+    // Chave de idempotência da requisição que criou ou reabriu a inscrição; repetir a mesma chave não gera erro
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     // Construtor para a criação de novas inscrições com status inicial PENDENTE.
     public InscricaoExtensionProject(ExtensionProject extensionProject, User aluno) {
         this.extensionProject = extensionProject;
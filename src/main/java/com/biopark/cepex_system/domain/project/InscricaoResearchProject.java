@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.domain.project;
 
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -17,13 +19,14 @@ import java.util.UUID;
  * Esta é uma *nova* entidade, criada para substituir a inscrição genérica de 'Projeto'.
  * Ela estabelece um relacionamento direto com 'ResearchProject' e 'User' (o aluno).
  */
-@Table(name = "inscricao_research_project") // Nome da tabela específica para esta inscrição
+@Table(name = "inscricao_research_project", // Nome da tabela específica para esta inscrição
+        uniqueConstraints = @UniqueConstraint(name = "uk_inscricao_research_aluno", columnNames = {"research_project_id", "aluno_id"}))
 @Entity(name = "InscricaoResearchProject")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode(of = "id")
 public class InscricaoResearchProject {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     // Relacionamento muitos-para-um com ResearchProject: Muitas inscrições para um projeto.
@@ -46,6 +49,11 @@ public class InscricaoResearchProject {
 
     private LocalDateTime dataInscricao; // Data e hora em que a inscrição foi realizada.
 
+    // Chave de idempotência da requisição que criou ou reabriu a inscrição; repetir a mesma chave não gera erro
+    @JsonIgnore
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
     // Construtor importante para a criação de novas inscrições com status inicial PENDENTE.
     public InscricaoResearchProject(ResearchProject researchProject, User aluno) {
         this.researchProject = researchProject;
@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.domain.project;
 
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,7 +17,7 @@ import java.util.UUID;
 @Table(name = "research_projects")
 public class ResearchProject {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O título do projeto não pode estar em branco.")
@@ -90,4 +92,10 @@ public class ResearchProject {
         COMPLETO,
         CANCELADO
     }
+
+    // Versão para controle de concorrência otimista; também origina o ETag dos endpoints de detalhe
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 }
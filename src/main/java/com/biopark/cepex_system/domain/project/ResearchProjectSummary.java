@@ -0,0 +1,18 @@
+package com.biopark.cepex_system.domain.project;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projeção da listagem de projetos de pesquisa, sem os campos TEXT e sem os colaboradores.
+ * O conteúdo completo fica no endpoint de detalhe (GET /research-projects/{id}).
+ */
+public interface ResearchProjectSummary {
+    UUID getId();
+    String getTitle();
+    ResearchProject.ProjectStatus getStatus();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+    UUID getLeadResearcherId();
+    String getLeadResearcherName();
+}
@@ -0,0 +1,12 @@
+package com.biopark.cepex_system.domain.search;
+
+/**
+ * Projeção de uma linha encontrada pelas consultas FULLTEXT (MATCH ... AGAINST) dos repositórios.
+ * O id vem como texto (BIN_TO_UUID), já que a consulta é nativa.
+ */
+public interface FullTextHit {
+    String getId();
+    String getTitle();
+    String getStatus();
+    double getScore();
+}
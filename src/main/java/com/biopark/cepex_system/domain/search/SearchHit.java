@@ -0,0 +1,14 @@
+package com.biopark.cepex_system.domain.search;
+
+import java.util.UUID;
+
+/**
+ * Resultado da busca unificada: o tipo e o id permitem ao cliente abrir o detalhe no endpoint correspondente.
+ * @param score relevância calculada pelo MySQL para o termo buscado (maior é mais relevante).
+ */
+public record SearchHit(SearchResultType type, UUID id, String title, String status, double score) {
+
+    public static SearchHit of(SearchResultType type, FullTextHit row) {
+        return new SearchHit(type, UUID.fromString(row.getId()), row.getTitle(), row.getStatus(), row.getScore());
+    }
+}
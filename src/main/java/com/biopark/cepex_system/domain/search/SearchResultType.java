@@ -0,0 +1,10 @@
+package com.biopark.cepex_system.domain.search;
+
+/**
+ * Tipos de registro retornados pela busca unificada.
+ */
+public enum SearchResultType {
+    MONITORIA,
+    RESEARCH_PROJECT,
+    EXTENSION_PROJECT
+}
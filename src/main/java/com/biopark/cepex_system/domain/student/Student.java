@@ -3,6 +3,8 @@ package com.biopark.cepex_system.domain.student;
 
 import com.biopark.cepex_system.domain.course.Course;
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -24,7 +26,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Student {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O nome do aluno não pode estar em branco.")
@@ -69,4 +71,15 @@ public class Student {
     @JoinColumn(name = "course_id")
     private Course course;
 
+    // Versão para controle de concorrência otimista; também origina o ETag dos endpoints de detalhe
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Construtor com todos os campos exceto a versão, que é controlada pelo Hibernate
+    public Student(UUID id, String firstName, String lastName, String email, String number, String ra, String cpf,
+                   Boolean status, LocalDateTime createdAt, User user, Course course) {
+        this(id, firstName, lastName, email, number, ra, cpf, status, createdAt, user, course, null);
+    }
 }
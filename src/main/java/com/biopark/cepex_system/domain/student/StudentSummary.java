@@ -0,0 +1,16 @@
+package com.biopark.cepex_system.domain.student;
+
+import java.util.UUID;
+
+/**
+ * Projeção da listagem de estudantes (GET /students), lida diretamente do SQL.
+ */
+public interface StudentSummary {
+    UUID getId();
+    String getFirstName();
+    String getLastName();
+    String getRa();
+    String getEmail();
+    Boolean getStatus();
+    String getCourseName();
+}
@@ -0,0 +1,49 @@
+package com.biopark.cepex_system.domain.user;
+
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Código de recuperação de senha enviado por e-mail. Guarda apenas o hash SHA-256 do código,
+ * válido até expiresAt e uma única vez (usedAt).
+ */
+@Table(name = "password_reset_token")
+@Entity(name = "PasswordResetToken")
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class PasswordResetToken {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    public PasswordResetToken(User user, String tokenHash, LocalDateTime createdAt, LocalDateTime expiresAt) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+}
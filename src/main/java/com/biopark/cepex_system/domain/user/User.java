@@ -1,17 +1,16 @@
 package com.biopark.cepex_system.domain.user;
 
+import com.biopark.cepex_system.infra.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Email;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.Collection;
@@ -25,11 +24,11 @@ import java.util.*;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @EqualsAndHashCode(of = "id")
-public class User implements UserDetails {
+@EntityListeners(UserCountListener.class)
+public class User implements UserPrincipal {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @NotBlank(message = "O login não pode estar em branco.")
@@ -55,6 +54,26 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private UserRole role;
 
+    // Papel e status como estão no banco (último load/flush), usados pelo UserCountListener para calcular a diferença
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    UserRole persistedRole;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    Boolean persistedStatus;
+
+    public User(UUID id, String login, String password, String email, boolean status, UserRole role) {
+        this.id = id;
+        this.login = login;
+        this.password = password;
+        this.email = email;
+        this.status = status;
+        this.role = role;
+    }
+
     // Construtor para o processo de registro
     public User(String login, String email, String password, UserRole role) {
         this.login = login;
@@ -67,17 +86,7 @@ public class User implements UserDetails {
     @Override
     @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Mapeia UserRole para GrantedAuthority de forma mais granular
-        // Exemplo: se UserRole.ADMIN -> ROLE_ADMIN, UserRole.PROFESSOR -> ROLE_PROFESSOR
-        if (this.role == UserRole.ADMIN) {
-            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
-        } else if (this.role == UserRole.PROFESSOR) {
-            return List.of(new SimpleGrantedAuthority("ROLE_PROFESSOR"), new SimpleGrantedAuthority("ROLE_USER"));
-        } else if (this.role == UserRole.STUDENT) {
-            return List.of(new SimpleGrantedAuthority("ROLE_STUDENT"), new SimpleGrantedAuthority("ROLE_USER"));
-        } else { // COORDENATION, SECRETARY e outros futuros papéis
-            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
-        }
+        return UserRole.authoritiesOf(this.role);
     }
 
 
@@ -0,0 +1,8 @@
+package com.biopark.cepex_system.domain.user;
+
+/**
+ * Diferença na contagem de usuários com o papel e status informados, publicada pelo UserCountListener
+ * a cada inserção, alteração de papel/status e remoção de User.
+ * @param delta 1 para um usuário que passou a ter o papel e status, -1 para um que deixou de ter.
+ */
+public record UserCountChangedEvent(UserRole role, boolean status, long delta) {}
@@ -0,0 +1,65 @@
+package com.biopark.cepex_system.domain.user;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Listener JPA que publica um UserCountChangedEvent a cada inserção, alteração de papel/status e remoção
+ * de User. Quem mantém os contadores (UserRoleCounters) consome os eventos só após o commit, de forma que
+ * transações desfeitas não alteram os contadores.
+ * Instanciado pelo Hibernate através do contêiner de beans do Spring.
+ */
+public class UserCountListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserCountListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    void onLoad(User user) {
+        remember(user);
+    }
+
+    @PostPersist
+    void onPersist(User user) {
+        publish(user.getRole(), user.isStatus(), 1);
+        remember(user);
+    }
+
+    @PostUpdate
+    void onUpdate(User user) {
+        UserRole oldRole = user.persistedRole;
+        Boolean oldStatus = user.persistedStatus;
+        UserRole newRole = user.getRole();
+        boolean newStatus = user.isStatus();
+        if (oldRole == newRole && oldStatus != null && oldStatus == newStatus) {
+            return; // Alteração em outros campos
+        }
+        if (oldStatus != null) {
+            publish(oldRole, oldStatus, -1);
+        }
+        publish(newRole, newStatus, 1);
+        remember(user);
+    }
+
+    @PostRemove
+    void onRemove(User user) {
+        UserRole role = user.persistedRole != null ? user.persistedRole : user.getRole();
+        boolean status = user.persistedStatus != null ? user.persistedStatus : user.isStatus();
+        publish(role, status, -1);
+    }
+
+    private static void remember(User user) {
+        user.persistedRole = user.getRole();
+        user.persistedStatus = user.isStatus();
+    }
+
+    private void publish(UserRole role, boolean status, long delta) {
+        eventPublisher.publishEvent(new UserCountChangedEvent(role, status, delta));
+    }
+}
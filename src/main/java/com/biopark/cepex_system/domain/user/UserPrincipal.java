@@ -0,0 +1,17 @@
+package com.biopark.cepex_system.domain.user;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.UUID;
+
+/**
+ * Usuário autenticado, como visto pelos controllers via @AuthenticationPrincipal.
+ * Implementado pela entidade User (principal carregado do banco) e pelo TokenUserPrincipal
+ * (principal reconstruído apenas a partir das claims do JWT, sem acesso ao banco).
+ */
+public interface UserPrincipal extends UserDetails {
+
+    UUID getId();
+
+    UserRole getRole();
+}
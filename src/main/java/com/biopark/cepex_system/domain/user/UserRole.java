@@ -1,5 +1,10 @@
 package com.biopark.cepex_system.domain.user;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum UserRole {
     ADMIN("admin"),
     STUDENT("student"),
@@ -15,4 +20,21 @@ public enum UserRole {
     public String getRole() {
         return role;
     }
+
+    /**
+     * Mapeia UserRole para GrantedAuthority de forma mais granular.
+     * Exemplo: UserRole.ADMIN -> ROLE_ADMIN, UserRole.PROFESSOR -> ROLE_PROFESSOR.
+     * Compartilhado pela entidade User e pelo principal reconstruído a partir do JWT.
+     */
+    public static List<GrantedAuthority> authoritiesOf(UserRole role) {
+        if (role == ADMIN) {
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+        } else if (role == PROFESSOR) {
+            return List.of(new SimpleGrantedAuthority("ROLE_PROFESSOR"), new SimpleGrantedAuthority("ROLE_USER"));
+        } else if (role == STUDENT) {
+            return List.of(new SimpleGrantedAuthority("ROLE_STUDENT"), new SimpleGrantedAuthority("ROLE_USER"));
+        } else { // COORDENATION, SECRETARY e outros futuros papéis
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.biopark.cepex_system.domain.user;
+
+import java.util.UUID;
+
+/**
+ * Projeção da listagem de usuários (GET /users): não inclui o hash da senha.
+ */
+public interface UserSummary {
+    UUID getId();
+    String getLogin();
+    String getEmail();
+    UserRole getRole();
+    boolean isStatus();
+}
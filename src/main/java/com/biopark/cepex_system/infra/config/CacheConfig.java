@@ -0,0 +1,42 @@
+package com.biopark.cepex_system.infra.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache em memória (Caffeine, limitado por tamanho e com expiração) dos dados de referência
+ * usados nos formulários: cursos, cursos ativos e disciplinas.
+ * As invalidações feitas pelos serviços só são aplicadas após o commit da transação,
+ * para que uma leitura concorrente não volte a guardar o estado anterior.
+ * O cache é local a cada instância: as alterações feitas em outra instância são percebidas pela
+ * versão gravada no banco (ReferenceDataVersion), que descarta as entradas locais; a expiração
+ * (ttl-minutes) limita o tempo de uma entrada regravada por uma leitura concorrente com o estado anterior.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSES = "courses";
+    public static final String ACTIVE_COURSES = "activeCourses";
+    public static final String DISCIPLINES = "disciplines";
+    public static final String DISCIPLINES_BY_COURSE = "disciplinesByCourse";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${api.cache.reference-data.max-size:500}") long maxSize,
+                                     @Value("${api.cache.reference-data.ttl-minutes:60}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(COURSES, ACTIVE_COURSES, DISCIPLINES, DISCIPLINES_BY_COURSE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes)));
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
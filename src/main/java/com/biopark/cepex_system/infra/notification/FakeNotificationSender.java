@@ -0,0 +1,39 @@
+package com.biopark.cepex_system.infra.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sender local, ligado apenas no perfil dev e nos testes: guarda as últimas mensagens em memória em vez de enviá-las.
+ */
+@Component
+@ConditionalOnProperty(name = "api.notifications.sender", havingValue = "fake")
+public class FakeNotificationSender implements NotificationSender {
+
+    private static final int MAX_MESSAGES = 100;
+
+    private final Deque<SentMessage> messages = new ArrayDeque<>();
+
+    @Override
+    public synchronized void send(String recipient, String subject, String body) {
+        if (messages.size() == MAX_MESSAGES) {
+            messages.removeFirst();
+        }
+        messages.addLast(new SentMessage(recipient, subject, body));
+    }
+
+    // Mensagens "enviadas", da mais antiga para a mais recente
+    public synchronized List<SentMessage> sentMessages() {
+        return List.copyOf(messages);
+    }
+
+    public synchronized void clear() {
+        messages.clear();
+    }
+
+    public record SentMessage(String recipient, String subject, String body) {}
+}
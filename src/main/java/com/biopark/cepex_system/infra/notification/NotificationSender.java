@@ -0,0 +1,14 @@
+package com.biopark.cepex_system.infra.notification;
+
+/**
+ * Canal de entrega das notificações do outbox. A implementação é escolhida por api.notifications.sender
+ * (smtp ou fake).
+ */
+public interface NotificationSender {
+
+    /**
+     * Envia a mensagem de forma síncrona; chamado apenas pelas threads do NotificationDispatcher.
+     * @throws RuntimeException se o envio falhar (a notificação é reagendada com backoff).
+     */
+    void send(String recipient, String subject, String body);
+}
@@ -0,0 +1,33 @@
+package com.biopark.cepex_system.infra.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envio por SMTP com o JavaMailSender configurado pelas propriedades spring.mail.*. É o sender padrão.
+ */
+@Component
+@ConditionalOnProperty(name = "api.notifications.sender", havingValue = "smtp", matchIfMissing = true)
+public class SmtpNotificationSender implements NotificationSender {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+
+    public SmtpNotificationSender(JavaMailSender mailSender, @Value("${api.notifications.from}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public void send(String recipient, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(recipient);
+        message.setSubject(subject);
+        message.setText(body);
+        mailSender.send(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.biopark.cepex_system.infra.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o id da entidade para ser gerado por TimeOrderedUuidGenerator (UUID v7), no lugar de
+ * @GeneratedValue(strategy = GenerationType.UUID), que gera UUIDs v4 aleatórios.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,32 @@
+package com.biopark.cepex_system.infra.persistence;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera UUIDs ordenados pelo tempo no formato da versão 7 (RFC 9562): 48 bits de timestamp em
+ * milissegundos, 12 bits de sequência e 62 bits aleatórios.
+ * Como o BINARY(16) guarda os bytes na ordem do UUID, ids novos entram sempre no fim do índice
+ * clusterizado do InnoDB, em vez de espalhados como os UUIDs v4 aleatórios.
+ * Dentro da mesma instância os ids são estritamente crescentes, inclusive no mesmo milissegundo.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Último (timestamp << 12 | sequência) emitido; mais de 4096 ids no mesmo milissegundo avançam o timestamp
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> now > last ? now : last + 1);
+
+        long mostSigBits = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,84 @@
+package com.biopark.cepex_system.infra.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder que executa o hashing (encode/matches) do encoder delegado em um pool dedicado e limitado.
+ * Limita quantos hashes de BCrypt rodam ao mesmo tempo e quantos podem aguardar na fila; quando ambos
+ * estão cheios a operação é recusada com RejectedExecutionException, que o RestExceptionHandler traduz em
+ * 429 (Too Many Requests) em vez de deixar o pool do servlet saturar em picos de login.
+ * Apenas o trabalho de CPU sai da thread da requisição: a busca do usuário e a transação continuam nela.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        AtomicInteger counter = new AtomicInteger();
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Apenas inspeciona o prefixo do hash, não precisa do pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Executa a tarefa no pool de hashing e aguarda o resultado.
+     * @throws RejectedExecutionException se o pool e a fila estiverem cheios ou o tempo limite for atingido.
+     */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Erro ao processar a senha", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Tempo limite do processamento de senha excedido", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Processamento de senha interrompido", e);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,125 @@
+package com.biopark.cepex_system.infra.security;
+
+import com.biopark.cepex_system.domain.user.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache limitado (LRU) e com expiração (TTL) dos usuários autenticados, indexado pelo token JWT.
+ * Evita consultar a tabela de usuários a cada requisição autenticada no SecurityFilter.
+ * O UserService invalida as entradas sempre que um usuário é alterado ou removido,
+ * para que desativações e trocas de papel tenham efeito imediato (ver evict e revoke).
+ */
+@Component
+public class PrincipalCache {
+
+    private final long ttlMillis;
+    private final int maxSize;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final Map<String, Entry> entries;
+    // Incrementado a cada invalidação: impede que uma carga iniciada antes dela grave um valor desatualizado
+    private long generation;
+
+    public PrincipalCache(@Value("${api.security.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${api.security.principal-cache.max-size:10000}") int maxSize,
+                          TokenRevocationRegistry revocationRegistry) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+        this.revocationRegistry = revocationRegistry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Retorna o usuário associado ao token, carregando-o com o loader em caso de ausência ou expiração.
+     * Resultados nulos não são armazenados.
+     */
+    public UserDetails getOrLoad(String token, Supplier<UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(token);
+            if (entry != null && entry.expiresAt() > now) {
+                return entry.user();
+            }
+            if (entry != null) {
+                entries.remove(token);
+            }
+            loadGeneration = generation;
+        }
+
+        UserDetails loaded = loader.get();
+        if (loaded != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(token, new Entry(loaded, now + ttlMillis));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Remove todas as entradas do usuário, identificado pelo id ou pelo login. Os tokens já emitidos continuam válidos.
+     * Dentro de uma transação, a invalidação é repetida após o commit: uma requisição que carregou o usuário
+     * entre a primeira invalidação e o commit leu a linha antiga, e esse valor é descartado.
+     */
+    public void evict(UUID userId, String login) {
+        invalidate(userId, login, false);
+    }
+
+    /**
+     * Como evict, e também revoga os tokens já emitidos para o usuário (efeito no modo stateless do SecurityFilter).
+     * Usado quando muda o que o token carrega ou o acesso do usuário: login, papel, status, senha ou remoção.
+     * Após o commit, a revogação também alcança os tokens emitidos entre a primeira invalidação e o commit.
+     */
+    public void revoke(UUID userId, String login) {
+        invalidate(userId, login, true);
+    }
+
+    private void invalidate(UUID userId, String login, boolean revokeTokens) {
+        invalidateNow(userId, login, revokeTokens);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(userId, login, revokeTokens);
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidateNow(UUID userId, String login, boolean revokeTokens) {
+        generation++;
+        if (revokeTokens && userId != null) {
+            revocationRegistry.revoke(userId);
+        }
+        entries.values().removeIf(entry -> matches(entry.user(), userId, login));
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private static boolean matches(UserDetails user, UUID userId, String login) {
+        if (login != null && login.equals(user.getUsername())) {
+            return true;
+        }
+        return userId != null && user instanceof UserPrincipal u && userId.equals(u.getId());
+    }
+
+    private record Entry(UserDetails user, long expiresAt) {}
+}
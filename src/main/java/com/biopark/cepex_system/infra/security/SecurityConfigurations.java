@@ -1,6 +1,8 @@
 package com.biopark.cepex_system.infra.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,6 +30,20 @@ public class SecurityConfigurations {
     @Autowired
     SecurityFilter securityFilter;
 
+    // Custo (log2 das rodadas) do BCrypt; hashes com custo menor são refeitos no próximo login
+    @Value("${api.security.bcrypt.strength:10}")
+    int bcryptStrength;
+
+    // Pool limitado onde rodam os hashes do BCrypt (ver BoundedPasswordEncoder)
+    @Value("${api.security.hashing.threads:4}")
+    int hashingThreads;
+
+    @Value("${api.security.hashing.queue-capacity:50}")
+    int hashingQueueCapacity;
+
+    @Value("${api.security.hashing.timeout-ms:10000}")
+    long hashingTimeoutMillis;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -35,6 +51,8 @@ public class SecurityConfigurations {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Despachos assíncronos do fluxo SSE: a requisição original já foi autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         // Swagger/OpenAPI endpoints - Permitir acesso público
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**").permitAll()
@@ -54,6 +72,11 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.POST, "/auth/reset-password").permitAll()   // <-- E ESTA LINHA
                         .requestMatchers(HttpMethod.GET, "/api/test/hello").permitAll()
 
+                        // Dados do próprio usuário (ex.: inscrições do aluno)
+                        .requestMatchers(HttpMethod.GET, "/me/**").authenticated()
+                        // Canal de eventos (SSE); os tópicos são filtrados pelo papel no ChangeStreamHub
+                        .requestMatchers(HttpMethod.GET, "/events/stream").authenticated()
+
                         // Rotas protegidas por Papel:
 
                         // ADMIN pode gerenciar usuários (CRUD completo)
@@ -68,7 +91,11 @@ public class SecurityConfigurations {
                         // Monitorias: Alunos podem candidatar-se e verificar status (mas não criar/deletar)
                         .requestMatchers(HttpMethod.POST, "/monitorias/{monitoriaId}/candidatar").hasAnyRole("ADMIN", "STUDENT")
                         .requestMatchers(HttpMethod.DELETE, "/monitorias/{monitoriaId}/candidatar").hasAnyRole("ADMIN", "STUDENT")
+                        .requestMatchers(HttpMethod.GET, "/monitorias/candidatura-status").hasAnyRole("ADMIN", "STUDENT", "PROFESSOR", "COORDENATION")
                         .requestMatchers(HttpMethod.GET, "/monitorias/{monitoriaId}/candidatura-status").hasAnyRole("ADMIN", "STUDENT", "PROFESSOR", "COORDENATION")
+                        // Aprovação de candidaturas (com controle de vagas) e lista de espera
+                        .requestMatchers(HttpMethod.PUT, "/monitorias/{monitoriaId}/candidaturas/**").hasAnyRole("ADMIN", "PROFESSOR", "COORDENATION", "SECRETARY")
+                        .requestMatchers(HttpMethod.GET, "/monitorias/{monitoriaId}/lista-espera").hasAnyRole("ADMIN", "PROFESSOR", "COORDENATION", "SECRETARY")
 
 
                         // New Research Project Routes
@@ -77,6 +104,7 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.DELETE, "/research-projects/{id}").hasAnyRole("ADMIN", "PROFESSOR")
                         .requestMatchers(HttpMethod.POST, "/research-projects/{projectId}/inscrever").hasAnyRole("ADMIN", "STUDENT")
                         .requestMatchers(HttpMethod.DELETE, "/research-projects/{projectId}/inscrever").hasAnyRole("ADMIN", "STUDENT")
+                        .requestMatchers(HttpMethod.GET, "/research-projects/inscricao-status").hasAnyRole("ADMIN", "STUDENT", "PROFESSOR", "COORDENATION")
                         .requestMatchers(HttpMethod.GET, "/research-projects/{projectId}/inscricao-status").hasAnyRole("ADMIN", "STUDENT", "PROFESSOR", "COORDENATION")
 
 
@@ -86,6 +114,7 @@ public class SecurityConfigurations {
                         .requestMatchers(HttpMethod.DELETE, "/extension-projects/{id}").hasAnyRole("ADMIN", "COORDENATION", "SECRETARY")
                         .requestMatchers(HttpMethod.POST, "/extension-projects/{projectId}/inscrever").hasAnyRole("ADMIN", "STUDENT")
                         .requestMatchers(HttpMethod.DELETE, "/extension-projects/{projectId}/inscrever").hasAnyRole("ADMIN", "STUDENT")
+                        .requestMatchers(HttpMethod.GET, "/extension-projects/inscricao-status").hasAnyRole("ADMIN", "STUDENT", "PROFESSOR", "COORDENATION", "SECRETARY")
                         .requestMatchers(HttpMethod.GET, "/extension-projects/{projectId}/inscricao-status").hasAnyRole("ADMIN", "STUDENT", "PROFESSOR", "COORDENATION", "SECRETARY")
                         .requestMatchers(HttpMethod.GET, "/extension-projects/{projectId}/inscricoes").hasAnyRole("ADMIN", "PROFESSOR", "COORDENATION", "SECRETARY")
 
@@ -114,9 +143,10 @@ public class SecurityConfigurations {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                hashingThreads, hashingQueueCapacity, hashingTimeoutMillis);
     }
 
     @Bean
@@ -124,8 +154,8 @@ public class SecurityConfigurations {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000", "http://localhost:3001,", "http://localhost:8081,"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "PATCH"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "accept", "Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers", "If-Match", "If-None-Match", "Idempotency-Key"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Next-Cursor", "X-Total-Count", "ETag", "Last-Modified"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
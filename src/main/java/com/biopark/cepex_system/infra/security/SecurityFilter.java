@@ -6,6 +6,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,15 +24,33 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    PrincipalCache principalCache;
+
+    @Autowired
+    TokenRevocationRegistry revocationRegistry;
+
+    // Quando ativo, o principal é reconstruído das claims do JWT, sem nenhuma consulta ao banco
+    @Value("${api.security.stateless-principal:false}")
+    boolean statelessPrincipal;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         var token = this.recoverToken(request);
 
-        if (token != null) {
+        if (token != null && statelessPrincipal) {
+            TokenUserPrincipal principal = tokenService.parsePrincipal(token);
+            // Tokens de usuários alterados ou removidos depois da emissão são recusados
+            if (principal != null && !revocationRegistry.isRevoked(principal.getId(), principal.epoch())) {
+                var authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        } else if (token != null) {
             var login = tokenService.validateToken(token); // Valida o token e obtém o login
             if (login != null && !login.isEmpty()) {
-                UserDetails user = userRepository.findByLogin(login);
+                // Usa o cache de principais para não consultar o banco a cada requisição
+                UserDetails user = principalCache.getOrLoad(token, () -> userRepository.findByLogin(login));
                 if (user != null) {
                     // Cria o objeto de autenticação
                     var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
@@ -0,0 +1,44 @@
+package com.biopark.cepex_system.infra.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tabela em memória de revogação de tokens por usuário.
+ * Guarda, para cada usuário alterado, o instante da revogação: tokens com época (claim "epoch")
+ * anterior ou igual a esse instante deixam de ser aceitos no modo stateless do SecurityFilter.
+ * As entradas são descartadas depois do tempo de vida máximo de um token, mantendo a tabela pequena.
+ * Observação: a tabela é local à instância; em múltiplas instâncias a revogação vale apenas onde ocorreu.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final long retentionMillis;
+    private final Map<UUID, Long> revokedAt = new ConcurrentHashMap<>();
+
+    public TokenRevocationRegistry(@Value("${api.security.token.expiration:86400000}") long tokenLifetimeMillis) {
+        this.retentionMillis = tokenLifetimeMillis;
+    }
+
+    /**
+     * Revoga todos os tokens já emitidos para o usuário.
+     */
+    public void revoke(UUID userId) {
+        long now = System.currentTimeMillis();
+        revokedAt.put(userId, now);
+        // Descarta revogações mais antigas que o tempo de vida de qualquer token ainda válido
+        revokedAt.values().removeIf(instant -> instant < now - retentionMillis);
+    }
+
+    /**
+     * Indica se um token emitido na época informada foi revogado para o usuário.
+     */
+    public boolean isRevoked(UUID userId, long tokenEpoch) {
+        Long instant = revokedAt.get(userId);
+        return instant != null && tokenEpoch <= instant;
+    }
+}
@@ -1,32 +1,62 @@
 package com.biopark.cepex_system.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.UUID;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
 
     private static final String ISSUER = "cepex-auth-api"; // Nome do emissor do token
 
+    // Algorithm e JWTVerifier são imutáveis e thread-safe: criados uma única vez e compartilhados
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    // Tempo de vida do token; o mesmo valor define por quanto tempo o TokenRevocationRegistry guarda uma revogação
+    private final long expirationMillis;
+
+    // Tokens já verificados: tokens repetidos dispensam o HMAC e o parse do JSON até expirarem.
+    // Caffeine, limitado por tamanho, sem lock global na leitura; cada entrada expira junto com o "exp" do token
+    private final int verifiedCacheSize;
+    private final Cache<String, DecodedJWT> verifiedTokens;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret,
+                        @Value("${api.security.token.expiration:86400000}") long expirationMillis,
+                        @Value("${api.security.token.verified-cache.max-size:10000}") int verifiedCacheSize) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.expirationMillis = expirationMillis;
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             String token = JWT.create()
                     .withIssuer(ISSUER)
                     .withSubject(user.getLogin()) // Identificador do usuário no token
                     .withClaim("userId", user.getId().toString()) // Adicionando o ID do usuário como uma claim
                     .withClaim("role", user.getRole().toString()) // Adicionando o role como uma claim
+                    .withClaim("epoch", System.currentTimeMillis()) // Instante de emissão, usado na revogação
                     .withExpiresAt(genExpirationDate())
                     .sign(algorithm);
             return token;
@@ -36,22 +66,83 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
+        DecodedJWT jwt = verify(token);
+        // Retorna o 'subject' (login do usuário) se o token for válido, ou string vazia caso contrário
+        return jwt != null ? jwt.getSubject() : "";
+    }
+
+    /**
+     * Verifica o token e reconstrói o principal apenas a partir das suas claims, sem acessar o banco.
+     * @return o principal do token, ou null se o token for inválido ou não tiver as claims esperadas.
+     */
+    public TokenUserPrincipal parsePrincipal(String token) {
+        DecodedJWT jwt = verify(token);
+        if (jwt == null) {
+            return null;
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer(ISSUER)
-                    .build()
-                    .verify(token) // Verifica a assinatura e a expiração
-                    .getSubject(); // Retorna o 'subject' (login do usuário) se o token for válido
+            String userId = jwt.getClaim("userId").asString();
+            String role = jwt.getClaim("role").asString();
+            if (jwt.getSubject() == null || userId == null || role == null) {
+                return null;
+            }
+            Long epoch = jwt.getClaim("epoch").asLong();
+            // Tokens emitidos antes da claim "epoch" são tratados como os mais antigos possíveis
+            return new TokenUserPrincipal(UUID.fromString(userId), jwt.getSubject(),
+                    UserRole.valueOf(role), epoch != null ? epoch : 0L);
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Verifica assinatura, emissor e expiração do token, reaproveitando o resultado de verificações anteriores.
+     * @return o token decodificado, ou null se for inválido (expirado, assinatura incorreta, etc.).
+     */
+    private DecodedJWT verify(String token) {
+        DecodedJWT cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            DecodedJWT jwt = verifier.verify(token); // Verifica a assinatura e a expiração
+            if (verifiedCacheSize > 0) {
+                verifiedTokens.put(token, jwt);
+            }
+            return jwt;
         } catch (JWTVerificationException exception) {
-            // Token inválido (expirado, assinatura incorreta, etc.)
-            return ""; // Retorna string vazia ou lança uma exceção específica
+            return null;
+        }
+    }
+
+    /**
+     * Expira cada token do cache no instante da sua claim "exp"; tokens sem "exp" ficam até serem despejados por tamanho.
+     */
+    private static final class TokenExpiry implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT jwt, long currentTime) {
+            Instant expiresAt = jwt.getExpiresAtAsInstant();
+            if (expiresAt == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(Duration.between(Instant.now(), expiresAt).toNanos(), 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 
     private Instant genExpirationDate() {
-        // Define o token para expirar em 2 horas (ajuste conforme necessário)
-        // Usando ZoneOffset.of("-03:00") para o fuso horário de Brasília (BRT)
-        return LocalDateTime.now().plusHours(24).toInstant(ZoneOffset.of("-03:00"));
+        // Instante absoluto: não depende do fuso horário do servidor
+        return Instant.now().plusMillis(expirationMillis);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package com.biopark.cepex_system.infra.security;
+
+import com.biopark.cepex_system.domain.user.UserPrincipal;
+import com.biopark.cepex_system.domain.user.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Principal leve reconstruído apenas a partir das claims verificadas do JWT (id, login, papel e época).
+ * Usado no modo stateless do SecurityFilter, em que a autenticação não faz nenhuma consulta ao banco.
+ */
+public record TokenUserPrincipal(UUID id, String login, UserRole role, long epoch) implements UserPrincipal {
+
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public UserRole getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return UserRole.authoritiesOf(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // Não há senha no principal reconstruído do token
+    }
+
+    @Override
+    public String getUsername() {
+        return login;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true; // Desativações são tratadas pela TokenRevocationRegistry
+    }
+}
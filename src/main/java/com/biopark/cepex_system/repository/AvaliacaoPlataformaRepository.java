@@ -2,8 +2,39 @@ package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.feedback.AvaliacaoPlataforma;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface AvaliacaoPlataformaRepository extends JpaRepository<AvaliacaoPlataforma, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Agrupa as avaliações do intervalo [from, to) por período (dia, semana iniciada na segunda-feira ou mês).
+     * @param granularity nome de RatingTrendGranularity (DAY, WEEK ou MONTH).
+     * @return uma linha por período com avaliações, em ordem cronológica.
+     */
+    @Query(value = "SELECT CASE :granularity " +
+                   "WHEN 'MONTH' THEN DATE_FORMAT(a.avaliation_date, '%Y-%m-01') " +
+                   "WHEN 'WEEK' THEN DATE_FORMAT(DATE_SUB(a.avaliation_date, INTERVAL WEEKDAY(a.avaliation_date) DAY), '%Y-%m-%d') " +
+                   "ELSE DATE_FORMAT(a.avaliation_date, '%Y-%m-%d') END AS period, " +
+                   "COUNT(*) AS total, SUM(a.rating) AS ratingSum " +
+                   "FROM avaliacao_plataforma a " +
+                   "WHERE a.avaliation_date >= :from AND a.avaliation_date < :to " +
+                   "GROUP BY period ORDER BY period",
+           nativeQuery = true)
+    List<RatingBucket> countByPeriod(@Param("granularity") String granularity,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Projeção de um período da tendência de avaliações.
+     */
+    interface RatingBucket {
+        String getPeriod(); // Data de início do período (yyyy-MM-dd)
+        long getTotal();
+        Number getRatingSum();
+    }
+}
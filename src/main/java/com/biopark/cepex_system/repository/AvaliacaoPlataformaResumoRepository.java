@@ -0,0 +1,18 @@
+package com.biopark.cepex_system.repository;
+
+import com.biopark.cepex_system.domain.feedback.AvaliacaoPlataformaResumo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AvaliacaoPlataformaResumoRepository extends JpaRepository<AvaliacaoPlataformaResumo, Integer> {
+
+    /**
+     * Soma uma avaliação ao total da quantidade de estrelas, na própria transação que grava a avaliação.
+     * @return a quantidade de linhas alteradas (0 se a linha da estrela ainda não existir).
+     */
+    @Modifying
+    @Query("UPDATE AvaliacaoPlataformaResumo r SET r.total = r.total + 1 WHERE r.rating = :rating")
+    int increment(@Param("rating") Integer rating);
+}
@@ -2,9 +2,17 @@ package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.StatusCandidatura;
 import com.biopark.cepex_system.domain.user.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List; // Importar List
 import java.util.Optional;
 import java.util.UUID;
@@ -13,9 +21,94 @@ public interface CandidaturaMonitoriaRepository extends JpaRepository<Candidatur
     // Metodo para verificar se um aluno já se candidatou para uma monitoria específica
     Optional<CandidaturaMonitoria> findByMonitoriaAndAluno(Monitoria monitoria, User aluno);
 
+    Optional<CandidaturaMonitoria> findByMonitoriaIdAndAlunoId(UUID monitoriaId, UUID alunoId);
+
+    /**
+     * Status das candidaturas do aluno em várias monitorias com uma única consulta (uma página do catálogo).
+     * Monitorias sem candidatura do aluno não aparecem no resultado.
+     */
+    @Query("SELECT c.monitoria.id AS itemId, c.status AS status FROM CandidaturaMonitoria c " +
+           "WHERE c.aluno.id = :alunoId AND c.monitoria.id IN :monitoriaIds")
+    List<CandidaturaItemStatus> findStatusByAlunoIdAndMonitoriaIdIn(@Param("alunoId") UUID alunoId,
+                                                                    @Param("monitoriaIds") Collection<UUID> monitoriaIds);
+
+    /**
+     * Cria a candidatura ou reabre a existente em um único comando, apoiado na chave única (monitoria_id, aluno_id).
+     * Uma candidatura CANCELADA ou REJEITADA volta para PENDENTE com a nova data e a nova chave de idempotência;
+     * PENDENTE ou APROVADA permanece como está, assim como uma candidatura já reaberta por esta mesma chave (nova tentativa).
+     * A ordem das atribuições importa: a data é alterada primeiro e serve de marca para as demais colunas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO candidatura_monitoria (id, monitoria_id, aluno_id, status, data_candidatura, idempotency_key) " +
+                   "VALUES (UUID_TO_BIN(:id), UUID_TO_BIN(:monitoriaId), UUID_TO_BIN(:alunoId), 'PENDENTE', :now, :idempotencyKey) AS new " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "data_candidatura = IF(status IN ('CANCELADA', 'REJEITADA') AND NOT (idempotency_key <=> new.idempotency_key), " +
+                   "new.data_candidatura, data_candidatura), " +
+                   "idempotency_key = IF(data_candidatura <=> new.data_candidatura, new.idempotency_key, idempotency_key), " +
+                   "status = IF(data_candidatura <=> new.data_candidatura, 'PENDENTE', status)",
+           nativeQuery = true)
+    int upsertPendente(@Param("id") String id, @Param("monitoriaId") String monitoriaId, @Param("alunoId") String alunoId,
+                       @Param("now") LocalDateTime now, @Param("idempotencyKey") String idempotencyKey);
+
     // NOVO METODO: Para listar candidaturas por Monitoria
     List<CandidaturaMonitoria> findByMonitoria(Monitoria monitoria);
 
     // NOVO METODO: Para listar candidaturas por Aluno
     List<CandidaturaMonitoria> findByAluno(User aluno);
-}
\ No newline at end of file
+
+    /**
+     * Lista de espera da monitoria na ordem de chegada (data da candidatura e, no empate, id).
+     */
+    List<CandidaturaMonitoria> findByMonitoriaIdAndStatusOrderByDataCandidaturaAscIdAsc(UUID monitoriaId, StatusCandidatura status);
+
+    boolean existsByMonitoriaIdAndStatus(UUID monitoriaId, StatusCandidatura status);
+
+    /**
+     * Primeira candidatura da fila com o status informado, lida com SELECT ... FOR UPDATE
+     * (usa o índice (monitoria_id, status, data_candidatura)).
+     * A leitura com bloqueio enxerga a versão mais recente da linha, não o snapshot da transação.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CandidaturaMonitoria> findFirstByMonitoriaIdAndStatusOrderByDataCandidaturaAscIdAsc(UUID monitoriaId, StatusCandidatura status);
+
+    /**
+     * Muda o status da candidatura somente se o status atual estiver entre os esperados, evitando que duas
+     * requisições concorrentes façam a mesma transição.
+     * @return 1 se a transição foi feita, 0 se a candidatura já estava em outro status.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE CandidaturaMonitoria c SET c.status = :novoStatus WHERE c.id = :id AND c.status IN :statusAtuais")
+    int updateStatusIfIn(@Param("id") UUID id, @Param("statusAtuais") Collection<StatusCandidatura> statusAtuais,
+                         @Param("novoStatus") StatusCandidatura novoStatus);
+
+    /**
+     * Conta as candidaturas agrupadas pelo curso e disciplina da monitoria e pelo status da candidatura.
+     * Usado pelo painel de estatísticas, evitando carregar todas as candidaturas em memória.
+     * @return uma linha por combinação (curso, disciplina, status) com o total correspondente.
+     */
+    @Query("SELECT c.id AS courseId, c.name AS courseName, d.id AS disciplineId, d.name AS disciplineName, " +
+           "cm.status AS status, COUNT(cm) AS total " +
+           "FROM CandidaturaMonitoria cm JOIN cm.monitoria m LEFT JOIN m.course c LEFT JOIN m.subject d " +
+           "GROUP BY c.id, c.name, d.id, d.name, cm.status")
+    List<CandidaturaStatusCount> countGroupedByCourseDisciplineAndStatus();
+
+    /**
+     * Projeção do status da candidatura do aluno em uma monitoria.
+     */
+    interface CandidaturaItemStatus {
+        UUID getItemId();
+        StatusCandidatura getStatus();
+    }
+
+    /**
+     * Projeção do agrupamento de candidaturas por curso, disciplina e status.
+     */
+    interface CandidaturaStatusCount {
+        UUID getCourseId();
+        String getCourseName();
+        UUID getDisciplineId();
+        String getDisciplineName();
+        StatusCandidatura getStatus();
+        long getTotal();
+    }
+}
@@ -1,9 +1,145 @@
 package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.project.ExtensionProject;
+import com.biopark.cepex_system.domain.project.ExtensionProjectSummary;
+import com.biopark.cepex_system.domain.search.FullTextHit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ExtensionProjectRepository extends JpaRepository<ExtensionProject, UUID> {
+
+    /**
+     * Plano de busca da listagem: coordenador e pesquisador líder no mesmo SELECT.
+     * A coleção de equipe continua LAZY e é carregada em lote (hibernate.default_batch_fetch_size).
+     */
+    @Override
+    @EntityGraph(attributePaths = {"coordinator", "leadResearcher"})
+    List<ExtensionProject> findAll();
+
+    /**
+     * Listagem paginada leve: lê do banco apenas as colunas da projeção ExtensionProjectSummary (sem descrição e equipe).
+     * A ordenação vem do Pageable; o COUNT usa os mesmos filtros.
+     * @param searchPattern padrão LIKE já em minúsculas aplicado ao título e ao login do coordenador, ou null.
+     * @param status status desejado, ou null para todos.
+     */
+    @Query(value = "SELECT p.id AS id, p.title AS title, p.status AS status, p.location AS location, " +
+                   "p.startDate AS startDate, p.endDate AS endDate, c.id AS coordinatorId, c.login AS coordinatorName " +
+                   "FROM ExtensionProject p LEFT JOIN p.coordinator c " +
+                   "WHERE (:status IS NULL OR p.status = :status) " +
+                   "AND (:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR LOWER(c.login) LIKE :searchPattern)",
+           countQuery = "SELECT COUNT(p) FROM ExtensionProject p LEFT JOIN p.coordinator c " +
+                        "WHERE (:status IS NULL OR p.status = :status) " +
+                        "AND (:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR LOWER(c.login) LIKE :searchPattern)")
+    Page<ExtensionProjectSummary> findSummaries(@Param("searchPattern") String searchPattern,
+                                                @Param("status") ExtensionProject.ProjectStatus status,
+                                                Pageable pageable);
+
+    /**
+     * Listagem leve por cursor (keyset): itens posteriores ao par (título, id) do último item já entregue,
+     * em ordem de título e id. Não executa COUNT.
+     */
+    @Query("SELECT p.id AS id, p.title AS title, p.status AS status, p.location AS location, " +
+           "p.startDate AS startDate, p.endDate AS endDate, c.id AS coordinatorId, c.login AS coordinatorName " +
+           "FROM ExtensionProject p LEFT JOIN p.coordinator c " +
+           "WHERE (:status IS NULL OR p.status = :status) " +
+           "AND (:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR LOWER(c.login) LIKE :searchPattern) " +
+           "AND (p.title > :cursorTitle OR (p.title = :cursorTitle AND p.id > :cursorId)) " +
+           "ORDER BY p.title ASC, p.id ASC")
+    List<ExtensionProjectSummary> findSummariesAfter(@Param("searchPattern") String searchPattern,
+                                                     @Param("status") ExtensionProject.ProjectStatus status,
+                                                     @Param("cursorTitle") String cursorTitle,
+                                                     @Param("cursorId") UUID cursorId,
+                                                     Pageable pageable);
+
+    /**
+     * Plano de busca do detalhe: inclui a coleção de equipe na mesma consulta.
+     */
+    @EntityGraph(attributePaths = {"coordinator", "leadResearcher", "team"})
+    Optional<ExtensionProject> findDetailedById(UUID id);
+
+    /**
+     * Primeira página da fila de aprovação: projetos de extensão no status informado, ordenados por data de início e id.
+     * Apoiada pelo índice composto (status, start_date). Datas nulas vêm primeiro, como no MySQL.
+     */
+    List<ExtensionProject> findByStatusOrderByStartDateAscIdAsc(ExtensionProject.ProjectStatus status, Pageable pageable);
+
+    /**
+     * Páginas seguintes da fila de aprovação (paginação por cursor/keyset).
+     * Retorna os projetos posteriores ao par (data de início, id) do último item já entregue,
+     * tratando a data de início nula como a menor possível.
+     */
+    @Query("SELECT p FROM ExtensionProject p WHERE p.status = :status AND (" +
+           "(:cursorDate IS NULL AND (p.startDate IS NOT NULL OR p.id > :cursorId)) OR " +
+           "(:cursorDate IS NOT NULL AND (p.startDate > :cursorDate OR (p.startDate = :cursorDate AND p.id > :cursorId)))) " +
+           "ORDER BY p.startDate ASC, p.id ASC")
+    List<ExtensionProject> findByStatusAfterCursor(@Param("status") ExtensionProject.ProjectStatus status,
+                                                   @Param("cursorDate") LocalDate cursorDate,
+                                                   @Param("cursorId") UUID cursorId,
+                                                   Pageable pageable);
+
+    /**
+     * Retorna, dentre os ids informados, apenas os que existem (usado nas operações em lote).
+     */
+    @Query("SELECT p.id FROM ExtensionProject p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Retorna, dentre os ids informados, os que ainda estão com o status informado, lidos com SELECT ... FOR UPDATE:
+     * até o fim da transação nenhuma outra requisição altera o status desses itens (usado nas operações em lote).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ExtensionProject p WHERE p.id IN :ids AND p.status = :status")
+    List<ExtensionProject> findByIdInAndStatusForUpdate(@Param("ids") Collection<UUID> ids, @Param("status") ExtensionProject.ProjectStatus status);
+
+    /**
+     * Atualiza o status de vários projetos de extensão em um único UPDATE.
+     * A versão também é incrementada, já que o UPDATE em lote não passa pelo controle de @Version.
+     * Só altera os que ainda estão com o status expectedStatus, então um item já decidido nunca é revertido.
+     * @return a quantidade de linhas alteradas.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ExtensionProject p SET p.status = :status, p.version = p.version + 1 WHERE p.id IN :ids AND p.status = :expectedStatus")
+    int updateStatusByIds(@Param("ids") Collection<UUID> ids, @Param("expectedStatus") ExtensionProject.ProjectStatus expectedStatus,
+                          @Param("status") ExtensionProject.ProjectStatus status);
+
+    /**
+     * Busca textual (índice FULLTEXT ft_extension_projects_search) em título, descrição e local,
+     * ordenada por relevância.
+     * @param query termo de busca, interpretado em NATURAL LANGUAGE MODE (operadores não têm efeito).
+     * @param limit quantidade máxima de linhas.
+     */
+    @Query(value = "SELECT BIN_TO_UUID(p.id) AS id, p.title AS title, p.status AS status, " +
+           "MATCH(p.title, p.description, p.location) AGAINST (:query IN NATURAL LANGUAGE MODE) AS score " +
+           "FROM extension_projects p " +
+           "WHERE MATCH(p.title, p.description, p.location) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+           "ORDER BY score DESC, p.title ASC LIMIT :limit",
+           nativeQuery = true)
+    List<FullTextHit> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Total de linhas encontradas por searchFullText para o mesmo termo.
+     */
+    @Query(value = "SELECT COUNT(*) FROM extension_projects p " +
+           "WHERE MATCH(p.title, p.description, p.location) AGAINST (:query IN NATURAL LANGUAGE MODE)",
+           nativeQuery = true)
+    long countFullText(@Param("query") String query);
+
+    /**
+     * Lê apenas a versão, usada para responder If-None-Match sem carregar a entidade.
+     */
+    @Query("SELECT p.version FROM ExtensionProject p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
 }
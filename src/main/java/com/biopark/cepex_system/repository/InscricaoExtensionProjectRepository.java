@@ -2,9 +2,15 @@ package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.project.ExtensionProject;
 import com.biopark.cepex_system.domain.project.InscricaoExtensionProject;
+import com.biopark.cepex_system.domain.project.StatusInscricaoProjeto;
 import com.biopark.cepex_system.domain.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,4 +19,41 @@ public interface InscricaoExtensionProjectRepository extends JpaRepository<Inscr
     Optional<InscricaoExtensionProject> findByExtensionProjectAndAluno(ExtensionProject extensionProject, User aluno);
     List<InscricaoExtensionProject> findByExtensionProject(ExtensionProject extensionProject);
     List<InscricaoExtensionProject> findByAluno(User aluno);
-}
\ No newline at end of file
+
+    Optional<InscricaoExtensionProject> findByExtensionProjectIdAndAlunoId(UUID projectId, UUID alunoId);
+
+    /**
+     * Status das inscrições do aluno em vários projetos com uma única consulta (uma página do catálogo).
+     * Projetos sem inscrição do aluno não aparecem no resultado.
+     */
+    @Query("SELECT i.extensionProject.id AS itemId, i.status AS status FROM InscricaoExtensionProject i " +
+           "WHERE i.aluno.id = :alunoId AND i.extensionProject.id IN :projectIds")
+    List<InscricaoItemStatus> findStatusByAlunoIdAndProjectIdIn(@Param("alunoId") UUID alunoId,
+                                                                @Param("projectIds") Collection<UUID> projectIds);
+
+    /**
+     * Cria a inscrição ou reabre a existente em um único comando, apoiado na chave única (extension_project_id, aluno_id).
+     * Uma inscrição CANCELADA ou REJEITADA volta para PENDENTE com a nova data e a nova chave de idempotência;
+     * PENDENTE ou APROVADA permanece como está, assim como uma inscrição já reaberta por esta mesma chave (nova tentativa).
+     * A ordem das atribuições importa: a data é alterada primeiro e serve de marca para as demais colunas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO inscricao_extension_project (id, extension_project_id, aluno_id, status, data_inscricao, idempotency_key) " +
+                   "VALUES (UUID_TO_BIN(:id), UUID_TO_BIN(:projectId), UUID_TO_BIN(:alunoId), 'PENDENTE', :now, :idempotencyKey) AS new " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "data_inscricao = IF(status IN ('CANCELADA', 'REJEITADA') AND NOT (idempotency_key <=> new.idempotency_key), " +
+                   "new.data_inscricao, data_inscricao), " +
+                   "idempotency_key = IF(data_inscricao <=> new.data_inscricao, new.idempotency_key, idempotency_key), " +
+                   "status = IF(data_inscricao <=> new.data_inscricao, 'PENDENTE', status)",
+           nativeQuery = true)
+    int upsertPendente(@Param("id") String id, @Param("projectId") String projectId, @Param("alunoId") String alunoId,
+                       @Param("now") LocalDateTime now, @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Projeção do status da inscrição do aluno em um projeto.
+     */
+    interface InscricaoItemStatus {
+        UUID getItemId();
+        StatusInscricaoProjeto getStatus();
+    }
+}
@@ -2,9 +2,173 @@ package com.biopark.cepex_system.repository;
 
 
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.MonitoriaSummary;
+import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
+import com.biopark.cepex_system.domain.search.FullTextHit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MonitoriaRepository extends JpaRepository<Monitoria, UUID> {
+
+    /**
+     * Listagem paginada leve: lê do banco apenas as colunas da projeção MonitoriaSummary.
+     * @param searchPattern padrão LIKE já em minúsculas (ex.: "%poo%") aplicado ao título, ao primeiro nome
+     *                      do professor e ao nome da disciplina, ou null para não filtrar.
+     * @param status status desejado, ou null para todos.
+     */
+    @Query(value = "SELECT m.id AS id, m.title AS title, m.statusMonitoria AS statusMonitoria, m.remote AS remote, " +
+                   "m.vacancies AS vacancies, m.inicialDate AS inicialDate, m.finalDate AS finalDate, " +
+                   "m.finalIngressDate AS finalIngressDate, p.id AS professorId, " +
+                   "CONCAT(p.firstName, ' ', p.lastName) AS professorName, c.name AS courseName, d.name AS disciplineName " +
+                   "FROM Monitoria m LEFT JOIN m.professor p LEFT JOIN m.course c LEFT JOIN m.subject d " +
+                   "WHERE (:status IS NULL OR m.statusMonitoria = :status) " +
+                   "AND (:searchPattern IS NULL OR LOWER(m.title) LIKE :searchPattern " +
+                   "OR LOWER(p.firstName) LIKE :searchPattern OR LOWER(d.name) LIKE :searchPattern)",
+           countQuery = "SELECT COUNT(m) FROM Monitoria m LEFT JOIN m.professor p LEFT JOIN m.subject d " +
+                        "WHERE (:status IS NULL OR m.statusMonitoria = :status) " +
+                        "AND (:searchPattern IS NULL OR LOWER(m.title) LIKE :searchPattern " +
+                        "OR LOWER(p.firstName) LIKE :searchPattern OR LOWER(d.name) LIKE :searchPattern)")
+    Page<MonitoriaSummary> findSummaries(@Param("searchPattern") String searchPattern,
+                                         @Param("status") StatusMonitoria status,
+                                         Pageable pageable);
+
+    /**
+     * Plano de busca do detalhe: curso, disciplina (com seu curso), professor (com seu usuário e suas disciplinas)
+     * vêm no mesmo SELECT, em vez de uma consulta secundária por associação.
+     */
+    @EntityGraph(attributePaths = {"course", "subject", "subject.course", "professor", "professor.user", "professor.disciplines"})
+    Optional<Monitoria> findDetailedById(UUID id);
+
+    /**
+     * Primeira página da fila de aprovação: monitorias no status informado, ordenadas por data inicial e id.
+     * Apoiada pelo índice composto (status, inicial_date).
+     */
+    List<Monitoria> findByStatusMonitoriaOrderByInicialDateAscIdAsc(StatusMonitoria status, Pageable pageable);
+
+    /**
+     * Páginas seguintes da fila de aprovação (paginação por cursor/keyset).
+     * Retorna as monitorias posteriores ao par (data inicial, id) do último item já entregue,
+     * tratando a data nula como a menor possível (o cursor pode vir de um projeto sem data de início).
+     */
+    @Query("SELECT m FROM Monitoria m WHERE m.statusMonitoria = :status AND (" +
+           "(:cursorDate IS NULL AND (m.inicialDate IS NOT NULL OR m.id > :cursorId)) OR " +
+           "(:cursorDate IS NOT NULL AND (m.inicialDate > :cursorDate OR (m.inicialDate = :cursorDate AND m.id > :cursorId)))) " +
+           "ORDER BY m.inicialDate ASC, m.id ASC")
+    List<Monitoria> findByStatusAfterCursor(@Param("status") StatusMonitoria status,
+                                            @Param("cursorDate") LocalDate cursorDate,
+                                            @Param("cursorId") UUID cursorId,
+                                            Pageable pageable);
+
+    /**
+     * Retorna, dentre os ids informados, apenas os que existem (usado nas operações em lote).
+     */
+    @Query("SELECT m.id FROM Monitoria m WHERE m.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Retorna, dentre os ids informados, os que ainda estão com o status informado, lidos com SELECT ... FOR UPDATE:
+     * até o fim da transação nenhuma outra requisição altera o status desses itens (usado nas operações em lote).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Monitoria m WHERE m.id IN :ids AND m.statusMonitoria = :status")
+    List<Monitoria> findByIdInAndStatusForUpdate(@Param("ids") Collection<UUID> ids, @Param("status") StatusMonitoria status);
+
+    /**
+     * Atualiza o status de várias monitorias em um único UPDATE.
+     * A versão também é incrementada, já que o UPDATE em lote não passa pelo controle de @Version.
+     * Só altera os que ainda estão com o status expectedStatus, então um item já decidido nunca é revertido.
+     * @return a quantidade de linhas alteradas.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Monitoria m SET m.statusMonitoria = :status, m.version = m.version + 1 WHERE m.id IN :ids AND m.statusMonitoria = :expectedStatus")
+    int updateStatusByIds(@Param("ids") Collection<UUID> ids, @Param("expectedStatus") StatusMonitoria expectedStatus,
+                          @Param("status") StatusMonitoria status);
+
+    /**
+     * Ocupa uma vaga da monitoria se ainda houver alguma (filled < vacancies), em um único UPDATE condicional.
+     * A linha fica bloqueada até o fim da transação, então aprovações simultâneas da mesma monitoria
+     * nunca ultrapassam o número de vagas, mesmo entre instâncias diferentes da aplicação.
+     * @return 1 se a vaga foi ocupada, 0 se a monitoria não existe ou está lotada.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "UPDATE monitoria SET filled = filled + 1, version = version + 1 " +
+                   "WHERE id = UUID_TO_BIN(:id) AND filled < vacancies",
+           nativeQuery = true)
+    int reserveSeat(@Param("id") String id);
+
+    /**
+     * Libera uma vaga ocupada da monitoria (sem deixar o contador negativo).
+     * @return 1 se a vaga foi liberada, 0 caso contrário.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query(value = "UPDATE monitoria SET filled = filled - 1, version = version + 1 " +
+                   "WHERE id = UUID_TO_BIN(:id) AND filled > 0",
+           nativeQuery = true)
+    int releaseSeat(@Param("id") String id);
+
+    /**
+     * Conta as monitorias agrupadas por curso, disciplina e status em uma única consulta.
+     * Usado pelo painel de estatísticas, evitando carregar todas as entidades em memória.
+     * @return uma linha por combinação (curso, disciplina, status) com o total correspondente.
+     */
+    @Query("SELECT c.id AS courseId, c.name AS courseName, d.id AS disciplineId, d.name AS disciplineName, " +
+           "m.statusMonitoria AS status, COUNT(m) AS total " +
+           "FROM Monitoria m LEFT JOIN m.course c LEFT JOIN m.subject d " +
+           "GROUP BY c.id, c.name, d.id, d.name, m.statusMonitoria")
+    List<MonitoriaStatusCount> countGroupedByCourseDisciplineAndStatus();
+
+    /**
+     * Busca textual (índice FULLTEXT ft_monitoria_search) em título e descrição, ordenada por relevância.
+     * @param query termo de busca, interpretado em NATURAL LANGUAGE MODE (operadores não têm efeito).
+     * @param status status desejado, ou null para todos.
+     * @param limit quantidade máxima de linhas.
+     */
+    @Query(value = "SELECT BIN_TO_UUID(m.id) AS id, m.title AS title, m.status AS status, " +
+           "MATCH(m.title, m.description) AGAINST (:query IN NATURAL LANGUAGE MODE) AS score " +
+           "FROM monitoria m " +
+           "WHERE MATCH(m.title, m.description) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+           "AND (:status IS NULL OR m.status = :status) " +
+           "ORDER BY score DESC, m.title ASC LIMIT :limit",
+           nativeQuery = true)
+    List<FullTextHit> searchFullText(@Param("query") String query, @Param("status") String status, @Param("limit") int limit);
+
+    /**
+     * Total de linhas encontradas por searchFullText para o mesmo termo e status.
+     */
+    @Query(value = "SELECT COUNT(*) FROM monitoria m " +
+           "WHERE MATCH(m.title, m.description) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+           "AND (:status IS NULL OR m.status = :status)",
+           nativeQuery = true)
+    long countFullText(@Param("query") String query, @Param("status") String status);
+
+    /**
+     * Lê apenas a versão, usada para responder If-None-Match sem carregar a entidade.
+     */
+    @Query("SELECT m.version FROM Monitoria m WHERE m.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Projeção do agrupamento de monitorias por curso, disciplina e status.
+     */
+    interface MonitoriaStatusCount {
+        UUID getCourseId();
+        String getCourseName();
+        UUID getDisciplineId();
+        String getDisciplineName();
+        StatusMonitoria getStatus();
+        long getTotal();
+    }
 }
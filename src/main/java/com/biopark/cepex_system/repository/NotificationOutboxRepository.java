@@ -0,0 +1,33 @@
+package com.biopark.cepex_system.repository;
+
+import com.biopark.cepex_system.domain.notification.NotificationOutbox;
+import com.biopark.cepex_system.domain.notification.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, UUID> {
+
+    /**
+     * Próximo lote de notificações com a tentativa vencida, lido com SELECT ... FOR UPDATE SKIP LOCKED
+     * (lock timeout -2): várias instâncias do dispatcher pegam lotes diferentes sem esperar umas pelas outras.
+     * Usa o índice (status, next_attempt_at).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM NotificationOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+           "ORDER BY o.nextAttemptAt ASC, o.id ASC")
+    List<NotificationOutbox> findDueForUpdate(@Param("status") OutboxStatus status, @Param("now") LocalDateTime now,
+                                              Pageable pageable);
+
+    List<NotificationOutbox> findByRecipientOrderByCreatedAtAsc(String recipient);
+}
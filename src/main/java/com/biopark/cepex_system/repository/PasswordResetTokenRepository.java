@@ -0,0 +1,42 @@
+package com.biopark.cepex_system.repository;
+
+import com.biopark.cepex_system.domain.user.PasswordResetToken;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, UUID> {
+
+    // O usuário vem no mesmo SELECT: a senha é alterada logo em seguida
+    @EntityGraph(attributePaths = "user")
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Quantidade de códigos pedidos pelo usuário desde o instante informado (limite de pedidos).
+     * Usa o índice (user_id, created_at).
+     */
+    @Query("SELECT COUNT(t) FROM PasswordResetToken t WHERE t.user.id = :userId AND t.createdAt > :since")
+    long countRequestedSince(@Param("userId") UUID userId, @Param("since") LocalDateTime since);
+
+    /**
+     * Marca o código como usado se ainda não foi e não expirou, em um único UPDATE condicional:
+     * duas requisições simultâneas com o mesmo código não redefinem a senha duas vezes.
+     * @return 1 se o código foi consumido, 0 se já estava usado ou expirado.
+     */
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.usedAt = :now WHERE t.id = :id AND t.usedAt IS NULL AND t.expiresAt > :now")
+    int markUsed(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Invalida todos os códigos ainda não usados do usuário.
+     */
+    @Modifying
+    @Query("UPDATE PasswordResetToken t SET t.usedAt = :now WHERE t.user.id = :userId AND t.usedAt IS NULL")
+    int invalidateAll(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+}
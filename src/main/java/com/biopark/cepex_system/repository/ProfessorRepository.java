@@ -2,6 +2,8 @@ package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.professor.Professor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -49,4 +51,10 @@ public interface ProfessorRepository extends JpaRepository<Professor, UUID> {
      * @return true se existir, false caso contrário.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Lê apenas a versão, usada para responder If-None-Match sem carregar a entidade.
+     */
+    @Query("SELECT p.version FROM Professor p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
 }
@@ -0,0 +1,37 @@
+package com.biopark.cepex_system.repository;
+
+import com.biopark.cepex_system.domain.course.ReferenceDataRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ReferenceDataRevisionRepository extends JpaRepository<ReferenceDataRevision, Integer> {
+
+    /**
+     * Lê a versão atual direto do banco (sem passar pela entidade já carregada no contexto de persistência).
+     */
+    @Query("SELECT r.version AS version, r.changedAt AS changedAt FROM ReferenceDataRevision r " +
+           "WHERE r.id = " + ReferenceDataRevision.ID)
+    Optional<Revision> findCurrent();
+
+    /**
+     * Avança a versão na transação que altera o curso ou a disciplina: ela se torna visível
+     * para as outras instâncias junto com a alteração, no commit.
+     * @return a quantidade de linhas alteradas (0 se a linha da migração V13 não existir).
+     */
+    @Modifying
+    @Query("UPDATE ReferenceDataRevision r SET r.version = r.version + 1, r.changedAt = :changedAt " +
+           "WHERE r.id = " + ReferenceDataRevision.ID)
+    int increment(@Param("changedAt") long changedAt);
+
+    /**
+     * Projeção da versão dos dados de referência.
+     */
+    interface Revision {
+        long getVersion();
+        long getChangedAt();
+    }
+}
@@ -1,9 +1,145 @@
 package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.project.ResearchProject;
+import com.biopark.cepex_system.domain.project.ResearchProjectSummary;
+import com.biopark.cepex_system.domain.search.FullTextHit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ResearchProjectRepository extends JpaRepository<ResearchProject, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Plano de busca da listagem: o pesquisador líder no mesmo SELECT.
+     * A coleção de colaboradores continua LAZY e é carregada em lote (hibernate.default_batch_fetch_size).
+     */
+    @Override
+    @EntityGraph(attributePaths = "leadResearcher")
+    List<ResearchProject> findAll();
+
+    /**
+     * Listagem paginada leve: lê do banco apenas as colunas da projeção ResearchProjectSummary (sem os campos TEXT).
+     * A ordenação vem do Pageable; o COUNT usa os mesmos filtros.
+     * @param searchPattern padrão LIKE já em minúsculas aplicado ao título e ao login do pesquisador líder, ou null.
+     * @param status status desejado, ou null para todos.
+     */
+    @Query(value = "SELECT p.id AS id, p.title AS title, p.status AS status, p.startDate AS startDate, p.endDate AS endDate, " +
+                   "l.id AS leadResearcherId, l.login AS leadResearcherName " +
+                   "FROM ResearchProject p LEFT JOIN p.leadResearcher l " +
+                   "WHERE (:status IS NULL OR p.status = :status) " +
+                   "AND (:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR LOWER(l.login) LIKE :searchPattern)",
+           countQuery = "SELECT COUNT(p) FROM ResearchProject p LEFT JOIN p.leadResearcher l " +
+                        "WHERE (:status IS NULL OR p.status = :status) " +
+                        "AND (:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR LOWER(l.login) LIKE :searchPattern)")
+    Page<ResearchProjectSummary> findSummaries(@Param("searchPattern") String searchPattern,
+                                               @Param("status") ResearchProject.ProjectStatus status,
+                                               Pageable pageable);
+
+    /**
+     * Listagem leve por cursor (keyset): itens posteriores ao par (título, id) do último item já entregue,
+     * em ordem de título e id. Não executa COUNT.
+     */
+    @Query("SELECT p.id AS id, p.title AS title, p.status AS status, p.startDate AS startDate, p.endDate AS endDate, " +
+           "l.id AS leadResearcherId, l.login AS leadResearcherName " +
+           "FROM ResearchProject p LEFT JOIN p.leadResearcher l " +
+           "WHERE (:status IS NULL OR p.status = :status) " +
+           "AND (:searchPattern IS NULL OR LOWER(p.title) LIKE :searchPattern OR LOWER(l.login) LIKE :searchPattern) " +
+           "AND (p.title > :cursorTitle OR (p.title = :cursorTitle AND p.id > :cursorId)) " +
+           "ORDER BY p.title ASC, p.id ASC")
+    List<ResearchProjectSummary> findSummariesAfter(@Param("searchPattern") String searchPattern,
+                                                    @Param("status") ResearchProject.ProjectStatus status,
+                                                    @Param("cursorTitle") String cursorTitle,
+                                                    @Param("cursorId") UUID cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * Plano de busca do detalhe: inclui a coleção de colaboradores na mesma consulta.
+     */
+    @EntityGraph(attributePaths = {"leadResearcher", "collaborators"})
+    Optional<ResearchProject> findDetailedById(UUID id);
+
+    /**
+     * Primeira página da fila de aprovação: projetos de pesquisa no status informado, ordenados por data de início e id.
+     * Apoiada pelo índice composto (status, start_date). Datas nulas vêm primeiro, como no MySQL.
+     */
+    List<ResearchProject> findByStatusOrderByStartDateAscIdAsc(ResearchProject.ProjectStatus status, Pageable pageable);
+
+    /**
+     * Páginas seguintes da fila de aprovação (paginação por cursor/keyset).
+     * Retorna os projetos posteriores ao par (data de início, id) do último item já entregue,
+     * tratando a data de início nula como a menor possível.
+     */
+    @Query("SELECT p FROM ResearchProject p WHERE p.status = :status AND (" +
+           "(:cursorDate IS NULL AND (p.startDate IS NOT NULL OR p.id > :cursorId)) OR " +
+           "(:cursorDate IS NOT NULL AND (p.startDate > :cursorDate OR (p.startDate = :cursorDate AND p.id > :cursorId)))) " +
+           "ORDER BY p.startDate ASC, p.id ASC")
+    List<ResearchProject> findByStatusAfterCursor(@Param("status") ResearchProject.ProjectStatus status,
+                                                  @Param("cursorDate") LocalDate cursorDate,
+                                                  @Param("cursorId") UUID cursorId,
+                                                  Pageable pageable);
+
+    /**
+     * Retorna, dentre os ids informados, apenas os que existem (usado nas operações em lote).
+     */
+    @Query("SELECT p.id FROM ResearchProject p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Retorna, dentre os ids informados, os que ainda estão com o status informado, lidos com SELECT ... FOR UPDATE:
+     * até o fim da transação nenhuma outra requisição altera o status desses itens (usado nas operações em lote).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ResearchProject p WHERE p.id IN :ids AND p.status = :status")
+    List<ResearchProject> findByIdInAndStatusForUpdate(@Param("ids") Collection<UUID> ids, @Param("status") ResearchProject.ProjectStatus status);
+
+    /**
+     * Atualiza o status de vários projetos de pesquisa em um único UPDATE.
+     * A versão também é incrementada, já que o UPDATE em lote não passa pelo controle de @Version.
+     * Só altera os que ainda estão com o status expectedStatus, então um item já decidido nunca é revertido.
+     * @return a quantidade de linhas alteradas.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ResearchProject p SET p.status = :status, p.version = p.version + 1 WHERE p.id IN :ids AND p.status = :expectedStatus")
+    int updateStatusByIds(@Param("ids") Collection<UUID> ids, @Param("expectedStatus") ResearchProject.ProjectStatus expectedStatus,
+                          @Param("status") ResearchProject.ProjectStatus status);
+
+    /**
+     * Busca textual (índice FULLTEXT ft_research_projects_search) em título, descrição, linha de pesquisa e tema,
+     * ordenada por relevância.
+     * @param query termo de busca, interpretado em NATURAL LANGUAGE MODE (operadores não têm efeito).
+     * @param limit quantidade máxima de linhas.
+     */
+    @Query(value = "SELECT BIN_TO_UUID(p.id) AS id, p.title AS title, p.status AS status, " +
+           "MATCH(p.title, p.description, p.research_line, p.subject_theme) AGAINST (:query IN NATURAL LANGUAGE MODE) AS score " +
+           "FROM research_projects p " +
+           "WHERE MATCH(p.title, p.description, p.research_line, p.subject_theme) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+           "ORDER BY score DESC, p.title ASC LIMIT :limit",
+           nativeQuery = true)
+    List<FullTextHit> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Total de linhas encontradas por searchFullText para o mesmo termo.
+     */
+    @Query(value = "SELECT COUNT(*) FROM research_projects p " +
+           "WHERE MATCH(p.title, p.description, p.research_line, p.subject_theme) AGAINST (:query IN NATURAL LANGUAGE MODE)",
+           nativeQuery = true)
+    long countFullText(@Param("query") String query);
+
+    /**
+     * Lê apenas a versão, usada para responder If-None-Match sem carregar a entidade.
+     */
+    @Query("SELECT p.version FROM ResearchProject p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+}
@@ -1,12 +1,25 @@
 package com.biopark.cepex_system.repository;
 
 import com.biopark.cepex_system.domain.student.Student;
+import com.biopark.cepex_system.domain.student.StudentSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface StudentRepository extends JpaRepository<Student, UUID> {
+
+    /**
+     * Listagem leve de estudantes: apenas as colunas da projeção StudentSummary, com o nome do curso.
+     * @return os estudantes ordenados por nome.
+     */
+    @Query("SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName, s.ra AS ra, s.email AS email, " +
+           "s.status AS status, c.name AS courseName " +
+           "FROM Student s LEFT JOIN s.course c ORDER BY s.firstName ASC, s.lastName ASC")
+    List<StudentSummary> findAllSummaries();
     
     /**
      * Busca um estudante pelo RA.
@@ -49,4 +62,10 @@ public interface StudentRepository extends JpaRepository<Student, UUID> {
      * @return true se existir, false caso contrário.
      */
     boolean existsByEmail(String email);
-} 
\ No newline at end of file
+
+    /**
+     * Lê apenas a versão, usada para responder If-None-Match sem carregar a entidade.
+     */
+    @Query("SELECT s.version FROM Student s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+}
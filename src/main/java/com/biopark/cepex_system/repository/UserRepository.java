@@ -1,10 +1,15 @@
 package com.biopark.cepex_system.repository;
 
+import com.biopark.cepex_system.domain.enrollment.EnrollmentRow;
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.domain.user.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
 import java.util.UUID;
 
 
@@ -13,9 +18,42 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     User findByEmail(String email);
 
-    // Contar usuários por role
-    long countByRole(UserRole role);
+    // Contagem agrupada por role e status, usada para reconciliar os contadores do painel (UserRoleCounters)
+    @Query("SELECT u.role AS role, u.status AS status, COUNT(u) AS total FROM users u GROUP BY u.role, u.status")
+    List<UserRoleStatusCount> countGroupedByRoleAndStatus();
 
-    // Contar usuários ativos (status = true)
-    long countByStatus(boolean status);
-}
\ No newline at end of file
+    // Listagem leve de usuários, sem o hash da senha
+    @Query("SELECT u.id AS id, u.login AS login, u.email AS email, u.role AS role, u.status AS status " +
+           "FROM users u ORDER BY u.login ASC")
+    List<UserSummary> findAllSummaries();
+
+    /**
+     * Candidaturas a monitorias e inscrições em projetos do aluno em uma única consulta (UNION ALL),
+     * cada parte pelo índice em aluno_id e com apenas o título do item juntado.
+     * @return as inscrições da mais recente para a mais antiga.
+     */
+    @Query(value = "SELECT 'MONITORIA' AS type, BIN_TO_UUID(c.id) AS id, BIN_TO_UUID(m.id) AS itemId, m.title AS itemTitle, " +
+                   "c.status AS status, c.data_candidatura AS enrolledAt " +
+                   "FROM candidatura_monitoria c JOIN monitoria m ON m.id = c.monitoria_id " +
+                   "WHERE c.aluno_id = UUID_TO_BIN(:alunoId) " +
+                   "UNION ALL " +
+                   "SELECT 'RESEARCH_PROJECT', BIN_TO_UUID(i.id), BIN_TO_UUID(p.id), p.title, i.status, i.data_inscricao " +
+                   "FROM inscricao_research_project i JOIN research_projects p ON p.id = i.research_project_id " +
+                   "WHERE i.aluno_id = UUID_TO_BIN(:alunoId) " +
+                   "UNION ALL " +
+                   "SELECT 'EXTENSION_PROJECT', BIN_TO_UUID(i.id), BIN_TO_UUID(p.id), p.title, i.status, i.data_inscricao " +
+                   "FROM inscricao_extension_project i JOIN extension_projects p ON p.id = i.extension_project_id " +
+                   "WHERE i.aluno_id = UUID_TO_BIN(:alunoId) " +
+                   "ORDER BY enrolledAt DESC, id",
+           nativeQuery = true)
+    List<EnrollmentRow> findEnrollmentsByAlunoId(@Param("alunoId") String alunoId);
+
+    /**
+     * Projeção da contagem de usuários por role e status.
+     */
+    interface UserRoleStatusCount {
+        UserRole getRole();
+        boolean getStatus();
+        long getTotal();
+    }
+}
@@ -1,6 +1,10 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.approval.ApprovalItemDTO;
+import com.biopark.cepex_system.domain.approval.ApprovalItemRefDTO;
+import com.biopark.cepex_system.domain.approval.BulkApprovalOutcome;
+import com.biopark.cepex_system.domain.approval.BulkApprovalResultDTO;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
 import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
 import com.biopark.cepex_system.domain.project.ExtensionProject;
@@ -8,15 +12,26 @@ import com.biopark.cepex_system.domain.project.ResearchProject;
 import com.biopark.cepex_system.repository.MonitoriaRepository;
 import com.biopark.cepex_system.repository.ExtensionProjectRepository;
 import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Function;
 
 @Service
 public class ApprovalService {
@@ -24,43 +39,122 @@ public class ApprovalService {
     private final MonitoriaRepository monitoriaRepository;
     private final ResearchProjectRepository researchProjectRepository;
     private final ExtensionProjectRepository extensionProjectRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final Set<String> APPROVAL_TYPES = Set.of("MONITORIA", "PESQUISA", "EXTENSAO");
 
     public ApprovalService(MonitoriaRepository monitoriaRepository,
                            ResearchProjectRepository researchProjectRepository,
-                           ExtensionProjectRepository extensionProjectRepository) {
+                           ExtensionProjectRepository extensionProjectRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.monitoriaRepository = monitoriaRepository;
         this.researchProjectRepository = researchProjectRepository;
         this.extensionProjectRepository = extensionProjectRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Retorna uma lista de todos os itens pendentes de aprovação,
      * incluindo Monitorias, Projetos de Pesquisa e Projetos de Extensão.
+     * As consultas já filtram pelo status no banco (sem varrer todo o histórico).
      * @return List<ApprovalItemDTO> lista de itens pendentes
      */
     public List<ApprovalItemDTO> getPendingApprovals() {
-        // Busca e mapeia monitorias com status "PENDENTE"
-        List<ApprovalItemDTO> pendingMonitorias = monitoriaRepository.findAll().stream()
-                .filter(m -> m.getStatusMonitoria() == StatusMonitoria.PENDENTE)
-                .map(this::mapMonitoriaToApprovalItemDTO)
-                .collect(Collectors.toList());
-
-        // Busca e mapeia projetos de pesquisa com status "ABERTO"
-        List<ApprovalItemDTO> pendingResearchProjects = researchProjectRepository.findAll().stream()
-                .filter(p -> p.getStatus() == ResearchProject.ProjectStatus.ABERTO)
-                .map(this::mapResearchProjectToApprovalItemDTO)
-                .collect(Collectors.toList());
-
-        // Busca e mapeia projetos de extensão com status "ABERTO"
-        List<ApprovalItemDTO> pendingExtensionProjects = extensionProjectRepository.findAll().stream()
-                .filter(p -> p.getStatus() == ExtensionProject.ProjectStatus.ABERTO)
-                .map(this::mapExtensionProjectToApprovalItemDTO)
-                .collect(Collectors.toList());
-
-        // Combina todas as listas de itens pendentes em uma única lista
-        return Stream.of(pendingMonitorias.stream(), pendingResearchProjects.stream(), pendingExtensionProjects.stream())
-                .flatMap(s -> s)
-                .collect(Collectors.toList());
+        return getPendingApprovals(null, null, Integer.MAX_VALUE).items();
+    }
+
+    /**
+     * Retorna uma página da fila de aprovação, ordenada por data de submissão e id,
+     * com paginação por cursor e filtro opcional por tipo.
+     * @param type "MONITORIA", "PESQUISA", "EXTENSAO" ou null para todos os tipos.
+     * @param cursor cursor devolvido pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de itens na página.
+     * @return a página com os itens e o cursor da próxima página (null se não houver mais itens).
+     * @throws IllegalArgumentException se o tipo ou o cursor forem inválidos.
+     */
+    @Transactional(readOnly = true)
+    public PendingApprovalsPage getPendingApprovals(String type, String cursor, int limit) {
+        String normalizedType = (type == null || type.isBlank()) ? null : type.trim().toUpperCase();
+        if (normalizedType != null && !APPROVAL_TYPES.contains(normalizedType)) {
+            throw new IllegalArgumentException("Tipo de item inválido: " + type);
+        }
+        QueueCursor after = QueueCursor.decode(cursor);
+        // Busca um item a mais por tipo para saber se existe próxima página
+        Pageable fetch = limit == Integer.MAX_VALUE ? Pageable.unpaged() : PageRequest.of(0, limit + 1);
+
+        List<QueueEntry> entries = new ArrayList<>();
+        if (normalizedType == null || "MONITORIA".equals(normalizedType)) {
+            List<Monitoria> monitorias = after == null
+                    ? monitoriaRepository.findByStatusMonitoriaOrderByInicialDateAscIdAsc(StatusMonitoria.PENDENTE, fetch)
+                    : monitoriaRepository.findByStatusAfterCursor(StatusMonitoria.PENDENTE, after.date(), after.id(), fetch);
+            monitorias.forEach(m -> entries.add(new QueueEntry(m.getInicialDate(), mapMonitoriaToApprovalItemDTO(m))));
+        }
+        if (normalizedType == null || "PESQUISA".equals(normalizedType)) {
+            List<ResearchProject> projects = after == null
+                    ? researchProjectRepository.findByStatusOrderByStartDateAscIdAsc(ResearchProject.ProjectStatus.ABERTO, fetch)
+                    : researchProjectRepository.findByStatusAfterCursor(ResearchProject.ProjectStatus.ABERTO, after.date(), after.id(), fetch);
+            projects.forEach(p -> entries.add(new QueueEntry(p.getStartDate(), mapResearchProjectToApprovalItemDTO(p))));
+        }
+        if (normalizedType == null || "EXTENSAO".equals(normalizedType)) {
+            List<ExtensionProject> projects = after == null
+                    ? extensionProjectRepository.findByStatusOrderByStartDateAscIdAsc(ExtensionProject.ProjectStatus.ABERTO, fetch)
+                    : extensionProjectRepository.findByStatusAfterCursor(ExtensionProject.ProjectStatus.ABERTO, after.date(), after.id(), fetch);
+            projects.forEach(p -> entries.add(new QueueEntry(p.getStartDate(), mapExtensionProjectToApprovalItemDTO(p))));
+        }
+
+        // Intercala as três listas (já ordenadas pelo banco) na mesma ordem usada pelo cursor
+        entries.sort(QueueEntry.ORDER);
+        boolean hasMore = entries.size() > limit;
+        List<QueueEntry> pageEntries = hasMore ? entries.subList(0, limit) : entries;
+        String nextCursor = null;
+        if (hasMore && !pageEntries.isEmpty()) {
+            QueueEntry last = pageEntries.get(pageEntries.size() - 1);
+            nextCursor = new QueueCursor(last.date(), last.item().id()).encode();
+        }
+        return new PendingApprovalsPage(pageEntries.stream().map(QueueEntry::item).toList(), nextCursor);
+    }
+
+    public record PendingApprovalsPage(List<ApprovalItemDTO> items, String nextCursor) {}
+
+    /**
+     * Item da fila associado à data usada na ordenação (a data original, que pode ser nula).
+     */
+    private record QueueEntry(LocalDate date, ApprovalItemDTO item) {
+        // Datas nulas primeiro e ids comparados byte a byte, igual à ordenação do BINARY(16) no MySQL
+        private static final Comparator<QueueEntry> ORDER = Comparator
+                .comparing(QueueEntry::date, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()))
+                .thenComparing(e -> e.item().id(), QueueEntry::compareUuidBytes);
+
+        private static int compareUuidBytes(UUID a, UUID b) {
+            int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+            return cmp != 0 ? cmp : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+        }
+    }
+
+    /**
+     * Cursor opaco da fila de aprovação: par (data, id) do último item entregue, em Base64 URL-safe.
+     */
+    private record QueueCursor(LocalDate date, UUID id) {
+
+        private String encode() {
+            String raw = (date != null ? date.toString() : "") + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static QueueCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                String datePart = raw.substring(0, separator);
+                LocalDate date = datePart.isEmpty() ? null : LocalDate.parse(datePart);
+                return new QueueCursor(date, UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+            }
+        }
     }
 
     /**
@@ -136,16 +230,19 @@ public class ApprovalService {
                     .orElseThrow(() -> new RuntimeException("Monitoria não encontrada para aprovação."));
             monitoria.setStatusMonitoria(StatusMonitoria.APROVADA);
             monitoriaRepository.save(monitoria);
+            publishApproval("MONITORIA", id, StatusMonitoria.APROVADA.name());
         } else if ("PESQUISA".equalsIgnoreCase(type)) {
             ResearchProject project = researchProjectRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Projeto de Pesquisa não encontrado para aprovação."));
             project.setStatus(ResearchProject.ProjectStatus.ANALISE);
             researchProjectRepository.save(project);
+            publishApproval("PESQUISA", id, ResearchProject.ProjectStatus.ANALISE.name());
         } else if ("EXTENSAO".equalsIgnoreCase(type)) {
             ExtensionProject project = extensionProjectRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Projeto de Extensão não encontrado para aprovação."));
             project.setStatus(ExtensionProject.ProjectStatus.ANALISE);
             extensionProjectRepository.save(project);
+            publishApproval("EXTENSAO", id, ExtensionProject.ProjectStatus.ANALISE.name());
         } else {
             throw new IllegalArgumentException("Tipo de item inválido para aprovação: " + type);
         }
@@ -161,18 +258,133 @@ public class ApprovalService {
                     .orElseThrow(() -> new RuntimeException("Monitoria não encontrada para rejeição."));
             monitoria.setStatusMonitoria(StatusMonitoria.REJEITADA);
             monitoriaRepository.save(monitoria);
+            publishApproval("MONITORIA", id, StatusMonitoria.REJEITADA.name());
         } else if ("PESQUISA".equalsIgnoreCase(type)) {
             ResearchProject project = researchProjectRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Projeto de Pesquisa não encontrado para rejeição."));
             project.setStatus(ResearchProject.ProjectStatus.CANCELADO);
             researchProjectRepository.save(project);
+            publishApproval("PESQUISA", id, ResearchProject.ProjectStatus.CANCELADO.name());
         } else if ("EXTENSAO".equalsIgnoreCase(type)) {
             ExtensionProject project = extensionProjectRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Projeto de Extensão não encontrado para rejeição."));
             project.setStatus(ExtensionProject.ProjectStatus.CANCELADO);
             extensionProjectRepository.save(project);
+            publishApproval("EXTENSAO", id, ExtensionProject.ProjectStatus.CANCELADO.name());
         } else {
             throw new IllegalArgumentException("Tipo de item inválido para rejeição: " + type);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Aprova vários itens de uma vez.
+     * Aplica as transições com um UPDATE ... WHERE id IN (...) por tipo de entidade, na mesma transação.
+     * Só itens ainda pendentes são alterados; os já decididos voltam como NAO_PENDENTE.
+     * @param items pares (id, tipo) a aprovar.
+     * @return o resultado de cada item, na mesma ordem da requisição.
+     */
+    @Transactional
+    public List<BulkApprovalResultDTO> approveItems(List<ApprovalItemRefDTO> items) {
+        return applyBulk(items, StatusMonitoria.APROVADA,
+                ResearchProject.ProjectStatus.ANALISE, ExtensionProject.ProjectStatus.ANALISE);
+    }
+
+    /**
+     * Rejeita vários itens de uma vez, com as mesmas regras de approveItems.
+     */
+    @Transactional
+    public List<BulkApprovalResultDTO> rejectItems(List<ApprovalItemRefDTO> items) {
+        return applyBulk(items, StatusMonitoria.REJEITADA,
+                ResearchProject.ProjectStatus.CANCELADO, ExtensionProject.ProjectStatus.CANCELADO);
+    }
+
+    private List<BulkApprovalResultDTO> applyBulk(List<ApprovalItemRefDTO> items,
+                                                  StatusMonitoria monitoriaStatus,
+                                                  ResearchProject.ProjectStatus researchStatus,
+                                                  ExtensionProject.ProjectStatus extensionStatus) {
+        // Agrupa os ids por tipo
+        Map<String, Set<UUID>> idsByType = new HashMap<>();
+        for (ApprovalItemRefDTO item : items) {
+            String type = normalizeType(item.type());
+            if (type != null && item.id() != null) {
+                idsByType.computeIfAbsent(type, t -> new HashSet<>()).add(item.id());
+            }
+        }
+
+        // Por tipo: um SELECT ... FOR UPDATE dos itens ainda pendentes e um UPDATE condicional.
+        // Itens já decididos (seleção desatualizada na tela de revisão) ficam como estão.
+        Map<String, Set<UUID>> appliedByType = new HashMap<>();
+        Map<String, Set<UUID>> notPendingByType = new HashMap<>();
+        Set<UUID> monitoriaIds = idsByType.get("MONITORIA");
+        if (monitoriaIds != null) {
+            List<UUID> pending = monitoriaRepository.findByIdInAndStatusForUpdate(monitoriaIds, StatusMonitoria.PENDENTE)
+                    .stream().map(Monitoria::getId).toList();
+            if (!pending.isEmpty()) {
+                monitoriaRepository.updateStatusByIds(pending, StatusMonitoria.PENDENTE, monitoriaStatus);
+            }
+            appliedByType.put("MONITORIA", new HashSet<>(pending));
+            notPendingByType.put("MONITORIA", findNotPending(monitoriaIds, pending, monitoriaRepository::findExistingIds));
+            pending.forEach(id -> publishApproval("MONITORIA", id, monitoriaStatus.name()));
+        }
+        Set<UUID> researchIds = idsByType.get("PESQUISA");
+        if (researchIds != null) {
+            List<UUID> pending = researchProjectRepository.findByIdInAndStatusForUpdate(researchIds, ResearchProject.ProjectStatus.ABERTO)
+                    .stream().map(ResearchProject::getId).toList();
+            if (!pending.isEmpty()) {
+                researchProjectRepository.updateStatusByIds(pending, ResearchProject.ProjectStatus.ABERTO, researchStatus);
+            }
+            appliedByType.put("PESQUISA", new HashSet<>(pending));
+            notPendingByType.put("PESQUISA", findNotPending(researchIds, pending, researchProjectRepository::findExistingIds));
+            pending.forEach(id -> publishApproval("PESQUISA", id, researchStatus.name()));
+        }
+        Set<UUID> extensionIds = idsByType.get("EXTENSAO");
+        if (extensionIds != null) {
+            List<UUID> pending = extensionProjectRepository.findByIdInAndStatusForUpdate(extensionIds, ExtensionProject.ProjectStatus.ABERTO)
+                    .stream().map(ExtensionProject::getId).toList();
+            if (!pending.isEmpty()) {
+                extensionProjectRepository.updateStatusByIds(pending, ExtensionProject.ProjectStatus.ABERTO, extensionStatus);
+            }
+            appliedByType.put("EXTENSAO", new HashSet<>(pending));
+            notPendingByType.put("EXTENSAO", findNotPending(extensionIds, pending, extensionProjectRepository::findExistingIds));
+            pending.forEach(id -> publishApproval("EXTENSAO", id, extensionStatus.name()));
+        }
+
+        List<BulkApprovalResultDTO> results = new ArrayList<>(items.size());
+        for (ApprovalItemRefDTO item : items) {
+            String type = normalizeType(item.type());
+            BulkApprovalOutcome outcome;
+            if (type == null) {
+                outcome = BulkApprovalOutcome.TIPO_INVALIDO;
+            } else if (item.id() != null && appliedByType.getOrDefault(type, Set.of()).contains(item.id())) {
+                outcome = BulkApprovalOutcome.APLICADO;
+            } else if (item.id() != null && notPendingByType.getOrDefault(type, Set.of()).contains(item.id())) {
+                outcome = BulkApprovalOutcome.NAO_PENDENTE;
+            } else {
+                outcome = BulkApprovalOutcome.NAO_ENCONTRADO;
+            }
+            results.add(new BulkApprovalResultDTO(item.id(), item.type(), outcome));
+        }
+        return results;
+    }
+
+    // Ids pedidos que existem mas não estavam pendentes; só consulta o banco se sobrar algum id além dos pendentes
+    private static Set<UUID> findNotPending(Set<UUID> requested, List<UUID> pending,
+                                            Function<Collection<UUID>, List<UUID>> findExistingIds) {
+        Set<UUID> others = new HashSet<>(requested);
+        pending.forEach(others::remove);
+        return others.isEmpty() ? Set.of() : new HashSet<>(findExistingIds.apply(others));
+    }
+
+    // Enviado aos inscritos no canal de eventos somente após o commit (ChangeStreamHub)
+    private void publishApproval(String type, UUID id, String status) {
+        eventPublisher.publishEvent(ChangeEvent.approval(type, id, status));
+    }
+
+    private String normalizeType(String type) {
+        if (type == null) {
+            return null;
+        }
+        String normalized = type.trim().toUpperCase();
+        return APPROVAL_TYPES.contains(normalized) ? normalized : null;
+    }
+}
@@ -1,14 +1,16 @@
 package com.biopark.cepex_system.service;
 
+import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service; // Adicionar anotação @Service
 
 @Service // Adicionar esta anotação para que o Spring possa injetá-lo
-public class AuthorizationService implements UserDetailsService {
+public class AuthorizationService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     UserRepository repository;
@@ -22,4 +24,18 @@ public class AuthorizationService implements UserDetailsService {
         }
         return user;
     }
-}
\ No newline at end of file
+
+    /**
+     * Chamado pelo Spring Security após um login bem-sucedido quando o hash armazenado
+     * usa um custo de BCrypt desatualizado: grava o novo hash, gerado com o custo atual.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User stored = (User) repository.findByLogin(user.getUsername());
+        if (stored == null) {
+            return user;
+        }
+        stored.setPassword(newPassword);
+        return repository.save(stored);
+    }
+}
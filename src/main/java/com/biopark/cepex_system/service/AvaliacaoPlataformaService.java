@@ -1,34 +1,62 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.feedback.AvaliacaoPlataforma;
+import com.biopark.cepex_system.domain.feedback.AvaliacaoPlataformaResumo;
+import com.biopark.cepex_system.domain.feedback.RatingTrendGranularity;
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.repository.AvaliacaoPlataformaRepository;
+import com.biopark.cepex_system.repository.AvaliacaoPlataformaResumoRepository;
 import com.biopark.cepex_system.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class AvaliacaoPlataformaService {
 
+    static final int MIN_RATING = 1;
+    static final int MAX_RATING = 5;
+    // Maior intervalo aceito pela tendência
+    private static final long MAX_TREND_DAYS = 731;
+
     private final AvaliacaoPlataformaRepository repository;
+    private final AvaliacaoPlataformaResumoRepository resumoRepository;
     private final UserRepository userRepository; // Para buscar o usuário que avaliou
 
-    public AvaliacaoPlataformaService(AvaliacaoPlataformaRepository repository, UserRepository userRepository) {
+    public AvaliacaoPlataformaService(AvaliacaoPlataformaRepository repository,
+                                      AvaliacaoPlataformaResumoRepository resumoRepository,
+                                      UserRepository userRepository) {
         this.repository = repository;
+        this.resumoRepository = resumoRepository;
         this.userRepository = userRepository;
     }
 
+    /**
+     * Grava a avaliação e soma 1 ao total da sua quantidade de estrelas na mesma transação,
+     * mantendo o resumo (contagem, média e histograma) sempre consistente com as avaliações.
+     * @throws IllegalArgumentException se a nota estiver fora de 1 a 5.
+     */
     @Transactional
     public AvaliacaoPlataforma save(Integer rating, UUID userId) {
+        if (rating == null || rating < MIN_RATING || rating > MAX_RATING) {
+            throw new IllegalArgumentException("A avaliação deve estar entre " + MIN_RATING + " e " + MAX_RATING + ".");
+        }
         User user = (User) userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado para a avaliação."));
 
-        AvaliacaoPlataforma avaliacao = new AvaliacaoPlataforma(rating, user);
-        return repository.save(avaliacao);
+        AvaliacaoPlataforma avaliacao = repository.save(new AvaliacaoPlataforma(rating, user));
+        if (resumoRepository.increment(rating) == 0) {
+            // Linha da estrela ausente (a migração V7 cria as cinco)
+            resumoRepository.save(new AvaliacaoPlataformaResumo(rating, 1));
+        }
+        return avaliacao;
     }
 
     public List<AvaliacaoPlataforma> findAll() {
@@ -39,11 +67,53 @@ public class AvaliacaoPlataformaService {
         return repository.findById(id);
     }
 
-    // calcular a média das avaliações ou outras estatísticas
+    // Média das avaliações, calculada a partir do resumo por estrela
     public Double getAverageRating() {
-        return repository.findAll().stream()
-                .mapToInt(AvaliacaoPlataforma::getRating)
-                .average()
-                .orElse(0.0);
+        return getRatingSummary().average();
+    }
+
+    /**
+     * Contagem, média e histograma das avaliações, lidos das cinco linhas do resumo por estrela.
+     */
+    @Transactional(readOnly = true)
+    public RatingSummaryDTO getRatingSummary() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            histogram.put(rating, 0L);
+        }
+        long count = 0;
+        long sum = 0;
+        for (AvaliacaoPlataformaResumo resumo : resumoRepository.findAll()) {
+            histogram.put(resumo.getRating(), resumo.getTotal());
+            count += resumo.getTotal();
+            sum += resumo.getRating() * resumo.getTotal();
+        }
+        return new RatingSummaryDTO(count, count == 0 ? 0.0 : (double) sum / count, histogram);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tendência das avaliações: quantidade e média por período, agrupadas no banco.
+     * Períodos sem avaliações não aparecem na lista.
+     * @param from primeiro dia do intervalo (inclusive).
+     * @param to último dia do intervalo (inclusive).
+     * @throws IllegalArgumentException se o intervalo for invertido ou maior que dois anos.
+     */
+    @Transactional(readOnly = true)
+    public List<RatingTrendPointDTO> getRatingTrend(RatingTrendGranularity granularity, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_TREND_DAYS) {
+            throw new IllegalArgumentException("O intervalo da tendência deve ter no máximo " + MAX_TREND_DAYS + " dias.");
+        }
+        return repository.countByPeriod(granularity.name(), from.atStartOfDay(), to.plusDays(1).atStartOfDay())
+                .stream()
+                .map(bucket -> new RatingTrendPointDTO(LocalDate.parse(bucket.getPeriod()), bucket.getTotal(),
+                        bucket.getTotal() == 0 ? 0.0 : bucket.getRatingSum().doubleValue() / bucket.getTotal()))
+                .toList();
+    }
+
+    public record RatingSummaryDTO(long count, double average, Map<Integer, Long> histogram) {}
+
+    public record RatingTrendPointDTO(LocalDate period, long count, double average) {}
+}
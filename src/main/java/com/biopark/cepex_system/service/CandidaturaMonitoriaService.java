@@ -1,111 +1,186 @@
 package com.biopark.cepex_system.service;
 
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
 import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
 import com.biopark.cepex_system.domain.monitoria.StatusCandidatura;
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.UuidV7;
 import com.biopark.cepex_system.repository.CandidaturaMonitoriaRepository;
 import com.biopark.cepex_system.repository.MonitoriaRepository;
 import com.biopark.cepex_system.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class CandidaturaMonitoriaService {
 
+    // Status em que a candidatura ainda aguarda uma vaga para ser aprovada
+    private static final List<StatusCandidatura> AGUARDANDO_VAGA = List.of(StatusCandidatura.PENDENTE, StatusCandidatura.LISTA_ESPERA);
+
     private final CandidaturaMonitoriaRepository candidaturaRepository;
     private final MonitoriaRepository monitoriaRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CandidaturaMonitoriaService(CandidaturaMonitoriaRepository candidaturaRepository,
                                        MonitoriaRepository monitoriaRepository,
-                                       UserRepository userRepository) {
+                                       UserRepository userRepository,
+                                       ApplicationEventPublisher eventPublisher) {
         this.candidaturaRepository = candidaturaRepository;
         this.monitoriaRepository = monitoriaRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public CandidaturaMonitoria candidatar(UUID monitoriaId, UUID alunoId) {
-        Monitoria monitoria = monitoriaRepository.findById(monitoriaId)
-                .orElseThrow(() -> new RuntimeException("Monitoria não encontrada."));
-
-        User aluno = (User) userRepository.findById(alunoId) // Cast para User
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado."));
+        return candidatar(monitoriaId, alunoId, null);
+    }
 
-        // Verificar se o aluno já se candidatou para esta monitoria
-        Optional<CandidaturaMonitoria> existingCandidatura = candidaturaRepository.findByMonitoriaAndAluno(monitoria, aluno);
-        if (existingCandidatura.isPresent()) {
-            CandidaturaMonitoria candidatura = existingCandidatura.get();
-            if (candidatura.getStatus() == StatusCandidatura.APROVADA) {
-                throw new RuntimeException("Você já foi aprovado para esta monitoria e não pode se candidatar novamente.");
-            } else if (candidatura.getStatus() == StatusCandidatura.PENDENTE) {
-                throw new RuntimeException("Você já possui uma candidatura pendente para esta monitoria.");
-            } else if (candidatura.getStatus() == StatusCandidatura.CANCELADA) {
-                // Permite recandidatar se a anterior foi cancelada
-                candidatura.setStatus(StatusCandidatura.PENDENTE);
-                candidatura.setDataCandidatura(java.time.LocalDateTime.now());
-                return candidaturaRepository.save(candidatura);
-            } else if (candidatura.getStatus() == StatusCandidatura.REJEITADA) {
-                // Permite recandidatar se a anterior foi rejeitada
-                candidatura.setStatus(StatusCandidatura.PENDENTE);
-                candidatura.setDataCandidatura(java.time.LocalDateTime.now());
-                return candidaturaRepository.save(candidatura);
+    /**
+     * Candidata o aluno à monitoria com um único INSERT ... ON DUPLICATE KEY UPDATE, sem a leitura prévia
+     * que permitia candidaturas duplicadas sob cliques simultâneos. A candidatura é criada, ou reaberta se
+     * estava CANCELADA ou REJEITADA.
+     * @param idempotencyKey chave do cabeçalho Idempotency-Key, ou null. Repetir a mesma chave devolve a
+     *                       candidatura já registrada em vez de um erro.
+     * @throws IllegalArgumentException se a chave de idempotência for inválida.
+     * @throws RuntimeException se a monitoria ou o aluno não existirem, ou se já houver candidatura PENDENTE ou APROVADA.
+     */
+    @Transactional
+    public CandidaturaMonitoria candidatar(UUID monitoriaId, UUID alunoId, String idempotencyKey) {
+        String key = IdempotencyKeys.normalize(idempotencyKey);
+        if (!monitoriaRepository.existsById(monitoriaId) || !userRepository.existsById(alunoId)) {
+            throw new RuntimeException("Monitoria ou aluno não encontrado.");
+        }
+        // Precisão de DATETIME(6): a data lida de volta identifica a linha escrita por esta requisição
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        candidaturaRepository.upsertPendente(UuidV7.next().toString(), monitoriaId.toString(), alunoId.toString(), now, key);
+
+        CandidaturaMonitoria candidatura = candidaturaRepository.findByMonitoriaIdAndAlunoId(monitoriaId, alunoId)
+                .orElseThrow(() -> new RuntimeException("Candidatura não encontrada."));
+        if (key.equals(candidatura.getIdempotencyKey())) {
+            // Uma nova tentativa com a mesma chave não altera a linha e não publica de novo o status
+            // (que já pode ser APROVADA ou REJEITADA), para não repetir o evento nem o e-mail
+            if (now.equals(candidatura.getDataCandidatura())) {
+                publishStatus(candidatura);
             }
+            return candidatura; // Criada ou reaberta por esta requisição (ou por uma tentativa anterior com a mesma chave)
         }
-
-        // Criar nova candidatura
-        CandidaturaMonitoria novaCandidatura = new CandidaturaMonitoria(monitoria, aluno);
-        return candidaturaRepository.save(novaCandidatura);
+        if (candidatura.getStatus() == StatusCandidatura.APROVADA) {
+            throw new RuntimeException("Você já foi aprovado para esta monitoria e não pode se candidatar novamente.");
+        }
+        if (candidatura.getStatus() == StatusCandidatura.LISTA_ESPERA) {
+            throw new RuntimeException("Você já está na lista de espera desta monitoria.");
+        }
+        throw new RuntimeException("Você já possui uma candidatura pendente para esta monitoria.");
     }
 
+    /**
+     * Aprova uma candidatura ocupando uma vaga da monitoria com um UPDATE condicional (filled < vacancies),
+     * atômico no banco e válido entre várias instâncias da aplicação, sem lock explícito nem leitura prévia das vagas.
+     * Sem vaga disponível, a candidatura vai para a LISTA_ESPERA, ordenada pela data de candidatura.
+     * @return a candidatura com o status resultante (APROVADA ou LISTA_ESPERA).
+     * @throws EntityNotFoundException se a candidatura não existir nesta monitoria.
+     * @throws IllegalStateException se a candidatura não estiver PENDENTE ou LISTA_ESPERA.
+     */
     @Transactional
-    public void cancelarCandidatura(UUID monitoriaId, UUID alunoId) {
-        System.out.println("Tentando cancelar candidatura - Monitoria ID: " + monitoriaId + ", Aluno ID: " + alunoId);
-        
-        try {
-            Monitoria monitoria = monitoriaRepository.findById(monitoriaId)
-                    .orElseThrow(() -> new RuntimeException("Monitoria não encontrada."));
-
-            User aluno = (User) userRepository.findById(alunoId)
-                    .orElseThrow(() -> new RuntimeException("Aluno não encontrado."));
-
-            System.out.println("Monitoria encontrada: " + monitoria.getTitle());
-            System.out.println("Aluno encontrado: " + aluno.getLogin());
-
-            Optional<CandidaturaMonitoria> candidaturaOpt = candidaturaRepository.findByMonitoriaAndAluno(monitoria, aluno);
-            
-            if (candidaturaOpt.isEmpty()) {
-                System.out.println("Candidatura não encontrada!");
-                throw new RuntimeException("Candidatura não encontrada.");
+    public CandidaturaMonitoria aprovarCandidatura(UUID monitoriaId, UUID candidaturaId) {
+        CandidaturaMonitoria candidatura = findCandidatura(monitoriaId, candidaturaId);
+        if (!AGUARDANDO_VAGA.contains(candidatura.getStatus())) {
+            throw new IllegalStateException("Apenas candidaturas pendentes ou na lista de espera podem ser aprovadas.");
+        }
+
+        if (monitoriaRepository.reserveSeat(monitoriaId.toString()) == 1) {
+            // Se outra requisição mudou a candidatura nesse meio tempo, o rollback devolve a vaga
+            if (candidaturaRepository.updateStatusIfIn(candidaturaId, AGUARDANDO_VAGA, StatusCandidatura.APROVADA) == 0) {
+                throw new IllegalStateException("A candidatura foi alterada por outra requisição.");
             }
+        } else {
+            candidaturaRepository.updateStatusIfIn(candidaturaId, List.of(StatusCandidatura.PENDENTE), StatusCandidatura.LISTA_ESPERA);
+        }
+        CandidaturaMonitoria resultado = candidaturaRepository.findById(candidaturaId)
+                .orElseThrow(() -> new EntityNotFoundException("Candidatura não encontrada."));
+        publishStatus(resultado);
+        return resultado;
+    }
 
-            CandidaturaMonitoria candidatura = candidaturaOpt.get();
-            System.out.println("Candidatura encontrada - Status atual: " + candidatura.getStatus());
+    /**
+     * Rejeita uma candidatura. Se ela estava APROVADA, a vaga ocupada é liberada e oferecida à lista de espera.
+     * @throws EntityNotFoundException se a candidatura não existir nesta monitoria.
+     * @throws IllegalStateException se a candidatura já estiver REJEITADA ou CANCELADA.
+     */
+    @Transactional
+    public CandidaturaMonitoria rejeitarCandidatura(UUID monitoriaId, UUID candidaturaId) {
+        CandidaturaMonitoria candidatura = findCandidatura(monitoriaId, candidaturaId);
+        StatusCandidatura statusAnterior = candidatura.getStatus();
+        if (statusAnterior == StatusCandidatura.REJEITADA || statusAnterior == StatusCandidatura.CANCELADA) {
+            throw new IllegalStateException("A candidatura já está " + statusAnterior.name().toLowerCase() + ".");
+        }
 
-            if (candidatura.getStatus() == StatusCandidatura.APROVADA) {
-                System.out.println("Tentativa de cancelar candidatura aprovada!");
-                throw new RuntimeException("Não é possível cancelar uma candidatura que já foi aprovada.");
-            }
+        if (candidaturaRepository.updateStatusIfIn(candidaturaId, List.of(statusAnterior), StatusCandidatura.REJEITADA) == 0) {
+            throw new IllegalStateException("A candidatura foi alterada por outra requisição.");
+        }
+        eventPublisher.publishEvent(ChangeEvent.enrollment(EnrollmentType.MONITORIA, monitoriaId,
+                candidatura.getAluno().getId(), StatusCandidatura.REJEITADA.name()));
+        if (statusAnterior == StatusCandidatura.APROVADA) {
+            monitoriaRepository.releaseSeat(monitoriaId.toString());
+            eventPublisher.publishEvent(new VagaLiberadaEvent(monitoriaId)); // Próximo da lista de espera ocupa a vaga
+        }
+        return candidaturaRepository.findById(candidaturaId)
+                .orElseThrow(() -> new EntityNotFoundException("Candidatura não encontrada."));
+    }
 
-            if (candidatura.getStatus() == StatusCandidatura.CANCELADA) {
-                System.out.println("Candidatura já está cancelada!");
-                throw new RuntimeException("Candidatura já está cancelada.");
-            }
+    // Lista de espera da monitoria, na ordem em que as vagas liberadas devem ser oferecidas
+    @Transactional(readOnly = true)
+    public List<CandidaturaMonitoria> findListaEspera(UUID monitoriaId) {
+        return candidaturaRepository.findByMonitoriaIdAndStatusOrderByDataCandidaturaAscIdAsc(monitoriaId, StatusCandidatura.LISTA_ESPERA);
+    }
+
+    // Enviado aos inscritos no canal de eventos somente após o commit (ChangeStreamHub)
+    private void publishStatus(CandidaturaMonitoria candidatura) {
+        eventPublisher.publishEvent(ChangeEvent.enrollment(EnrollmentType.MONITORIA, candidatura.getMonitoria().getId(),
+                candidatura.getAluno().getId(), candidatura.getStatus().name()));
+    }
+
+    private CandidaturaMonitoria findCandidatura(UUID monitoriaId, UUID candidaturaId) {
+        return candidaturaRepository.findById(candidaturaId)
+                .filter(c -> c.getMonitoria().getId().equals(monitoriaId))
+                .orElseThrow(() -> new EntityNotFoundException("Candidatura não encontrada para esta monitoria."));
+    }
+
+    @Transactional
+    public void cancelarCandidatura(UUID monitoriaId, UUID alunoId) {
+        Monitoria monitoria = monitoriaRepository.findById(monitoriaId)
+                .orElseThrow(() -> new RuntimeException("Monitoria não encontrada."));
+        User aluno = (User) userRepository.findById(alunoId)
+                .orElseThrow(() -> new RuntimeException("Aluno não encontrado."));
 
-            candidatura.setStatus(StatusCandidatura.CANCELADA);
-            candidaturaRepository.save(candidatura);
-            System.out.println("Candidatura cancelada com sucesso!");
-            
-        } catch (Exception e) {
-            System.err.println("Erro ao cancelar candidatura: " + e.getMessage());
-            e.printStackTrace();
-            throw e;
+        CandidaturaMonitoria candidatura = candidaturaRepository.findByMonitoriaAndAluno(monitoria, aluno)
+                .orElseThrow(() -> new RuntimeException("Candidatura não encontrada."));
+        if (candidatura.getStatus() == StatusCandidatura.APROVADA) {
+            throw new RuntimeException("Não é possível cancelar uma candidatura que já foi aprovada.");
         }
+        if (candidatura.getStatus() == StatusCandidatura.CANCELADA) {
+            throw new RuntimeException("Candidatura já está cancelada.");
+        }
+
+        candidatura.setStatus(StatusCandidatura.CANCELADA);
+        candidaturaRepository.save(candidatura);
+        publishStatus(candidatura);
+        // A lista de espera é promovida nesta mesma transação se houver vaga sobrando
+        eventPublisher.publishEvent(new VagaLiberadaEvent(monitoriaId));
     }
 
     // Metodo para verificar se um aluno já se candidatou ou foi aprovado para uma monitoria
@@ -113,7 +188,25 @@ public class CandidaturaMonitoriaService {
         return candidaturaRepository.findByMonitoriaAndAluno(
                 monitoriaRepository.getReferenceById(monitoriaId),
                 userRepository.getReferenceById(alunoId)
-        ).filter(c -> c.getStatus() == StatusCandidatura.PENDENTE || c.getStatus() == StatusCandidatura.APROVADA).isPresent();
+        ).filter(c -> c.getStatus() == StatusCandidatura.PENDENTE || c.getStatus() == StatusCandidatura.APROVADA
+                || c.getStatus() == StatusCandidatura.LISTA_ESPERA).isPresent();
+    }
+
+    /**
+     * Status da candidatura do aluno em cada uma das monitorias informadas, com uma única consulta.
+     * Substitui uma chamada de checkCandidaturaStatus por card do catálogo.
+     * @return mapa id da monitoria -> status; monitorias sem candidatura do aluno ficam fora do mapa.
+     * @throws IllegalArgumentException se forem pedidas mais de StatusLookups.MAX_IDS monitorias.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, StatusCandidatura> findCandidaturaStatuses(Collection<UUID> monitoriaIds, UUID alunoId) {
+        StatusLookups.checkSize(monitoriaIds);
+        if (monitoriaIds.isEmpty()) {
+            return Map.of();
+        }
+        return candidaturaRepository.findStatusByAlunoIdAndMonitoriaIdIn(alunoId, monitoriaIds).stream()
+                .collect(Collectors.toMap(CandidaturaMonitoriaRepository.CandidaturaItemStatus::getItemId,
+                        CandidaturaMonitoriaRepository.CandidaturaItemStatus::getStatus));
     }
 
     // Métodos para listar candidaturas
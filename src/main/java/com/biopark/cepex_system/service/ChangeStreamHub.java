@@ -0,0 +1,194 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.event.ChangeEvent;
+import com.biopark.cepex_system.domain.event.ChangeTopic;
+import com.biopark.cepex_system.domain.user.UserRole;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal de eventos (Server-Sent Events) que substitui o polling da fila de aprovação e dos status de inscrição.
+ * Os serviços publicam ChangeEvent com o ApplicationEventPublisher; o evento só é distribuído depois do commit,
+ * para que o cliente que recarregar o item já enxergue a alteração.
+ * Cada conexão tem um buffer limitado, esvaziado por um pool pequeno de threads de envio: a thread que publica
+ * nunca escreve no socket. Um cliente lento que enche o buffer é desconectado e, ao reconectar, relê o estado atual.
+ */
+@Component
+public class ChangeStreamHub {
+
+    // Papéis que acompanham a fila de aprovação e as inscrições de todos os alunos
+    private static final Set<UserRole> STAFF = EnumSet.of(UserRole.ADMIN, UserRole.COORDENATION, UserRole.SECRETARY);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final long timeoutMillis;
+
+    public ChangeStreamHub(@Value("${api.events.sender-threads:2}") int senderThreads,
+                           @Value("${api.events.buffer-size:100}") int bufferSize,
+                           @Value("${api.events.max-connections:1000}") int maxConnections,
+                           @Value("${api.events.timeout-ms:1800000}") long timeoutMillis) {
+        AtomicInteger counter = new AtomicInteger();
+        // Fila sem limite, mas com no máximo uma tarefa pendente por conexão (ver schedule)
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sse-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Abre uma conexão para o usuário, limitada aos tópicos que o papel dele pode acompanhar:
+     * APPROVAL_QUEUE apenas para ADMIN, COORDENATION e SECRETARY; ENROLLMENT para esses papéis
+     * (todas as inscrições) e para o próprio aluno (apenas as suas).
+     * @param topics tópicos pedidos pelo cliente, ou vazio para todos os permitidos.
+     * @throws IllegalStateException se o limite de conexões abertas foi atingido.
+     */
+    public SseEmitter subscribe(UUID userId, UserRole role, Set<ChangeTopic> topics) {
+        if (subscribers.size() >= maxConnections) {
+            throw new IllegalStateException("Limite de conexões de eventos atingido.");
+        }
+        Set<ChangeTopic> requested = topics == null || topics.isEmpty() ? EnumSet.allOf(ChangeTopic.class) : EnumSet.copyOf(topics);
+        if (!STAFF.contains(role)) {
+            requested.remove(ChangeTopic.APPROVAL_QUEUE);
+        }
+
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(userId, STAFF.contains(role), requested, emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> disconnect(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Distribui o evento às conexões interessadas, após o commit da transação que o publicou
+     * (ou imediatamente, se publicado fora de uma transação).
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.accepts(event)) {
+                continue;
+            }
+            if (subscriber.buffer.offer(event)) {
+                schedule(subscriber);
+            } else {
+                disconnect(subscriber); // Cliente lento: reconecta e relê o estado atual
+            }
+        }
+    }
+
+    // Mantém as conexões ociosas abertas através de proxies e detecta clientes que já saíram
+    @Scheduled(fixedDelayString = "${api.events.heartbeat-ms:25000}", initialDelayString = "${api.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    public int connectionCount() {
+        return subscribers.size();
+    }
+
+    // Conexão de um novo inscrito, encerrada pelo servidor após timeoutMillis
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(this::disconnect);
+        sender.shutdownNow();
+    }
+
+    // Agenda no máximo um envio por conexão; quem já está enviando esvazia o buffer inteiro
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            }
+            ChangeEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event().name(event.topic().name()).data(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            disconnect(subscriber); // Cliente desconectado ou conexão já encerrada
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // Eventos que chegaram depois do último poll e antes de liberar a flag
+        if (!subscriber.buffer.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * Conexão aberta: filtro de tópicos e buffer de eventos ainda não enviados.
+     */
+    private static final class Subscriber {
+        private final UUID userId;
+        private final boolean staff;
+        private final Set<ChangeTopic> topics;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent> buffer;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(UUID userId, boolean staff, Set<ChangeTopic> topics, SseEmitter emitter, BlockingQueue<ChangeEvent> buffer) {
+            this.userId = userId;
+            this.staff = staff;
+            this.topics = topics;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private boolean accepts(ChangeEvent event) {
+            if (!topics.contains(event.topic())) {
+                return false;
+            }
+            return staff || event.topic() == ChangeTopic.ENROLLMENT && userId.equals(event.alunoId());
+        }
+    }
+}
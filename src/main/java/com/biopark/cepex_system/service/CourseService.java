@@ -1,8 +1,11 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.course.Course;
+import com.biopark.cepex_system.infra.config.CacheConfig;
 import com.biopark.cepex_system.repository.CourseRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,9 +17,11 @@ import java.util.UUID;
 public class CourseService {
 
     private final CourseRepository repository;
+    private final ReferenceDataVersion referenceDataVersion;
 
-    public CourseService(CourseRepository repository) {
+    public CourseService(CourseRepository repository, ReferenceDataVersion referenceDataVersion) {
         this.repository = repository;
+        this.referenceDataVersion = referenceDataVersion;
     }
 
     /**
@@ -30,6 +35,7 @@ public class CourseService {
      */
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSES, CacheConfig.ACTIVE_COURSES, CacheConfig.DISCIPLINES, CacheConfig.DISCIPLINES_BY_COURSE}, allEntries = true)
     public Course save(Course course) {
         // Validação: Verifica se já existe um curso com o mesmo nome.
         Optional<Course> existingCourse = repository.findByName(course.getName());
@@ -40,32 +46,40 @@ public class CourseService {
         }
 
         // Se passar na validação, salva no banco de dados.
-        return repository.save(course);
+        Course saved = repository.save(course);
+        referenceDataVersion.touch();
+        return saved;
     }
 
+    // Em cache: a lista de cursos muda poucas vezes por semestre
+    @Cacheable(CacheConfig.COURSES)
     public List<Course> findAll() {
-        return repository.findAll();
+        return List.copyOf(repository.findAll());
     }
 
     public Optional<Course> findById(UUID id) {
         return repository.findById(id);
     }
 
+    // As disciplinas também são invalidadas, pois trazem o curso associado
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.COURSES, CacheConfig.ACTIVE_COURSES, CacheConfig.DISCIPLINES, CacheConfig.DISCIPLINES_BY_COURSE}, allEntries = true)
     public void delete(UUID id) {
         // Validação 1: Busca o curso. Se não existir, o 'orElseThrow' lança a exceção.
         Course courseToDelete = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Curso não encontrado para o ID: " + id));
         // Se todas as validações passarem, deleta o curso.
         repository.delete(courseToDelete);
+        referenceDataVersion.touch();
     }
 
     /**
      * Busca todos os cursos que estão ativos no sistema.
      * 
-     * @return Lista de cursos ativos.
+     * @return Lista de cursos ativos (em cache até a próxima alteração de curso ou disciplina).
      */
+    @Cacheable(CacheConfig.ACTIVE_COURSES)
     public List<Course> findActiveCourses() {
-        return repository.findByActiveTrue();
+        return List.copyOf(repository.findByActiveTrue());
     }
 }
\ No newline at end of file
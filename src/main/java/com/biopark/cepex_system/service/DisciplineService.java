@@ -1,7 +1,10 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.course.Discipline;
+import com.biopark.cepex_system.infra.config.CacheConfig;
 import com.biopark.cepex_system.repository.DisciplineRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,9 +16,11 @@ import java.util.UUID;
 public class DisciplineService {
 
     private final DisciplineRepository repository;
+    private final ReferenceDataVersion referenceDataVersion;
 
-    public DisciplineService(DisciplineRepository repository) {
+    public DisciplineService(DisciplineRepository repository, ReferenceDataVersion referenceDataVersion) {
         this.repository = repository;
+        this.referenceDataVersion = referenceDataVersion;
     }
 
     /**
@@ -28,6 +33,7 @@ public class DisciplineService {
      * @throws IllegalArgumentException se o curso associado à disciplina for nulo.
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.DISCIPLINES, CacheConfig.DISCIPLINES_BY_COURSE}, allEntries = true)
     public Discipline save(Discipline discipline) {
         // Validação primária: Garante que a disciplina está associada a um curso.
         if (discipline.getCourse() == null || discipline.getCourse().getId() == null) {
@@ -43,15 +49,20 @@ public class DisciplineService {
             throw new IllegalStateException("Já existe uma disciplina com o nome '" + discipline.getName() + "' neste curso.");
         }
 
-        return repository.save(discipline);
+        Discipline saved = repository.save(discipline);
+        referenceDataVersion.touch();
+        return saved;
     }
 
+    // Em cache até a próxima alteração de curso ou disciplina
+    @Cacheable(CacheConfig.DISCIPLINES)
     public List<Discipline> findAll() {
-        return repository.findAll();
+        return List.copyOf(repository.findAll());
     }
 
+    @Cacheable(cacheNames = CacheConfig.DISCIPLINES_BY_COURSE, key = "#courseId")
     public List<Discipline> findByCourseId(UUID courseId) {
-        return repository.findByCourseId(courseId);
+        return List.copyOf(repository.findByCourseId(courseId));
     }
 
     public Optional<Discipline> findById(UUID id) {
@@ -59,9 +70,11 @@ public class DisciplineService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.DISCIPLINES, CacheConfig.DISCIPLINES_BY_COURSE}, allEntries = true)
     public void delete(UUID id) {
         if (repository.existsById(id)) {
             repository.deleteById(id);
+            referenceDataVersion.touch();
         } else {
             throw new RuntimeException("Disciplina não encontrada para o ID: " + id);
         }
@@ -0,0 +1,33 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.enrollment.EnrollmentRow;
+import com.biopark.cepex_system.domain.enrollment.EnrollmentSummary;
+import com.biopark.cepex_system.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Visão unificada das inscrições do aluno (monitorias, projetos de pesquisa e de extensão).
+ */
+@Service
+public class EnrollmentService {
+
+    private final UserRepository userRepository;
+
+    public EnrollmentService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Lista todas as inscrições do aluno com uma única consulta, a partir do id do principal autenticado:
+     * o usuário não é recarregado e as monitorias/projetos não são materializados como entidades.
+     */
+    @Transactional(readOnly = true)
+    public List<EnrollmentSummary> findByAluno(UUID alunoId) {
+        List<EnrollmentRow> rows = userRepository.findEnrollmentsByAlunoId(alunoId.toString());
+        return rows.stream().map(EnrollmentSummary::of).toList();
+    }
+}
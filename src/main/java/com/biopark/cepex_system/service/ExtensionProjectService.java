@@ -1,15 +1,22 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.project.ExtensionProject;
+import com.biopark.cepex_system.domain.project.ExtensionProjectSummary;
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.repository.ExtensionProjectRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Serviço para a lógica de negócios de Projetos de Extensão.
@@ -19,9 +26,11 @@ import java.util.stream.Collectors;
 public class ExtensionProjectService {
 
     private final ExtensionProjectRepository repository;
+    private final UserService userService;
 
-    public ExtensionProjectService(ExtensionProjectRepository repository) {
+    public ExtensionProjectService(ExtensionProjectRepository repository, UserService userService) {
         this.repository = repository;
+        this.userService = userService;
     }
 
     @Transactional
@@ -30,35 +39,136 @@ public class ExtensionProjectService {
     }
 
     /**
-     * Método de busca e filtragem de projetos de extensão.
-     * **Importante**: Filtra por `title` e `coordinator.login`, e por `status` usando o enum `ExtensionProject.ProjectStatus`.
+     * Cria um projeto de extensão, carregando o coordenador e a equipe em uma única consulta.
+     * O coordenador também é definido como pesquisador líder, e o status padrão é ANALISE.
+     * @throws IllegalArgumentException se algum dos usuários referenciados não existir.
      */
-    public List<ExtensionProject> findAll(String search, String status) {
-        List<ExtensionProject> projects = repository.findAll();
-
-        if (search != null && !search.trim().isEmpty()) {
-            String lowerCaseSearch = search.trim().toLowerCase();
-            projects = projects.stream()
-                    .filter(p -> p.getTitle().toLowerCase().contains(lowerCaseSearch) ||
-                            (p.getCoordinator() != null && p.getCoordinator().getLogin().toLowerCase().contains(lowerCaseSearch)))
-                    .collect(Collectors.toList());
+    @Transactional
+    public ExtensionProject create(ExtensionProject extensionProject) {
+        Map<UUID, User> users = loadReferencedUsers(extensionProject);
+        if (extensionProject.getCoordinator() != null && extensionProject.getCoordinator().getId() != null) {
+            User coordinator = users.get(extensionProject.getCoordinator().getId());
+            extensionProject.setCoordinator(coordinator);
+            extensionProject.setLeadResearcher(coordinator);
+        }
+        if (extensionProject.getTeam() != null && !extensionProject.getTeam().isEmpty()) {
+            extensionProject.setTeam(resolveTeam(extensionProject.getTeam(), users));
+        }
+        if (extensionProject.getStatus() == null) {
+            extensionProject.setStatus(ExtensionProject.ProjectStatus.ANALISE);
+        }
+        return repository.save(extensionProject);
+    }
+
+    /**
+     * Atualiza um projeto de extensão existente com os dados recebidos.
+     * A equipe é sincronizada no próprio Set gerenciado pelo Hibernate, de forma que apenas
+     * as linhas de extension_project_team que mudaram são removidas ou inseridas.
+     * @param expectedVersion versão recebida no If-Match, ou null para atualizar sem pré-condição.
+     * @return o projeto atualizado, ou vazio se não existir projeto com o ID.
+     * @throws IllegalArgumentException se algum dos usuários referenciados não existir.
+     * @throws OptimisticLockingFailureException se a versão atual for diferente da esperada.
+     */
+    @Transactional
+    public Optional<ExtensionProject> update(UUID id, ExtensionProject projectDetails, Long expectedVersion) {
+        Optional<ExtensionProject> found = repository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        ExtensionProject existingProject = found.get();
+        if (expectedVersion != null && !expectedVersion.equals(existingProject.getVersion())) {
+            throw new OptimisticLockingFailureException("O projeto foi alterado por outra requisição (versão atual "
+                    + existingProject.getVersion() + ").");
+        }
+        Map<UUID, User> users = loadReferencedUsers(projectDetails);
+
+        existingProject.setTitle(projectDetails.getTitle());
+        existingProject.setDescription(projectDetails.getDescription());
+        existingProject.setLocation(projectDetails.getLocation());
+        existingProject.setTargetBeneficiaries(projectDetails.getTargetBeneficiaries());
+        existingProject.setStartDate(projectDetails.getStartDate());
+        existingProject.setEndDate(projectDetails.getEndDate());
+        existingProject.setStatus(projectDetails.getStatus());
+
+        if (projectDetails.getCoordinator() != null && projectDetails.getCoordinator().getId() != null) {
+            User coordinator = users.get(projectDetails.getCoordinator().getId());
+            existingProject.setCoordinator(coordinator);
+            existingProject.setLeadResearcher(coordinator);
+        }
+        if (projectDetails.getTeam() != null && !projectDetails.getTeam().isEmpty()) {
+            Set<User> desired = resolveTeam(projectDetails.getTeam(), users);
+            existingProject.getTeam().retainAll(desired);
+            existingProject.getTeam().addAll(desired);
+        }
+
+        return Optional.of(repository.save(existingProject));
+    }
+
+    // Carrega o coordenador e todos os membros da equipe referenciados com um único findAllById
+    private Map<UUID, User> loadReferencedUsers(ExtensionProject project) {
+        List<UUID> ids = new ArrayList<>();
+        if (project.getCoordinator() != null) {
+            ids.add(project.getCoordinator().getId());
+        }
+        if (project.getTeam() != null) {
+            project.getTeam().forEach(member -> ids.add(member.getId()));
         }
+        return userService.findAllRequired(ids);
+    }
 
-        if (status != null && !status.trim().isEmpty() && !status.equalsIgnoreCase("TODOS")) {
-            try {
-                ExtensionProject.ProjectStatus statusEnum = ExtensionProject.ProjectStatus.valueOf(status.toUpperCase());
-                projects = projects.stream()
-                        .filter(p -> p.getStatus() == statusEnum)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                // Importante: Lidar com status inválidos, aqui simplesmente ignoramos o filtro.
+    private static Set<User> resolveTeam(Set<User> references, Map<UUID, User> users) {
+        Set<User> team = new HashSet<>();
+        for (User reference : references) {
+            if (reference.getId() != null) {
+                team.add(users.get(reference.getId()));
             }
         }
-        return projects;
+        return team;
+    }
+
+    /**
+     * Listagem paginada leve de projetos de extensão: lê apenas as colunas de ExtensionProjectSummary, com filtros, ordenação e paginação
+     * aplicados no banco. Status "TODOS" ou inválido é ignorado.
+     * Sem cursor, usa a página e a ordenação do Pageable e calcula o total. Com cursor, lê por keyset
+     * (título e id, crescentes) a partir do último item entregue, sem COUNT e sem OFFSET.
+     * @param cursor cursor devolvido pela página anterior, ou null.
+     * @param pageable página, tamanho e ordenação desejados (no modo por cursor, apenas o tamanho é usado).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    @Transactional(readOnly = true)
+    public ProjectListPage<ExtensionProjectSummary> findSummaries(String search, String status, String cursor, Pageable pageable) {
+        String searchPattern = (search == null || search.trim().isEmpty()) ? null : "%" + search.trim().toLowerCase() + "%";
+        ExtensionProject.ProjectStatus projectStatus = parseStatus(status);
+        if (cursor == null || cursor.isBlank()) {
+            return ProjectListPage.ofPage(repository.findSummaries(searchPattern, projectStatus, pageable),
+                    ExtensionProjectSummary::getTitle, ExtensionProjectSummary::getId);
+        }
+        ProjectListPage.TitleCursor after = ProjectListPage.TitleCursor.decode(cursor);
+        int limit = pageable.getPageSize();
+        // Lê um item a mais para saber se existe próxima página
+        List<ExtensionProjectSummary> fetched = repository.findSummariesAfter(searchPattern, projectStatus,
+                after.title(), after.id(), PageRequest.of(0, limit + 1));
+        return ProjectListPage.ofKeyset(fetched, limit, ExtensionProjectSummary::getTitle, ExtensionProjectSummary::getId);
+    }
+
+    private static ExtensionProject.ProjectStatus parseStatus(String status) {
+        if (status == null || status.trim().isEmpty() || status.equalsIgnoreCase("TODOS")) {
+            return null;
+        }
+        try {
+            return ExtensionProject.ProjectStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null; // Status inválido: o filtro é ignorado
+        }
     }
 
     public Optional<ExtensionProject> findById(UUID id) {
-        return repository.findById(id);
+        return repository.findDetailedById(id);
+    }
+
+    // Versão atual do projeto, sem carregar a entidade (If-None-Match)
+    public Optional<Long> findVersion(UUID id) {
+        return repository.findVersionById(id);
     }
 
     @Transactional
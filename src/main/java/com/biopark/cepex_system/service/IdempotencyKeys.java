@@ -0,0 +1,31 @@
+package com.biopark.cepex_system.service;
+
+import java.util.UUID;
+
+/**
+ * Normaliza o cabeçalho Idempotency-Key das inscrições.
+ * A chave é gravada na linha da inscrição pelo upsert; ao reler a linha, o serviço sabe se foi esta
+ * requisição (ou uma tentativa anterior com a mesma chave) que a criou ou reabriu.
+ */
+final class IdempotencyKeys {
+
+    static final int MAX_LENGTH = 64;
+
+    private IdempotencyKeys() {
+    }
+
+    /**
+     * @return a chave recebida sem espaços, ou uma chave aleatória se o cliente não enviou nenhuma.
+     * @throws IllegalArgumentException se a chave for maior que MAX_LENGTH.
+     */
+    static String normalize(String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return UUID.randomUUID().toString();
+        }
+        String key = idempotencyKey.trim();
+        if (key.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key deve ter no máximo " + MAX_LENGTH + " caracteres.");
+        }
+        return key;
+    }
+}
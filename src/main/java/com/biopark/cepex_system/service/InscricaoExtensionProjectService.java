@@ -1,18 +1,26 @@
 package com.biopark.cepex_system.service;
 
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
 import com.biopark.cepex_system.domain.project.ExtensionProject;
 import com.biopark.cepex_system.domain.project.InscricaoExtensionProject;
 import com.biopark.cepex_system.domain.project.StatusInscricaoProjeto;
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.UuidV7;
 import com.biopark.cepex_system.repository.ExtensionProjectRepository;
 import com.biopark.cepex_system.repository.InscricaoExtensionProjectRepository;
 import com.biopark.cepex_system.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Serviço para gerenciar inscrições em Projetos de Extensão.
@@ -25,43 +33,56 @@ public class InscricaoExtensionProjectService {
     private final InscricaoExtensionProjectRepository inscricaoRepository;
     private final ExtensionProjectRepository extensionProjectRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public InscricaoExtensionProjectService(InscricaoExtensionProjectRepository inscricaoRepository,
                                             ExtensionProjectRepository extensionProjectRepository,
-                                            UserRepository userRepository) {
+                                            UserRepository userRepository,
+                                            ApplicationEventPublisher eventPublisher) {
         this.inscricaoRepository = inscricaoRepository;
         this.extensionProjectRepository = extensionProjectRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    /**
-     * Realiza a inscrição de um aluno em um projeto de extensão.
-     * **Lógica similar à de pesquisa**, com verificações de status de candidaturas existentes.
-     */
     @Transactional
     public InscricaoExtensionProject inscrever(UUID projectId, UUID alunoId) {
-        ExtensionProject project = extensionProjectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Projeto de Extensão não encontrado."));
+        return inscrever(projectId, alunoId, null);
+    }
 
-        User aluno = userRepository.findById(alunoId)
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado."));
+    /**
+     * Realiza a inscrição de um aluno em um projeto de extensão com um único INSERT ... ON DUPLICATE KEY UPDATE,
+     * apoiado na chave única (projeto, aluno), sem a leitura prévia sujeita a corrida.
+     * - Sem inscrição: cria uma nova com status PENDENTE.
+     * - CANCELADA ou REJEITADA: volta para PENDENTE com a nova data.
+     * - PENDENTE ou APROVADA: lança erro, exceto se a mesma chave de idempotência já a registrou.
+     * @param idempotencyKey chave do cabeçalho Idempotency-Key, ou null.
+     * @throws IllegalArgumentException se a chave de idempotência for inválida.
+     */
+    @Transactional
+    public InscricaoExtensionProject inscrever(UUID projectId, UUID alunoId, String idempotencyKey) {
+        String key = IdempotencyKeys.normalize(idempotencyKey);
+        if (!extensionProjectRepository.existsById(projectId) || !userRepository.existsById(alunoId)) {
+            throw new RuntimeException("Projeto de Extensão ou aluno não encontrado.");
+        }
+        // Precisão de DATETIME(6): a data lida de volta identifica a linha escrita por esta requisição
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        inscricaoRepository.upsertPendente(UuidV7.next().toString(), projectId.toString(), alunoId.toString(), now, key);
 
-        Optional<InscricaoExtensionProject> existingInscricao = inscricaoRepository.findByExtensionProjectAndAluno(project, aluno);
-        if (existingInscricao.isPresent()) {
-            InscricaoExtensionProject inscricao = existingInscricao.get();
-            if (inscricao.getStatus() == StatusInscricaoProjeto.APROVADA) {
-                throw new RuntimeException("Você já está aprovado para este projeto de extensão e não pode se inscrever novamente.");
-            } else if (inscricao.getStatus() == StatusInscricaoProjeto.PENDENTE) {
-                throw new RuntimeException("Você já possui uma inscrição pendente para este projeto de extensão.");
-            } else if (inscricao.getStatus() == StatusInscricaoProjeto.CANCELADA || inscricao.getStatus() == StatusInscricaoProjeto.REJEITADA) {
-                inscricao.setStatus(StatusInscricaoProjeto.PENDENTE);
-                inscricao.setDataInscricao(java.time.LocalDateTime.now());
-                return inscricaoRepository.save(inscricao);
+        InscricaoExtensionProject inscricao = inscricaoRepository.findByExtensionProjectIdAndAlunoId(projectId, alunoId)
+                .orElseThrow(() -> new RuntimeException("Inscrição não encontrada."));
+        if (key.equals(inscricao.getIdempotencyKey())) {
+            // Uma nova tentativa com a mesma chave não altera a linha e não publica de novo o status
+            // (que já pode ser APROVADA ou REJEITADA), para não repetir o evento nem o e-mail
+            if (now.equals(inscricao.getDataInscricao())) {
+                publishStatus(projectId, alunoId, inscricao.getStatus());
             }
+            return inscricao; // Criada ou reaberta por esta requisição (ou por uma tentativa anterior com a mesma chave)
         }
-
-        InscricaoExtensionProject novaInscricao = new InscricaoExtensionProject(project, aluno);
-        return inscricaoRepository.save(novaInscricao);
+        if (inscricao.getStatus() == StatusInscricaoProjeto.APROVADA) {
+            throw new RuntimeException("Você já está aprovado para este projeto de extensão e não pode se inscrever novamente.");
+        }
+        throw new RuntimeException("Você já possui uma inscrição pendente para este projeto de extensão.");
     }
 
     /**
@@ -85,6 +106,12 @@ public class InscricaoExtensionProjectService {
 
         inscricao.setStatus(StatusInscricaoProjeto.CANCELADA);
         inscricaoRepository.save(inscricao);
+        publishStatus(projectId, alunoId, StatusInscricaoProjeto.CANCELADA);
+    }
+
+    // Enviado aos inscritos no canal de eventos somente após o commit (ChangeStreamHub)
+    private void publishStatus(UUID projectId, UUID alunoId, StatusInscricaoProjeto status) {
+        eventPublisher.publishEvent(ChangeEvent.enrollment(EnrollmentType.EXTENSION_PROJECT, projectId, alunoId, status.name()));
     }
 
     /**
@@ -98,6 +125,23 @@ public class InscricaoExtensionProjectService {
         ).filter(i -> i.getStatus() == StatusInscricaoProjeto.PENDENTE || i.getStatus() == StatusInscricaoProjeto.APROVADA).isPresent();
     }
 
+    /**
+     * Status da inscrição do aluno em cada um dos projetos de extensão informados, com uma única consulta.
+     * Substitui uma chamada de checkInscricaoStatus por card do catálogo.
+     * @return mapa id do projeto -> status; projetos sem inscrição do aluno ficam fora do mapa.
+     * @throws IllegalArgumentException se forem pedidos mais de StatusLookups.MAX_IDS projetos.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, StatusInscricaoProjeto> findInscricaoStatuses(Collection<UUID> projectIds, UUID alunoId) {
+        StatusLookups.checkSize(projectIds);
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+        return inscricaoRepository.findStatusByAlunoIdAndProjectIdIn(alunoId, projectIds).stream()
+                .collect(Collectors.toMap(InscricaoExtensionProjectRepository.InscricaoItemStatus::getItemId,
+                        InscricaoExtensionProjectRepository.InscricaoItemStatus::getStatus));
+    }
+
     public List<InscricaoExtensionProject> findInscricoesByExtensionProject(UUID projectId) {
         ExtensionProject project = extensionProjectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Projeto de Extensão não encontrado."));
@@ -1,17 +1,24 @@
 package com.biopark.cepex_system.service;
 
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
 import com.biopark.cepex_system.domain.project.InscricaoResearchProject;
 import com.biopark.cepex_system.domain.project.ResearchProject;
 import com.biopark.cepex_system.domain.project.StatusInscricaoProjeto;
 import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.persistence.UuidV7;
 import com.biopark.cepex_system.repository.InscricaoResearchProjectRepository;
 import com.biopark.cepex_system.repository.ResearchProjectRepository;
 import com.biopark.cepex_system.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,50 +33,56 @@ public class InscricaoResearchProjectService {
     private final InscricaoResearchProjectRepository inscricaoRepository;
     private final ResearchProjectRepository researchProjectRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public InscricaoResearchProjectService(InscricaoResearchProjectRepository inscricaoRepository,
                                            ResearchProjectRepository researchProjectRepository,
-                                           UserRepository userRepository) {
+                                           UserRepository userRepository,
+                                           ApplicationEventPublisher eventPublisher) {
         this.inscricaoRepository = inscricaoRepository;
         this.researchProjectRepository = researchProjectRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    /**
-     * Realiza a inscrição de um aluno em um projeto de pesquisa.
-     * **Lógica complexa**:
-     * 1. Verifica se projeto e aluno existem.
-     * 2. Procura por inscrição existente.
-     * 3. Se existir:
-     * - Lança erro se já APROVADA ou PENDENTE.
-     * - Permite reinscrever se CANCELADA ou REJEITADA, resetando o status para PENDENTE e data.
-     * 4. Se não existir, cria uma nova inscrição com status PENDENTE.
-     */
     @Transactional
     public InscricaoResearchProject inscrever(UUID projectId, UUID alunoId) {
-        ResearchProject project = researchProjectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Projeto de Pesquisa não encontrado."));
+        return inscrever(projectId, alunoId, null);
+    }
 
-        User aluno = userRepository.findById(alunoId)
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado."));
+    /**
+     * Realiza a inscrição de um aluno em um projeto de pesquisa com um único INSERT ... ON DUPLICATE KEY UPDATE,
+     * apoiado na chave única (projeto, aluno), sem a leitura prévia sujeita a corrida.
+     * - Sem inscrição: cria uma nova com status PENDENTE.
+     * - CANCELADA ou REJEITADA: volta para PENDENTE com a nova data.
+     * - PENDENTE ou APROVADA: lança erro, exceto se a mesma chave de idempotência já a registrou.
+     * @param idempotencyKey chave do cabeçalho Idempotency-Key, ou null.
+     * @throws IllegalArgumentException se a chave de idempotência for inválida.
+     */
+    @Transactional
+    public InscricaoResearchProject inscrever(UUID projectId, UUID alunoId, String idempotencyKey) {
+        String key = IdempotencyKeys.normalize(idempotencyKey);
+        if (!researchProjectRepository.existsById(projectId) || !userRepository.existsById(alunoId)) {
+            throw new RuntimeException("Projeto de Pesquisa ou aluno não encontrado.");
+        }
+        // Precisão de DATETIME(6): a data lida de volta identifica a linha escrita por esta requisição
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        inscricaoRepository.upsertPendente(UuidV7.next().toString(), projectId.toString(), alunoId.toString(), now, key);
 
-        Optional<InscricaoResearchProject> existingInscricao = inscricaoRepository.findByResearchProjectAndAluno(project, aluno);
-        if (existingInscricao.isPresent()) {
-            InscricaoResearchProject inscricao = existingInscricao.get();
-            if (inscricao.getStatus() == StatusInscricaoProjeto.APROVADA) {
-                throw new RuntimeException("Você já está aprovado para este projeto de pesquisa e não pode se inscrever novamente.");
-            } else if (inscricao.getStatus() == StatusInscricaoProjeto.PENDENTE) {
-                throw new RuntimeException("Você já possui uma inscrição pendente para este projeto de pesquisa.");
-            } else if (inscricao.getStatus() == StatusInscricaoProjeto.CANCELADA || inscricao.getStatus() == StatusInscricaoProjeto.REJEITADA) {
-                // Permite recandidatar se a anterior foi cancelada ou rejeitada
-                inscricao.setStatus(StatusInscricaoProjeto.PENDENTE);
-                inscricao.setDataInscricao(java.time.LocalDateTime.now());
-                return inscricaoRepository.save(inscricao);
+        InscricaoResearchProject inscricao = inscricaoRepository.findByResearchProjectIdAndAlunoId(projectId, alunoId)
+                .orElseThrow(() -> new RuntimeException("Inscrição não encontrada."));
+        if (key.equals(inscricao.getIdempotencyKey())) {
+            // Uma nova tentativa com a mesma chave não altera a linha e não publica de novo o status
+            // (que já pode ser APROVADA ou REJEITADA), para não repetir o evento nem o e-mail
+            if (now.equals(inscricao.getDataInscricao())) {
+                publishStatus(projectId, alunoId, inscricao.getStatus());
             }
+            return inscricao; // Criada ou reaberta por esta requisição (ou por uma tentativa anterior com a mesma chave)
         }
-
-        InscricaoResearchProject novaInscricao = new InscricaoResearchProject(project, aluno);
-        return inscricaoRepository.save(novaInscricao);
+        if (inscricao.getStatus() == StatusInscricaoProjeto.APROVADA) {
+            throw new RuntimeException("Você já está aprovado para este projeto de pesquisa e não pode se inscrever novamente.");
+        }
+        throw new RuntimeException("Você já possui uma inscrição pendente para este projeto de pesquisa.");
     }
 
     /**
@@ -93,6 +106,12 @@ public class InscricaoResearchProjectService {
 
         inscricao.setStatus(StatusInscricaoProjeto.CANCELADA);
         inscricaoRepository.save(inscricao);
+        publishStatus(projectId, alunoId, StatusInscricaoProjeto.CANCELADA);
+    }
+
+    // Enviado aos inscritos no canal de eventos somente após o commit (ChangeStreamHub)
+    private void publishStatus(UUID projectId, UUID alunoId, StatusInscricaoProjeto status) {
+        eventPublisher.publishEvent(ChangeEvent.enrollment(EnrollmentType.RESEARCH_PROJECT, projectId, alunoId, status.name()));
     }
 
     /**
@@ -106,6 +125,23 @@ public class InscricaoResearchProjectService {
         ).filter(i -> i.getStatus() == StatusInscricaoProjeto.PENDENTE || i.getStatus() == StatusInscricaoProjeto.APROVADA).isPresent();
     }
 
+    /**
+     * Status da inscrição do aluno em cada um dos projetos de pesquisa informados, com uma única consulta.
+     * Substitui uma chamada de checkInscricaoStatus por card do catálogo.
+     * @return mapa id do projeto -> status; projetos sem inscrição do aluno ficam fora do mapa.
+     * @throws IllegalArgumentException se forem pedidos mais de StatusLookups.MAX_IDS projetos.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, StatusInscricaoProjeto> findInscricaoStatuses(Collection<UUID> projectIds, UUID alunoId) {
+        StatusLookups.checkSize(projectIds);
+        if (projectIds.isEmpty()) {
+            return Map.of();
+        }
+        return inscricaoRepository.findStatusByAlunoIdAndProjectIdIn(alunoId, projectIds).stream()
+                .collect(Collectors.toMap(InscricaoResearchProjectRepository.InscricaoItemStatus::getItemId,
+                        InscricaoResearchProjectRepository.InscricaoItemStatus::getStatus));
+    }
+
     // Métodos de listagem de inscrições, úteis para administradores ou para o perfil do aluno.
     public List<InscricaoResearchProject> findInscricoesByResearchProject(UUID projectId) {
         ResearchProject project = researchProjectRepository.findById(projectId)
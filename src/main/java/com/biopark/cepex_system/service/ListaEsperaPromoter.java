@@ -0,0 +1,68 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
+import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
+import com.biopark.cepex_system.domain.monitoria.StatusCandidatura;
+import com.biopark.cepex_system.repository.CandidaturaMonitoriaRepository;
+import com.biopark.cepex_system.repository.MonitoriaRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Promove a lista de espera das monitorias quando uma vaga é liberada.
+ * Roda de forma síncrona na transação de quem publicou o VagaLiberadaEvent: o cancelamento e a promoção
+ * são confirmados ou desfeitos juntos, e o coordenador não precisa reexaminar as candidaturas da monitoria.
+ */
+@Component
+public class ListaEsperaPromoter {
+
+    private final CandidaturaMonitoriaRepository candidaturaRepository;
+    private final MonitoriaRepository monitoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ListaEsperaPromoter(CandidaturaMonitoriaRepository candidaturaRepository, MonitoriaRepository monitoriaRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.candidaturaRepository = candidaturaRepository;
+        this.monitoriaRepository = monitoriaRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Aprova candidaturas da lista de espera, na ordem da data de candidatura, enquanto houver vagas.
+     * Cada vaga é ocupada pelo mesmo UPDATE condicional da aprovação manual (reserveSeat), que também
+     * bloqueia a linha da monitoria e serializa promoções concorrentes. A cabeça da fila só é lida
+     * depois disso, com SELECT ... FOR UPDATE.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onVagaLiberada(VagaLiberadaEvent event) {
+        promover(event.monitoriaId());
+    }
+
+    private void promover(UUID monitoriaId) {
+        // Verificação barata sem bloqueio: a maioria das liberações não tem ninguém esperando
+        if (!candidaturaRepository.existsByMonitoriaIdAndStatus(monitoriaId, StatusCandidatura.LISTA_ESPERA)) {
+            return;
+        }
+
+        while (monitoriaRepository.reserveSeat(monitoriaId.toString()) == 1) {
+            Optional<CandidaturaMonitoria> proxima = candidaturaRepository
+                    .findFirstByMonitoriaIdAndStatusOrderByDataCandidaturaAscIdAsc(monitoriaId, StatusCandidatura.LISTA_ESPERA);
+            if (proxima.isEmpty()) {
+                monitoriaRepository.releaseSeat(monitoriaId.toString()); // Fila esvaziada por outra transação
+                break;
+            }
+            candidaturaRepository.updateStatusIfIn(proxima.get().getId(), List.of(StatusCandidatura.LISTA_ESPERA), StatusCandidatura.APROVADA);
+            eventPublisher.publishEvent(ChangeEvent.enrollment(EnrollmentType.MONITORIA, monitoriaId,
+                    proxima.get().getAluno().getId(), StatusCandidatura.APROVADA.name()));
+        }
+    }
+}
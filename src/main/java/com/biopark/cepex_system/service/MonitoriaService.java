@@ -1,85 +1,156 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.MonitoriaSummary;
+import com.biopark.cepex_system.domain.monitoria.MonitoriaUpdateDTO;
 import com.biopark.cepex_system.domain.monitoria.StatusCandidatura;
 import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
 import com.biopark.cepex_system.repository.MonitoriaRepository;
 import com.biopark.cepex_system.repository.CandidaturaMonitoriaRepository;
-import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
+import com.biopark.cepex_system.repository.CourseRepository;
+import com.biopark.cepex_system.repository.DisciplineRepository;
+import com.biopark.cepex_system.repository.ProfessorRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class MonitoriaService {
 
     private final MonitoriaRepository repository;
     private final CandidaturaMonitoriaRepository candidaturaRepository;
-
-    public MonitoriaService(MonitoriaRepository repository, CandidaturaMonitoriaRepository candidaturaRepository) {
+    private final CourseRepository courseRepository;
+    private final DisciplineRepository disciplineRepository;
+    private final ProfessorRepository professorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MonitoriaService(MonitoriaRepository repository, CandidaturaMonitoriaRepository candidaturaRepository,
+                            CourseRepository courseRepository, DisciplineRepository disciplineRepository,
+                            ProfessorRepository professorRepository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.candidaturaRepository = candidaturaRepository;
+        this.courseRepository = courseRepository;
+        this.disciplineRepository = disciplineRepository;
+        this.professorRepository = professorRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Monitoria save(Monitoria monitoria) {
-        return repository.save(monitoria);
+        boolean existing = monitoria.getId() != null;
+        Monitoria saved = repository.save(monitoria);
+        if (existing) {
+            // O número de vagas pode ter aumentado: a lista de espera é promovida nesta mesma transação
+            eventPublisher.publishEvent(new VagaLiberadaEvent(saved.getId()));
+            // Sem promoção, vem do contexto de persistência sem nova consulta; com promoção, o contexto foi
+            // limpo e a releitura traz as vagas ocupadas e a versão atualizadas
+            return repository.findById(saved.getId()).orElse(saved);
+        }
+        return saved;
     }
 
-    public List<Monitoria> findAll(String search, String status) {
-        List<Monitoria> monitorias = repository.findAll();
-
-        if (search != null && !search.trim().isEmpty()) {
-            String lowerCaseSearch = search.trim().toLowerCase();
-            monitorias = monitorias.stream()
-                    .filter(m -> m.getTitle().toLowerCase().contains(lowerCaseSearch) ||
-                            (m.getProfessor() != null && m.getProfessor().getFirstName().toLowerCase().contains(lowerCaseSearch)) ||
-                            (m.getSubject() != null && m.getSubject().getName().toLowerCase().contains(lowerCaseSearch)))
-                    .collect(Collectors.toList());
+    /**
+     * Atualiza uma monitoria existente com os dados recebidos.
+     * @param expectedVersion versão recebida no If-Match, ou null para atualizar sem pré-condição.
+     * @return a monitoria atualizada, ou vazio se não existir monitoria com o ID.
+     * @throws IllegalArgumentException se o curso, a disciplina ou o professor informado não existir.
+     * @throws OptimisticLockingFailureException se a versão atual for diferente da esperada.
+     */
+    @Transactional
+    public Optional<Monitoria> update(UUID id, MonitoriaUpdateDTO monitoriaDetails, Long expectedVersion) {
+        Optional<Monitoria> found = repository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
         }
-
-        if (status != null && !status.trim().isEmpty() && !status.equalsIgnoreCase("TODOS")) {
-            try {
-                StatusMonitoria statusEnum = StatusMonitoria.valueOf(status.toUpperCase());
-                monitorias = monitorias.stream()
-                        .filter(m -> m.getStatusMonitoria() == statusEnum)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                // Tratar caso o status fornecido não seja um enum válido
-                // Ou simplesmente ignorar o filtro de status
-            }
+        Monitoria existingMonitoria = found.get();
+        if (expectedVersion != null && !expectedVersion.equals(existingMonitoria.getVersion())) {
+            throw new OptimisticLockingFailureException("A monitoria foi alterada por outra requisição (versão atual "
+                    + existingMonitoria.getVersion() + ").");
         }
+        // Buscar as entidades relacionadas
+        var course = courseRepository.findById(monitoriaDetails.getCourseId())
+                .orElseThrow(() -> new IllegalArgumentException("Curso não encontrado"));
+        var subject = disciplineRepository.findById(monitoriaDetails.getSubjectId())
+                .orElseThrow(() -> new IllegalArgumentException("Disciplina não encontrada"));
+        var professor = professorRepository.findById(monitoriaDetails.getProfessorId())
+                .orElseThrow(() -> new IllegalArgumentException("Professor não encontrado"));
+
+        existingMonitoria.setTitle(monitoriaDetails.getTitle());
+        existingMonitoria.setDescription(monitoriaDetails.getDescription());
+        existingMonitoria.setRemote(monitoriaDetails.getRemote());
+        existingMonitoria.setLocation(monitoriaDetails.getLocation());
+        existingMonitoria.setVacancies(monitoriaDetails.getVacancies());
+        existingMonitoria.setWorkload(monitoriaDetails.getWorkload());
+        existingMonitoria.setInicialDate(monitoriaDetails.getInicialDate());
+        existingMonitoria.setFinalDate(monitoriaDetails.getFinalDate());
+        existingMonitoria.setInicialIngressDate(monitoriaDetails.getInicialIngressDate());
+        existingMonitoria.setFinalIngressDate(monitoriaDetails.getFinalIngressDate());
+        existingMonitoria.setSelectionType(monitoriaDetails.getSelectionType());
+        existingMonitoria.setSelectionDate(monitoriaDetails.getSelectionDate());
+        existingMonitoria.setSelectionTime(monitoriaDetails.getSelectionTime());
+        existingMonitoria.setDivulgationDate(monitoriaDetails.getDivulgationDate());
+        existingMonitoria.setStatusMonitoria(monitoriaDetails.getStatusMonitoria());
+        existingMonitoria.setCourse(course);
+        existingMonitoria.setSubject(subject);
+        existingMonitoria.setProfessor(professor);
+        return Optional.of(save(existingMonitoria));
+    }
 
-        return monitorias;
+    /**
+     * Listagem paginada leve para o catálogo: lê apenas as colunas de MonitoriaSummary, com os filtros aplicados no banco.
+     * @param search termo de busca por título, primeiro nome do professor ou disciplina.
+     * @param status status da monitoria; "TODOS" ou valores inválidos são ignorados.
+     * @param pageable página, tamanho e ordenação desejados.
+     */
+    @Transactional(readOnly = true)
+    public Page<MonitoriaSummary> findSummaries(String search, String status, Pageable pageable) {
+        return repository.findSummaries(toSearchPattern(search), parseStatus(status), pageable);
     }
 
-    public List<Monitoria> findAllForStudent(String search) {
-        List<Monitoria> monitorias = repository.findAll();
-
-        // Filtrar apenas monitorias aprovadas para estudantes
-        monitorias = monitorias.stream()
-                .filter(m -> m.getStatusMonitoria() == StatusMonitoria.APROVADA)
-                .collect(Collectors.toList());
-
-        if (search != null && !search.trim().isEmpty()) {
-            String lowerCaseSearch = search.trim().toLowerCase();
-            monitorias = monitorias.stream()
-                    .filter(m -> m.getTitle().toLowerCase().contains(lowerCaseSearch) ||
-                            (m.getProfessor() != null && m.getProfessor().getFirstName().toLowerCase().contains(lowerCaseSearch)) ||
-                            (m.getSubject() != null && m.getSubject().getName().toLowerCase().contains(lowerCaseSearch)))
-                    .collect(Collectors.toList());
+    /**
+     * Listagem paginada leve visível para estudantes (apenas APROVADA).
+     */
+    @Transactional(readOnly = true)
+    public Page<MonitoriaSummary> findSummariesForStudent(String search, Pageable pageable) {
+        return repository.findSummaries(toSearchPattern(search), StatusMonitoria.APROVADA, pageable);
+    }
+
+    private static String toSearchPattern(String search) {
+        if (search == null || search.trim().isEmpty()) {
+            return null;
         }
+        return "%" + search.trim().toLowerCase() + "%";
+    }
 
-        return monitorias;
+    private StatusMonitoria parseStatus(String status) {
+        if (status == null || status.trim().isEmpty() || status.equalsIgnoreCase("TODOS")) {
+            return null;
+        }
+        try {
+            return StatusMonitoria.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Status inválido: simplesmente ignoramos o filtro de status
+            return null;
+        }
     }
 
     public Optional<Monitoria> findById(UUID id) {
-        return repository.findById(id);
+        return repository.findDetailedById(id);
+    }
+
+    // Versão atual da monitoria, sem carregar a entidade (If-None-Match)
+    public Optional<Long> findVersion(UUID id) {
+        return repository.findVersionById(id);
     }
 
     @Transactional
@@ -91,28 +162,76 @@ public class MonitoriaService {
         }
     }
 
+    /**
+     * Calcula as estatísticas do painel de monitorias usando contagens agrupadas no banco
+     * (uma consulta para monitorias e outra para candidaturas), em vez de carregar as entidades.
+     * Os totais gerais e as quebras por curso e por disciplina saem das mesmas linhas agrupadas.
+     */
+    @Transactional(readOnly = true)
     public MonitoriaStatisticsDTO getMonitoriaStatistics() {
-        List<Monitoria> allMonitorias = repository.findAll();
-        List<CandidaturaMonitoria> allCandidaturas = candidaturaRepository.findAll();
-
-        // Monitorias abertas: todas exceto CANCELADA e REJEITADA
-        long monitoriasAbertas = allMonitorias.stream()
-                .filter(m -> m.getStatusMonitoria() != StatusMonitoria.CANCELADA && 
-                           m.getStatusMonitoria() != StatusMonitoria.REJEITADA)
-                .count();
-
-        // Monitores ativos: candidaturas aprovadas
-        long monitoresAtivos = allCandidaturas.stream()
-                .filter(c -> c.getStatus() == StatusCandidatura.APROVADA)
-                .count();
-
-        // Candidatos pendentes: candidaturas com status pendente
-        long candidatosPendentes = allCandidaturas.stream()
-                .filter(c -> c.getStatus() == StatusCandidatura.PENDENTE)
-                .count();
-
-        return new MonitoriaStatisticsDTO(monitoriasAbertas, monitoresAtivos, candidatosPendentes);
+        Map<UUID, StatisticsAccumulator> porCurso = new LinkedHashMap<>();
+        Map<UUID, StatisticsAccumulator> porDisciplina = new LinkedHashMap<>();
+        StatisticsAccumulator total = new StatisticsAccumulator(null, null);
+
+        for (MonitoriaRepository.MonitoriaStatusCount row : repository.countGroupedByCourseDisciplineAndStatus()) {
+            // Monitorias abertas: todas exceto CANCELADA e REJEITADA
+            if (row.getStatus() == StatusMonitoria.CANCELADA || row.getStatus() == StatusMonitoria.REJEITADA) {
+                continue;
+            }
+            total.monitoriasAbertas += row.getTotal();
+            porCurso.computeIfAbsent(row.getCourseId(), id -> new StatisticsAccumulator(id, row.getCourseName()))
+                    .monitoriasAbertas += row.getTotal();
+            porDisciplina.computeIfAbsent(row.getDisciplineId(), id -> new StatisticsAccumulator(id, row.getDisciplineName()))
+                    .monitoriasAbertas += row.getTotal();
+        }
+
+        for (CandidaturaMonitoriaRepository.CandidaturaStatusCount row : candidaturaRepository.countGroupedByCourseDisciplineAndStatus()) {
+            StatisticsAccumulator curso = porCurso.computeIfAbsent(row.getCourseId(), id -> new StatisticsAccumulator(id, row.getCourseName()));
+            StatisticsAccumulator disciplina = porDisciplina.computeIfAbsent(row.getDisciplineId(), id -> new StatisticsAccumulator(id, row.getDisciplineName()));
+            if (row.getStatus() == StatusCandidatura.APROVADA) {
+                // Monitores ativos: candidaturas aprovadas
+                total.monitoresAtivos += row.getTotal();
+                curso.monitoresAtivos += row.getTotal();
+                disciplina.monitoresAtivos += row.getTotal();
+            } else if (row.getStatus() == StatusCandidatura.PENDENTE) {
+                // Candidatos pendentes: candidaturas com status pendente
+                total.candidatosPendentes += row.getTotal();
+                curso.candidatosPendentes += row.getTotal();
+                disciplina.candidatosPendentes += row.getTotal();
+            }
+        }
+
+        return new MonitoriaStatisticsDTO(
+                total.monitoriasAbertas,
+                total.monitoresAtivos,
+                total.candidatosPendentes,
+                porCurso.values().stream().map(StatisticsAccumulator::toDTO).toList(),
+                porDisciplina.values().stream().map(StatisticsAccumulator::toDTO).toList()
+        );
     }
 
-    public record MonitoriaStatisticsDTO(long monitoriasAbertas, long monitoresAtivos, long candidatosPendentes) {}
+    public record MonitoriaStatisticsDTO(long monitoriasAbertas, long monitoresAtivos, long candidatosPendentes,
+                                         List<MonitoriaStatisticsBreakdownDTO> porCurso,
+                                         List<MonitoriaStatisticsBreakdownDTO> porDisciplina) {}
+
+    public record MonitoriaStatisticsBreakdownDTO(UUID id, String nome, long monitoriasAbertas,
+                                                  long monitoresAtivos, long candidatosPendentes) {}
+
+    // Acumulador mutável usado apenas durante o cálculo das estatísticas
+    private static final class StatisticsAccumulator {
+        private final UUID id;
+        private final String nome;
+        private long monitoriasAbertas;
+        private long monitoresAtivos;
+        private long candidatosPendentes;
+
+        private StatisticsAccumulator(UUID id, String nome) {
+            this.id = id;
+            this.nome = nome;
+        }
+
+        private MonitoriaStatisticsBreakdownDTO toDTO() {
+            return new MonitoriaStatisticsBreakdownDTO(id, nome, monitoriasAbertas, monitoresAtivos, candidatosPendentes);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.notification.NotificationOutbox;
+import com.biopark.cepex_system.domain.notification.OutboxStatus;
+import com.biopark.cepex_system.infra.notification.NotificationSender;
+import com.biopark.cepex_system.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Esvazia o outbox de notificações em segundo plano, em lotes, com nova tentativa e backoff exponencial.
+ * Cada lote é reservado em uma transação curta (SELECT ... FOR UPDATE SKIP LOCKED, adiando next_attempt_at
+ * pelo tempo de reserva); o envio acontece fora da transação, sem segurar bloqueios durante o I/O.
+ * Se a instância cair no meio do envio, a reserva expira e a mensagem é tentada de novo (entrega "ao menos uma vez").
+ */
+@Component
+public class NotificationDispatcher {
+
+    // Máximo de lotes por execução, para não ocupar indefinidamente a sua thread do agendador (spring.task.scheduling.pool.size)
+    private static final int MAX_BATCHES_PER_RUN = 20;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationSender sender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+                                  NotificationSender sender,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${api.notifications.batch-size:50}") int batchSize,
+                                  @Value("${api.notifications.max-attempts:8}") int maxAttempts,
+                                  @Value("${api.notifications.backoff-base-seconds:30}") long baseBackoffSeconds,
+                                  @Value("${api.notifications.backoff-max-seconds:3600}") long maxBackoffSeconds,
+                                  @Value("${api.notifications.lease-seconds:300}") long leaseSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.sender = sender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    /**
+     * Envia as notificações vencidas, lote a lote, até esvaziar a fila ou atingir MAX_BATCHES_PER_RUN.
+     * @return quantidade de notificações enviadas com sucesso nesta execução.
+     */
+    @Scheduled(fixedDelayString = "${api.notifications.dispatch-interval-ms:5000}",
+               initialDelayString = "${api.notifications.dispatch-interval-ms:5000}")
+    public int dispatch() {
+        int sent = 0;
+        for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+            List<NotificationOutbox> batch = claimBatch();
+            for (NotificationOutbox notification : batch) {
+                if (deliver(notification)) {
+                    sent++;
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return sent;
+    }
+
+    // Reserva o lote: conta a tentativa e adia a próxima pelo tempo de reserva antes de liberar os bloqueios
+    private List<NotificationOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> batch = outboxRepository.findDueForUpdate(OutboxStatus.PENDENTE, now, PageRequest.of(0, batchSize));
+            for (NotificationOutbox notification : batch) {
+                notification.setAttempts(notification.getAttempts() + 1);
+                notification.setNextAttemptAt(now.plus(lease));
+            }
+            return batch;
+        });
+    }
+
+    private boolean deliver(NotificationOutbox notification) {
+        try {
+            sender.send(notification.getRecipient(), notification.getSubject(), notification.getBody());
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(notification.getId())
+                    .ifPresent(n -> scheduleRetry(n, e)));
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.findById(notification.getId())
+                .ifPresent(n -> {
+                    n.setStatus(OutboxStatus.ENVIADA);
+                    n.setSentAt(LocalDateTime.now());
+                    n.setLastError(null);
+                }));
+        return true;
+    }
+
+    private void scheduleRetry(NotificationOutbox notification, RuntimeException error) {
+        String message = String.valueOf(error.getMessage());
+        notification.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (notification.getAttempts() >= maxAttempts) {
+            notification.setStatus(OutboxStatus.FALHA);
+            return;
+        }
+        notification.setNextAttemptAt(LocalDateTime.now().plus(backoff(notification.getAttempts())));
+    }
+
+    // base * 2^(tentativas - 1), limitado a maxBackoff
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = baseBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
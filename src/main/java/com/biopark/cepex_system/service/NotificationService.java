@@ -0,0 +1,133 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
+import com.biopark.cepex_system.domain.event.ChangeTopic;
+import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.notification.NotificationOutbox;
+import com.biopark.cepex_system.domain.project.ExtensionProject;
+import com.biopark.cepex_system.domain.project.ResearchProject;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.repository.ExtensionProjectRepository;
+import com.biopark.cepex_system.repository.MonitoriaRepository;
+import com.biopark.cepex_system.repository.NotificationOutboxRepository;
+import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import com.biopark.cepex_system.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Grava as notificações por e-mail no outbox (notification_outbox), na transação de quem as gera.
+ * Nenhum envio acontece aqui: o NotificationDispatcher entrega as mensagens depois do commit, fora da
+ * requisição, e uma alteração desfeita por rollback não deixa notificação para trás.
+ */
+@Service
+public class NotificationService {
+
+    // Decisões sobre candidaturas/inscrições que o aluno recebe por e-mail (as demais partem do próprio aluno)
+    private static final Set<String> ENROLLMENT_DECISIONS = Set.of("APROVADA", "REJEITADA", "LISTA_ESPERA");
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final MonitoriaRepository monitoriaRepository;
+    private final ResearchProjectRepository researchProjectRepository;
+    private final ExtensionProjectRepository extensionProjectRepository;
+
+    public NotificationService(NotificationOutboxRepository outboxRepository,
+                               UserRepository userRepository,
+                               MonitoriaRepository monitoriaRepository,
+                               ResearchProjectRepository researchProjectRepository,
+                               ExtensionProjectRepository extensionProjectRepository) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.monitoriaRepository = monitoriaRepository;
+        this.researchProjectRepository = researchProjectRepository;
+        this.extensionProjectRepository = extensionProjectRepository;
+    }
+
+    /**
+     * Agenda um e-mail. Participa da transação em andamento, se houver; caso contrário, grava em uma própria.
+     */
+    @Transactional
+    public NotificationOutbox enqueue(String recipient, String subject, String body) {
+        return outboxRepository.save(new NotificationOutbox(recipient, subject, body));
+    }
+
+    /**
+     * Transforma as decisões publicadas pelos serviços (ChangeEvent) em notificações: o aluno é avisado das
+     * decisões sobre suas candidaturas/inscrições e o responsável pelo item, das decisões da fila de aprovação.
+     * Roda de forma síncrona, antes do commit, na mesma transação da alteração.
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onChange(ChangeEvent event) {
+        if (event.topic() == ChangeTopic.ENROLLMENT) {
+            notifyEnrollmentDecision(event);
+        } else {
+            notifyApprovalDecision(event);
+        }
+    }
+
+    private void notifyEnrollmentDecision(ChangeEvent event) {
+        if (!ENROLLMENT_DECISIONS.contains(event.status())) {
+            return;
+        }
+        Optional<User> aluno = userRepository.findById(event.alunoId());
+        if (aluno.isEmpty()) {
+            return;
+        }
+        String title = enrollmentItemTitle(EnrollmentType.valueOf(event.itemType()), event.itemId());
+        enqueue(aluno.get().getEmail(), "Atualização da sua inscrição - CEPEX",
+                "Olá, " + aluno.get().getLogin() + ".\n\n" +
+                "Sua inscrição em \"" + title + "\" está agora com o status: " + event.status() + ".\n");
+    }
+
+    private void notifyApprovalDecision(ChangeEvent event) {
+        String recipient = null;
+        String title = null;
+        switch (event.itemType()) {
+            case "MONITORIA" -> {
+                Optional<Monitoria> monitoria = monitoriaRepository.findById(event.itemId());
+                if (monitoria.isPresent() && monitoria.get().getProfessor() != null) {
+                    recipient = monitoria.get().getProfessor().getEmail();
+                    title = monitoria.get().getTitle();
+                }
+            }
+            case "PESQUISA" -> {
+                Optional<ResearchProject> project = researchProjectRepository.findById(event.itemId());
+                if (project.isPresent() && project.get().getLeadResearcher() != null) {
+                    recipient = project.get().getLeadResearcher().getEmail();
+                    title = project.get().getTitle();
+                }
+            }
+            case "EXTENSAO" -> {
+                Optional<ExtensionProject> project = extensionProjectRepository.findById(event.itemId());
+                if (project.isPresent() && project.get().getCoordinator() != null) {
+                    recipient = project.get().getCoordinator().getEmail();
+                    title = project.get().getTitle();
+                }
+            }
+            default -> {
+            }
+        }
+        if (recipient == null) {
+            return;
+        }
+        enqueue(recipient, "Resultado da análise - CEPEX",
+                "A análise de \"" + title + "\" foi concluída. Novo status: " + event.status() + ".\n");
+    }
+
+    private String enrollmentItemTitle(EnrollmentType type, UUID itemId) {
+        return switch (type) {
+            case MONITORIA -> monitoriaRepository.findById(itemId).map(Monitoria::getTitle).orElse("");
+            case RESEARCH_PROJECT -> researchProjectRepository.findById(itemId).map(ResearchProject::getTitle).orElse("");
+            case EXTENSION_PROJECT -> extensionProjectRepository.findById(itemId).map(ExtensionProject::getTitle).orElse("");
+        };
+    }
+}
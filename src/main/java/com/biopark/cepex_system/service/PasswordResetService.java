@@ -0,0 +1,122 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.user.PasswordResetToken;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.infra.security.PrincipalCache;
+import com.biopark.cepex_system.repository.PasswordResetTokenRepository;
+import com.biopark.cepex_system.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Recuperação de senha por código enviado por e-mail.
+ * O código só existe no e-mail: o banco guarda o seu hash SHA-256, com validade e uso único.
+ * Como POST /auth/forgot-password é público, cada usuário pode pedir no máximo maxRequests códigos
+ * por janela; pedidos além do limite não enviam e-mail.
+ */
+@Service
+public class PasswordResetService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final PasswordResetTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final NotificationService notificationService;
+    private final Duration ttl;
+    private final int maxRequests;
+    private final Duration window;
+
+    public PasswordResetService(PasswordResetTokenRepository tokenRepository,
+                                UserRepository userRepository,
+                                PasswordEncoder passwordEncoder,
+                                PrincipalCache principalCache,
+                                NotificationService notificationService,
+                                @Value("${api.security.password-reset.ttl-minutes:30}") long ttlMinutes,
+                                @Value("${api.security.password-reset.max-requests:3}") int maxRequests,
+                                @Value("${api.security.password-reset.window-minutes:60}") long windowMinutes) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.notificationService = notificationService;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxRequests = maxRequests;
+        this.window = Duration.ofMinutes(windowMinutes);
+    }
+
+    /**
+     * Gera um código para o usuário do e-mail e agenda o envio no outbox. Apenas o código mais recente vale.
+     * E-mail não cadastrado ou acima do limite de pedidos não gera código, e o chamador não vê diferença.
+     */
+    @Transactional
+    public void requestReset(String email) {
+        User user = userRepository.findByEmail(email);
+        if (user == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (tokenRepository.countRequestedSince(user.getId(), now.minus(window)) >= maxRequests) {
+            return;
+        }
+        tokenRepository.invalidateAll(user.getId(), now);
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tokenRepository.save(new PasswordResetToken(user, hash(token), now, now.plus(ttl)));
+
+        notificationService.enqueue(user.getEmail(), "Recuperação de senha - CEPEX",
+                "Olá, " + user.getLogin() + ".\n\n" +
+                "Recebemos uma solicitação para redefinir sua senha. Use o código abaixo na tela de redefinição:\n\n" +
+                token + "\n\n" +
+                "O código vale por " + ttl.toMinutes() + " minutos e pode ser usado uma única vez.\n" +
+                "Se você não fez esta solicitação, ignore este e-mail.\n");
+    }
+
+    /**
+     * Redefine a senha com um código válido, consome o código e revoga os tokens de acesso já emitidos.
+     * @throws IllegalArgumentException se a confirmação não conferir ou o código for inválido, expirado ou já usado.
+     */
+    @Transactional
+    public void resetPassword(String token, String password, String confirmPassword) {
+        if (!password.equals(confirmPassword)) {
+            throw new IllegalArgumentException("A confirmação da senha não confere.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        PasswordResetToken resetToken = tokenRepository.findByTokenHash(hash(token))
+                .filter(found -> found.getUsedAt() == null && found.getExpiresAt().isAfter(now))
+                .orElseThrow(() -> new IllegalArgumentException("Código de recuperação inválido ou expirado."));
+        if (tokenRepository.markUsed(resetToken.getId(), now) == 0) {
+            throw new IllegalArgumentException("Código de recuperação inválido ou expirado.");
+        }
+
+        User user = resetToken.getUser();
+        user.setPassword(passwordEncoder.encode(password));
+        userRepository.save(user);
+        tokenRepository.invalidateAll(user.getId(), now);
+        principalCache.revoke(user.getId(), user.getLogin());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.biopark.cepex_system.service;
 import com.biopark.cepex_system.domain.professor.Professor;
 import com.biopark.cepex_system.repository.ProfessorRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,6 +55,36 @@ public class ProfessorService {
         return repository.save(professor);
     }
 
+    /**
+     * Atualiza um professor existente com os dados recebidos.
+     * @param expectedVersion versão recebida no If-Match, ou null para atualizar sem pré-condição.
+     * @return o professor atualizado, ou vazio se não existir professor com o ID.
+     * @throws IllegalStateException se RA, CPF ou email já pertencerem a outro professor.
+     * @throws OptimisticLockingFailureException se a versão atual for diferente da esperada.
+     */
+    @Transactional
+    public Optional<Professor> update(UUID id, Professor professorDetails, Long expectedVersion) {
+        Optional<Professor> found = repository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Professor existingProfessor = found.get();
+        if (expectedVersion != null && !expectedVersion.equals(existingProfessor.getVersion())) {
+            throw new OptimisticLockingFailureException("O professor foi alterado por outra requisição (versão atual "
+                    + existingProfessor.getVersion() + ").");
+        }
+        existingProfessor.setFirstName(professorDetails.getFirstName());
+        existingProfessor.setLastName(professorDetails.getLastName());
+        existingProfessor.setEmail(professorDetails.getEmail());
+        existingProfessor.setRa(professorDetails.getRa());
+        existingProfessor.setCpf(professorDetails.getCpf());
+        existingProfessor.setNumber(professorDetails.getNumber());
+        existingProfessor.setActive(professorDetails.getActive());
+        existingProfessor.setCreatedAt(professorDetails.getCreatedAt());
+        existingProfessor.setDisciplines(professorDetails.getDisciplines());
+        return Optional.of(save(existingProfessor));
+    }
+
     public List<Professor> findAll() {
         return repository.findAll();
     }
@@ -62,6 +93,11 @@ public class ProfessorService {
         return repository.findById(id);
     }
 
+    // Versão atual do professor, sem carregar a entidade (If-None-Match)
+    public Optional<Long> findVersion(UUID id) {
+        return repository.findVersionById(id);
+    }
+
     /**
      * Busca um professor pelo RA.
      * @param ra O RA do professor.
@@ -0,0 +1,70 @@
+package com.biopark.cepex_system.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Página da listagem de projetos (pesquisa ou extensão).
+ * No modo por offset traz o total de registros; no modo por cursor (keyset, ordenado por título e id)
+ * o total não é calculado. Em ambos, nextCursor permite continuar a leitura por keyset a partir do último item.
+ * @param items os itens da página.
+ * @param totalCount total de registros que atendem aos filtros, ou null no modo por cursor.
+ * @param nextCursor cursor da próxima página, ou null se não houver próxima página (ou se a ordenação não for por título).
+ */
+public record ProjectListPage<T>(List<T> items, Long totalCount, String nextCursor) {
+
+    /**
+     * Monta a página do modo por offset. O cursor só é gerado quando a ordenação é por título crescente,
+     * a mesma usada pela leitura por keyset.
+     */
+    static <T> ProjectListPage<T> ofPage(Page<T> page, Function<T, String> title, Function<T, UUID> id) {
+        Sort.Order order = page.getSort().iterator().hasNext() ? page.getSort().iterator().next() : null;
+        boolean titleAscending = order != null && order.getProperty().equals("title") && order.isAscending();
+        String nextCursor = null;
+        if (titleAscending && page.hasNext() && page.hasContent()) {
+            T last = page.getContent().get(page.getNumberOfElements() - 1);
+            nextCursor = TitleCursor.encode(title.apply(last), id.apply(last));
+        }
+        return new ProjectListPage<>(page.getContent(), page.getTotalElements(), nextCursor);
+    }
+
+    /**
+     * Monta a página do modo por cursor a partir de até limit + 1 itens lidos (o excedente indica a próxima página).
+     */
+    static <T> ProjectListPage<T> ofKeyset(List<T> fetched, int limit, Function<T, String> title, Function<T, UUID> id) {
+        if (fetched.size() <= limit) {
+            return new ProjectListPage<>(fetched, null, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        T last = items.get(limit - 1);
+        return new ProjectListPage<>(items, null, TitleCursor.encode(title.apply(last), id.apply(last)));
+    }
+
+    /**
+     * Cursor opaco da listagem por keyset: Base64 (URL-safe) de "título|id".
+     */
+    record TitleCursor(String title, UUID id) {
+
+        static String encode(String title, UUID id) {
+            String raw = title + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static TitleCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                // O título pode conter '|', o id nunca: separa pelo último
+                int separator = raw.lastIndexOf('|');
+                return new TitleCursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+            }
+        }
+    }
+}
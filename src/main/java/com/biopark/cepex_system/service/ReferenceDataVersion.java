@@ -0,0 +1,75 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.infra.config.CacheConfig;
+import com.biopark.cepex_system.repository.ReferenceDataRevisionRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão dos dados de referência (cursos e disciplinas), usada como ETag e Last-Modified das listagens
+ * para que o navegador revalide com If-None-Match / If-Modified-Since e receba 304 quando nada mudou.
+ * A versão fica no banco (tabela reference_data_version) e avança na mesma transação da alteração,
+ * então todas as instâncias da aplicação passam a responder com o novo ETag assim que a alteração é confirmada.
+ * O cache em memória (CacheConfig) é local a cada instância: ao perceber que a versão mudou,
+ * a instância descarta as suas entradas, inclusive quando a alteração foi feita em outra instância.
+ */
+@Component
+public class ReferenceDataVersion {
+
+    private static final String[] REFERENCE_CACHES = {
+            CacheConfig.COURSES, CacheConfig.ACTIVE_COURSES, CacheConfig.DISCIPLINES, CacheConfig.DISCIPLINES_BY_COURSE
+    };
+
+    private final ReferenceDataRevisionRepository repository;
+    private final CacheManager cacheManager;
+    // Última versão vista por esta instância; -1 até a primeira leitura
+    private final AtomicLong seenVersion = new AtomicLong(-1);
+
+    public ReferenceDataVersion(ReferenceDataRevisionRepository repository, CacheManager cacheManager) {
+        this.repository = repository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Lê a versão atual do banco (uma consulta pela chave primária) e, se ela mudou desde a última leitura
+     * desta instância, descarta o cache local dos dados de referência antes de a listagem ser montada.
+     */
+    public Stamp current() {
+        ReferenceDataRevisionRepository.Revision revision = repository.findCurrent()
+                .orElseThrow(() -> new IllegalStateException("Versão dos dados de referência não encontrada (migração V13)."));
+        if (seenVersion.getAndSet(revision.getVersion()) != revision.getVersion()) {
+            evictLocalCaches();
+        }
+        return new Stamp("\"" + revision.getVersion() + "\"", revision.getChangedAt());
+    }
+
+    /**
+     * Registra uma alteração na transação corrente; a nova versão só fica visível após o commit.
+     * A linha da versão fica bloqueada até o fim da transação, serializando as alterações de cursos e disciplinas.
+     */
+    @Transactional
+    public void touch() {
+        if (repository.increment(System.currentTimeMillis()) == 0) {
+            throw new IllegalStateException("Versão dos dados de referência não encontrada (migração V13).");
+        }
+    }
+
+    private void evictLocalCaches() {
+        for (String name : REFERENCE_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.invalidate(); // Imediato, mesmo com o TransactionAwareCacheManagerProxy
+            }
+        }
+    }
+
+    /**
+     * @param etag valor do cabeçalho ETag (já entre aspas).
+     * @param lastModified instante da última alteração, em milissegundos.
+     */
+    public record Stamp(String etag, long lastModified) {}
+}
@@ -1,23 +1,32 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.project.ResearchProject;
+import com.biopark.cepex_system.domain.project.ResearchProjectSummary;
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class ResearchProjectService {
 
     private final ResearchProjectRepository repository;
+    private final UserService userService;
 
-    public ResearchProjectService(ResearchProjectRepository repository) {
+    public ResearchProjectService(ResearchProjectRepository repository, UserService userService) {
         this.repository = repository;
+        this.userService = userService;
     }
 
     @Transactional
@@ -26,37 +35,138 @@ public class ResearchProjectService {
     }
 
     /**
-     * Metodo de busca e filtragem de projetos de pesquisa.
-     * **Importante**: Agora filtra por `title` e `leadResearcher.login`, e por `status` usando o enum `ResearchProject.ProjectStatus`.
-     * Trata a conversão de string para enum e ignora valores inválidos.
+     * Cria um projeto de pesquisa, carregando o pesquisador líder e os colaboradores em uma única consulta.
+     * @throws IllegalArgumentException se algum dos usuários referenciados não existir.
      */
-    public List<ResearchProject> findAll(String search, String status) {
-        List<ResearchProject> projects = repository.findAll();
-
-        if (search != null && !search.trim().isEmpty()) {
-            String lowerCaseSearch = search.trim().toLowerCase();
-            projects = projects.stream()
-                    .filter(p -> p.getTitle().toLowerCase().contains(lowerCaseSearch) ||
-                            (p.getLeadResearcher() != null && p.getLeadResearcher().getLogin().toLowerCase().contains(lowerCaseSearch)))
-                    .collect(Collectors.toList());
+    @Transactional
+    public ResearchProject create(ResearchProject researchProject) {
+        Map<UUID, User> users = loadReferencedUsers(researchProject);
+        if (researchProject.getLeadResearcher() != null && researchProject.getLeadResearcher().getId() != null) {
+            researchProject.setLeadResearcher(users.get(researchProject.getLeadResearcher().getId()));
+        }
+        if (researchProject.getCollaborators() != null && !researchProject.getCollaborators().isEmpty()) {
+            researchProject.setCollaborators(resolveCollaborators(researchProject.getCollaborators(), users));
+        }
+        return repository.save(researchProject);
+    }
+
+    /**
+     * Atualiza um projeto de pesquisa existente com os dados recebidos.
+     * Os colaboradores são sincronizados no próprio Set gerenciado pelo Hibernate, de forma que apenas
+     * as linhas de project_collaborators que mudaram são removidas ou inseridas.
+     * @param expectedVersion versão recebida no If-Match, ou null para atualizar sem pré-condição.
+     * @return o projeto atualizado, ou vazio se não existir projeto com o ID.
+     * @throws IllegalArgumentException se algum dos usuários referenciados não existir.
+     * @throws OptimisticLockingFailureException se a versão atual for diferente da esperada.
+     */
+    @Transactional
+    public Optional<ResearchProject> update(UUID id, ResearchProject projectDetails, Long expectedVersion) {
+        Optional<ResearchProject> found = repository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        ResearchProject existingProject = found.get();
+        if (expectedVersion != null && !expectedVersion.equals(existingProject.getVersion())) {
+            throw new OptimisticLockingFailureException("O projeto foi alterado por outra requisição (versão atual "
+                    + existingProject.getVersion() + ").");
+        }
+        Map<UUID, User> users = loadReferencedUsers(projectDetails);
+
+        existingProject.setTitle(projectDetails.getTitle());
+        existingProject.setDescription(projectDetails.getDescription());
+        existingProject.setStartDate(projectDetails.getStartDate());
+        existingProject.setEndDate(projectDetails.getEndDate());
+        existingProject.setStatus(projectDetails.getStatus());
+
+        if (projectDetails.getLeadResearcher() != null && projectDetails.getLeadResearcher().getId() != null) {
+            existingProject.setLeadResearcher(users.get(projectDetails.getLeadResearcher().getId()));
+        }
+        if (projectDetails.getCollaborators() != null && !projectDetails.getCollaborators().isEmpty()) {
+            Set<User> desired = resolveCollaborators(projectDetails.getCollaborators(), users);
+            existingProject.getCollaborators().retainAll(desired);
+            existingProject.getCollaborators().addAll(desired);
+        }
+
+        existingProject.setMaterialUsage(projectDetails.getMaterialUsage());
+        existingProject.setResearchLine(projectDetails.getResearchLine());
+        existingProject.setSubjectTheme(projectDetails.getSubjectTheme());
+        existingProject.setJustification(projectDetails.getJustification());
+        existingProject.setProblemFormulation(projectDetails.getProblemFormulation());
+        existingProject.setHypothesisFormulation(projectDetails.getHypothesisFormulation());
+        existingProject.setGeneralObjective(projectDetails.getGeneralObjective());
+        existingProject.setSpecificObjective(projectDetails.getSpecificObjective());
+        existingProject.setTheoreticalFoundation(projectDetails.getTheoreticalFoundation());
+        existingProject.setMethodologicalApproaches(projectDetails.getMethodologicalApproaches());
+        existingProject.setProjectReferences(projectDetails.getProjectReferences());
+
+        return Optional.of(repository.save(existingProject));
+    }
+
+    // Carrega o líder e todos os colaboradores referenciados com um único findAllById
+    private Map<UUID, User> loadReferencedUsers(ResearchProject project) {
+        List<UUID> ids = new ArrayList<>();
+        if (project.getLeadResearcher() != null) {
+            ids.add(project.getLeadResearcher().getId());
+        }
+        if (project.getCollaborators() != null) {
+            project.getCollaborators().forEach(collaborator -> ids.add(collaborator.getId()));
         }
+        return userService.findAllRequired(ids);
+    }
 
-        if (status != null && !status.trim().isEmpty() && !status.equalsIgnoreCase("TODOS")) {
-            try {
-                // Conversão de String para Enum ProjectStatus, sensível a erros se a string não for válida.
-                ResearchProject.ProjectStatus statusEnum = ResearchProject.ProjectStatus.valueOf(status.toUpperCase());
-                projects = projects.stream()
-                        .filter(p -> p.getStatus() == statusEnum)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                // Importante: Lidar com status inválidos, aqui simplesmente ignoramos o filtro.
+    private static Set<User> resolveCollaborators(Set<User> references, Map<UUID, User> users) {
+        Set<User> collaborators = new HashSet<>();
+        for (User reference : references) {
+            if (reference.getId() != null) {
+                collaborators.add(users.get(reference.getId()));
             }
         }
-        return projects;
+        return collaborators;
+    }
+
+    /**
+     * Listagem paginada leve de projetos de pesquisa: lê apenas as colunas de ResearchProjectSummary, com filtros, ordenação e paginação
+     * aplicados no banco. Status "TODOS" ou inválido é ignorado.
+     * Sem cursor, usa a página e a ordenação do Pageable e calcula o total. Com cursor, lê por keyset
+     * (título e id, crescentes) a partir do último item entregue, sem COUNT e sem OFFSET.
+     * @param cursor cursor devolvido pela página anterior, ou null.
+     * @param pageable página, tamanho e ordenação desejados (no modo por cursor, apenas o tamanho é usado).
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    @Transactional(readOnly = true)
+    public ProjectListPage<ResearchProjectSummary> findSummaries(String search, String status, String cursor, Pageable pageable) {
+        String searchPattern = (search == null || search.trim().isEmpty()) ? null : "%" + search.trim().toLowerCase() + "%";
+        ResearchProject.ProjectStatus projectStatus = parseStatus(status);
+        if (cursor == null || cursor.isBlank()) {
+            return ProjectListPage.ofPage(repository.findSummaries(searchPattern, projectStatus, pageable),
+                    ResearchProjectSummary::getTitle, ResearchProjectSummary::getId);
+        }
+        ProjectListPage.TitleCursor after = ProjectListPage.TitleCursor.decode(cursor);
+        int limit = pageable.getPageSize();
+        // Lê um item a mais para saber se existe próxima página
+        List<ResearchProjectSummary> fetched = repository.findSummariesAfter(searchPattern, projectStatus,
+                after.title(), after.id(), PageRequest.of(0, limit + 1));
+        return ProjectListPage.ofKeyset(fetched, limit, ResearchProjectSummary::getTitle, ResearchProjectSummary::getId);
+    }
+
+    private static ResearchProject.ProjectStatus parseStatus(String status) {
+        if (status == null || status.trim().isEmpty() || status.equalsIgnoreCase("TODOS")) {
+            return null;
+        }
+        try {
+            return ResearchProject.ProjectStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null; // Status inválido: o filtro é ignorado
+        }
     }
 
     public Optional<ResearchProject> findById(UUID id) {
-        return repository.findById(id);
+        return repository.findDetailedById(id);
+    }
+
+    // Versão atual do projeto, sem carregar a entidade (If-None-Match)
+    public Optional<Long> findVersion(UUID id) {
+        return repository.findVersionById(id);
     }
 
     @Transactional
@@ -0,0 +1,87 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
+import com.biopark.cepex_system.domain.search.FullTextHit;
+import com.biopark.cepex_system.domain.search.SearchHit;
+import com.biopark.cepex_system.domain.search.SearchResultType;
+import com.biopark.cepex_system.repository.ExtensionProjectRepository;
+import com.biopark.cepex_system.repository.MonitoriaRepository;
+import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Busca textual unificada em monitorias, projetos de pesquisa e projetos de extensão,
+ * apoiada nos índices FULLTEXT do MySQL (migração V6).
+ */
+@Service
+public class SearchService {
+
+    // Maior posição alcançável pela paginação: cada tipo lê no máximo essa quantidade de linhas por busca
+    static final int MAX_RESULT_WINDOW = 500;
+    // Tamanho mínimo de palavra indexada pelo InnoDB (innodb_ft_min_token_size)
+    private static final int MIN_QUERY_LENGTH = 3;
+
+    private static final Comparator<SearchHit> BY_RELEVANCE = Comparator
+            .comparingDouble(SearchHit::score).reversed()
+            .thenComparing(SearchHit::title, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(SearchHit::id);
+
+    private final MonitoriaRepository monitoriaRepository;
+    private final ResearchProjectRepository researchProjectRepository;
+    private final ExtensionProjectRepository extensionProjectRepository;
+
+    public SearchService(MonitoriaRepository monitoriaRepository,
+                         ResearchProjectRepository researchProjectRepository,
+                         ExtensionProjectRepository extensionProjectRepository) {
+        this.monitoriaRepository = monitoriaRepository;
+        this.researchProjectRepository = researchProjectRepository;
+        this.extensionProjectRepository = extensionProjectRepository;
+    }
+
+    /**
+     * Busca o termo nos três tipos e devolve uma página dos resultados ordenados por relevância.
+     * Cada tipo é consultado com LIMIT igual ao fim da página pedida; os resultados são intercalados
+     * pela pontuação e a página é recortada em memória, de forma que nunca são lidas mais de
+     * (page + 1) * size linhas por tipo.
+     * @param monitoriaStatus restringe as monitorias a este status (ex.: APROVADA para estudantes), ou null para todas.
+     * @throws IllegalArgumentException se o termo for muito curto ou a página estiver além de MAX_RESULT_WINDOW.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage search(String query, StatusMonitoria monitoriaStatus, int page, int size) {
+        String term = query == null ? "" : query.trim();
+        if (term.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("O termo de busca deve ter pelo menos " + MIN_QUERY_LENGTH + " caracteres.");
+        }
+        if (page < 0 || size < 1 || (long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("A busca alcança no máximo os " + MAX_RESULT_WINDOW + " primeiros resultados.");
+        }
+        int window = (page + 1) * size;
+        String status = monitoriaStatus == null ? null : monitoriaStatus.name();
+
+        List<SearchHit> hits = new ArrayList<>();
+        addAll(hits, SearchResultType.MONITORIA, monitoriaRepository.searchFullText(term, status, window));
+        addAll(hits, SearchResultType.RESEARCH_PROJECT, researchProjectRepository.searchFullText(term, window));
+        addAll(hits, SearchResultType.EXTENSION_PROJECT, extensionProjectRepository.searchFullText(term, window));
+        hits.sort(BY_RELEVANCE);
+
+        long total = monitoriaRepository.countFullText(term, status)
+                + researchProjectRepository.countFullText(term)
+                + extensionProjectRepository.countFullText(term);
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        return new SearchPage(List.copyOf(hits.subList(from, to)), total);
+    }
+
+    private static void addAll(List<SearchHit> hits, SearchResultType type, List<FullTextHit> rows) {
+        for (FullTextHit row : rows) {
+            hits.add(SearchHit.of(type, row));
+        }
+    }
+
+    public record SearchPage(List<SearchHit> items, long totalCount) {}
+}
@@ -0,0 +1,24 @@
+package com.biopark.cepex_system.service;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Limite das consultas de status em lote (uma página do catálogo por chamada).
+ */
+final class StatusLookups {
+
+    static final int MAX_IDS = 100;
+
+    private StatusLookups() {
+    }
+
+    /**
+     * @throws IllegalArgumentException se forem pedidos mais de MAX_IDS itens de uma vez.
+     */
+    static void checkSize(Collection<UUID> ids) {
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Consulte no máximo " + MAX_IDS + " itens por vez.");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.biopark.cepex_system.service;
 
 import com.biopark.cepex_system.domain.student.Student;
+import com.biopark.cepex_system.domain.student.StudentSummary;
 import com.biopark.cepex_system.repository.StudentRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,6 +56,36 @@ public class StudentService {
         return repository.save(student);
     }
 
+    /**
+     * Atualiza um estudante existente com os dados recebidos.
+     * @param expectedVersion versão recebida no If-Match, ou null para atualizar sem pré-condição.
+     * @return o estudante atualizado, ou vazio se não existir estudante com o ID.
+     * @throws IllegalStateException se RA, CPF ou email já pertencerem a outro estudante.
+     * @throws OptimisticLockingFailureException se a versão atual for diferente da esperada.
+     */
+    @Transactional
+    public Optional<Student> update(UUID id, Student studentDetails, Long expectedVersion) {
+        Optional<Student> found = repository.findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Student existingStudent = found.get();
+        if (expectedVersion != null && !expectedVersion.equals(existingStudent.getVersion())) {
+            throw new OptimisticLockingFailureException("O estudante foi alterado por outra requisição (versão atual "
+                    + existingStudent.getVersion() + ").");
+        }
+        existingStudent.setFirstName(studentDetails.getFirstName());
+        existingStudent.setLastName(studentDetails.getLastName());
+        existingStudent.setEmail(studentDetails.getEmail());
+        existingStudent.setNumber(studentDetails.getNumber());
+        existingStudent.setRa(studentDetails.getRa());
+        existingStudent.setCpf(studentDetails.getCpf());
+        existingStudent.setStatus(studentDetails.getStatus());
+        existingStudent.setUser(studentDetails.getUser());
+        existingStudent.setCourse(studentDetails.getCourse());
+        return Optional.of(save(existingStudent));
+    }
+
     /**
      * Busca todos os estudantes.
      * @return Lista de todos os estudantes.
@@ -62,6 +94,13 @@ public class StudentService {
         return repository.findAll();
     }
 
+    /**
+     * Listagem leve de estudantes (projeção StudentSummary), usada por GET /students.
+     */
+    public List<StudentSummary> findAllSummaries() {
+        return repository.findAllSummaries();
+    }
+
     /**
      * Busca um estudante pelo ID.
      * @param id O ID do estudante.
@@ -71,6 +110,11 @@ public class StudentService {
         return repository.findById(id);
     }
 
+    // Versão atual do estudante, sem carregar a entidade (If-None-Match)
+    public Optional<Long> findVersion(UUID id) {
+        return repository.findVersionById(id);
+    }
+
     /**
      * Busca um estudante pelo RA.
      * @param ra O RA do estudante.
@@ -0,0 +1,109 @@
+package com.biopark.cepex_system.service;
+
+import com.biopark.cepex_system.domain.user.UserCountChangedEvent;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores em memória de usuários por papel e de usuários ativos, lidos pelo painel (GET /users/stats)
+ * sem consultar o banco.
+ * São mantidos incrementalmente pelos UserCountChangedEvent publicados pelo UserCountListener e reconciliados
+ * periodicamente com uma contagem agrupada no banco, que corrige alterações feitas fora do JPA (scripts,
+ * UPDATE em lote) e diferenças de atualizações concorrentes à própria reconciliação.
+ */
+@Component
+public class UserRoleCounters {
+
+    private final UserRepository repository;
+    private final Map<UserRole, AtomicLong> byRole = new EnumMap<>(UserRole.class);
+    private final AtomicLong active = new AtomicLong();
+    private volatile boolean loaded;
+
+    public UserRoleCounters(UserRepository repository) {
+        this.repository = repository;
+        for (UserRole role : UserRole.values()) {
+            byRole.put(role, new AtomicLong());
+        }
+    }
+
+    /**
+     * Quantidade atual de usuários com o papel informado.
+     */
+    public long countByRole(UserRole role) {
+        ensureLoaded();
+        return byRole.get(role).get();
+    }
+
+    /**
+     * Quantidade atual de usuários ativos (status = true).
+     */
+    public long countActive() {
+        ensureLoaded();
+        return active.get();
+    }
+
+    /**
+     * Aplica a diferença de um usuário com o papel e status informados (1 para inclusão, -1 para remoção).
+     */
+    public void add(UserRole role, boolean status, long delta) {
+        if (role != null) {
+            byRole.get(role).addAndGet(delta);
+        }
+        if (status) {
+            active.addAndGet(delta);
+        }
+    }
+
+    /**
+     * Aplica a diferença publicada pelo UserCountListener, só após o commit da transação que alterou o usuário.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserCountChanged(UserCountChangedEvent event) {
+        add(event.role(), event.status(), event.delta());
+    }
+
+    /**
+     * Recalcula os contadores a partir de uma única contagem agrupada por papel e status.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${api.users.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${api.users.stats.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Map<UserRole, Long> roles = new EnumMap<>(UserRole.class);
+        long activeCount = 0;
+        for (UserRepository.UserRoleStatusCount row : repository.countGroupedByRoleAndStatus()) {
+            roles.merge(row.getRole(), row.getTotal(), Long::sum);
+            if (row.getStatus()) {
+                activeCount += row.getTotal();
+            }
+        }
+        for (UserRole role : UserRole.values()) {
+            byRole.get(role).set(roles.getOrDefault(role, 0L));
+        }
+        active.set(activeCount);
+        loaded = true;
+    }
+
+    // Garante a primeira carga caso a leitura aconteça antes do ApplicationReadyEvent
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+}
@@ -3,7 +3,9 @@ package com.biopark.cepex_system.service;
 // Imports originais e novos
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.domain.user.UserSummary;
 import com.biopark.cepex_system.domain.usermanager.UserDTO;
+import com.biopark.cepex_system.infra.security.PrincipalCache;
 import com.biopark.cepex_system.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
@@ -13,9 +15,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -23,49 +32,116 @@ public class UserService {
     private final UserRepository repository;
     // NOVA DEPENDÊNCIA: Adicionada para as novas funcionalidades.
     private final PasswordEncoder passwordEncoder;
+    // Cache de principais do SecurityFilter, invalidado a cada alteração de usuário
+    private final PrincipalCache principalCache;
+    // Contadores por papel do painel, mantidos pelo UserCountListener
+    private final UserRoleCounters roleCounters;
 
     /**
      * CONSTRUTOR ATUALIZADO: Unifica as dependências do código antigo e do novo.
      * Esta alteração é necessária para que os novos métodos que dependem do PasswordEncoder funcionem.
      */
-    public UserService(UserRepository repository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository repository, PasswordEncoder passwordEncoder, PrincipalCache principalCache,
+                       UserRoleCounters roleCounters) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.roleCounters = roleCounters;
     }
 
     // ===================================================================
-    // MÉTODOS ORIGINAIS DE UserService.java (INTOCADOS)
+    // MÉTODOS ORIGINAIS DE UserService.java
+    // (save, delete, updateStatus e updateRole agora também invalidam o PrincipalCache)
     // ===================================================================
 
+    /**
+     * Salva o usuário. Em uma alteração, descarta o principal em cache; os tokens já emitidos só são revogados
+     * se mudar o login, o papel, o status ou a senha (dados que o token carrega ou que controlam o acesso).
+     */
     @Transactional
     public User save(User user) {
+        if (user.getId() != null) {
+            Optional<User> current = repository.findById(user.getId());
+            // Login antigo: as entradas em cache ainda estão sob ele
+            String currentLogin = current.map(User::getLogin).orElse(user.getLogin());
+            if (current.isPresent() && changesAccess(current.get(), user)) {
+                principalCache.revoke(user.getId(), currentLogin);
+            } else {
+                principalCache.evict(user.getId(), currentLogin);
+            }
+        }
         return repository.save(user);
     }
 
+    // A própria instância gerenciada já traz os valores novos: sem o estado anterior para comparar, revoga
+    private static boolean changesAccess(User current, User updated) {
+        return current == updated
+                || !Objects.equals(current.getLogin(), updated.getLogin())
+                || current.getRole() != updated.getRole()
+                || current.isStatus() != updated.isStatus()
+                || !Objects.equals(current.getPassword(), updated.getPassword());
+    }
+
     public List<User> findAll() {
         return repository.findAll();
     }
 
+    // Listagem leve de usuários (sem o hash da senha), usada por GET /users
+    public List<UserSummary> findAllSummaries() {
+        return repository.findAllSummaries();
+    }
+
     public Optional<User> findById(UUID id) {
         return repository.findById(id);
     }
 
+    /**
+     * Carrega em uma única consulta os usuários referenciados pelos ids informados (ids nulos são ignorados).
+     * @return os usuários encontrados, indexados pelo id.
+     * @throws IllegalArgumentException listando, de uma só vez, todos os ids que não existem.
+     */
+    public Map<UUID, User> findAllRequired(Collection<UUID> ids) {
+        Set<UUID> requested = ids.stream()
+                .filter(id -> id != null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (requested.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, User> found = repository.findAllById(requested).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UUID> missing = requested.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Usuário(s) não encontrado(s) com ID: " + missing.stream()
+                    .map(UUID::toString)
+                    .collect(Collectors.joining(", ")));
+        }
+        return found;
+    }
+
     @Transactional
     public void delete(UUID id) {
         if (repository.existsById(id)) {
             repository.deleteById(id);
+            principalCache.revoke(id, null);
         } else {
             throw new RuntimeException("Usuário não encontrado para o ID: " + id);
         }
     }
 
+    /**
+     * Totais de usuários por papel e de usuários ativos, lidos dos contadores em memória (sem consulta ao banco).
+     */
     public UserRoleCountsDTO getUserRoleCounts() {
-        long studentCount = repository.countByRole(UserRole.STUDENT);
-        long professorCount = repository.countByRole(UserRole.PROFESSOR);
-        long coordenationCount = repository.countByRole(UserRole.COORDENATION);
-        long secretaryCount = repository.countByRole(UserRole.SECRETARY);
+        long studentCount = roleCounters.countByRole(UserRole.STUDENT);
+        long professorCount = roleCounters.countByRole(UserRole.PROFESSOR);
+        long coordenationCount = roleCounters.countByRole(UserRole.COORDENATION);
+        long secretaryCount = roleCounters.countByRole(UserRole.SECRETARY);
+        long activeCount = roleCounters.countActive();
 
-        return new UserRoleCountsDTO(studentCount, professorCount, coordenationCount, secretaryCount);
+        return new UserRoleCountsDTO(studentCount, professorCount, coordenationCount, secretaryCount, activeCount);
     }
 
     // Atualizar o status de um usuário
@@ -73,6 +149,9 @@ public class UserService {
     public Optional<User> updateStatus(UUID id, boolean newStatus) {
         return repository.findById(id)
                 .map(user -> {
+                    if (user.isStatus() != newStatus) {
+                        principalCache.revoke(user.getId(), user.getLogin());
+                    }
                     user.setStatus(newStatus);
                     return repository.save(user);
                 });
@@ -83,12 +162,16 @@ public class UserService {
     public Optional<User> updateRole(UUID id, UserRole newRole) {
         return repository.findById(id)
                 .map(user -> {
+                    if (user.getRole() != newRole) {
+                        principalCache.revoke(user.getId(), user.getLogin());
+                    }
                     user.setRole(newRole);
                     return repository.save(user);
                 });
     }
 
-    public record UserRoleCountsDTO(long studentCount, long professorCount, long coordenationCount, long secretaryCount) {}
+    public record UserRoleCountsDTO(long studentCount, long professorCount, long coordenationCount, long secretaryCount,
+                                    long activeCount) {}
 
     // ===================================================================
     // NOVOS MÉTODOS DE UserService(2).java (ADICIONADOS)
@@ -121,6 +204,9 @@ public class UserService {
         User existingUser = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado com o ID: " + id));
 
+        // Invalida pelo login antigo antes de alterá-lo; os tokens só são revogados se o login ou o papel mudarem
+        String oldLogin = existingUser.getLogin();
+        UserRole oldRole = existingUser.getRole();
         existingUser.setEmail(dto.getEmail());
         existingUser.setLogin(dto.getLogin());
 
@@ -129,6 +215,11 @@ public class UserService {
         } else if ("Professor".equalsIgnoreCase(dto.getTipo())) {
             existingUser.setRole(UserRole.PROFESSOR);
         }
+        if (!Objects.equals(oldLogin, existingUser.getLogin()) || oldRole != existingUser.getRole()) {
+            principalCache.revoke(existingUser.getId(), oldLogin);
+        } else {
+            principalCache.evict(existingUser.getId(), oldLogin);
+        }
 
         return repository.save(existingUser);
     }
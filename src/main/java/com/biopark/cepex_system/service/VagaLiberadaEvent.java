@@ -0,0 +1,11 @@
+package com.biopark.cepex_system.service;
+
+import java.util.UUID;
+
+/**
+ * Publicado, dentro da transação, sempre que uma vaga de monitoria pode ter sido liberada
+ * (candidatura cancelada, candidatura aprovada rejeitada ou monitoria alterada).
+ * Tratado por ListaEsperaPromoter, que promove a lista de espera na mesma transação.
+ */
+public record VagaLiberadaEvent(UUID monitoriaId) {
+}
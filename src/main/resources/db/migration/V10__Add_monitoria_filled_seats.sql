@@ -0,0 +1,13 @@
+-- =====================================================
+-- MIGRAÇÃO V10 - VAGAS OCUPADAS DA MONITORIA
+-- Contador usado na alocação atômica de vagas ao aprovar candidaturas
+-- =====================================================
+
+-- A aprovação só ocupa uma vaga com UPDATE ... SET filled = filled + 1 WHERE filled < vacancies,
+-- que é atômico no banco e vale para todas as instâncias da aplicação.
+ALTER TABLE monitoria ADD COLUMN filled INT NOT NULL DEFAULT 0;
+
+-- Inicializa o contador com as candidaturas já aprovadas
+UPDATE monitoria m
+SET m.filled = (SELECT COUNT(*) FROM candidatura_monitoria c
+                WHERE c.monitoria_id = m.id AND c.status = 'APROVADA');
@@ -0,0 +1,8 @@
+-- =====================================================
+-- MIGRAÇÃO V11 - ÍNDICE DA LISTA DE ESPERA
+-- Promoção automática da próxima candidatura quando uma vaga é liberada
+-- =====================================================
+
+-- A promoção lê a cabeça da fila (monitoria, LISTA_ESPERA) na ordem da data de candidatura,
+-- direto pelo índice e sem ordenar as demais candidaturas da monitoria.
+CREATE INDEX idx_candidatura_monitoria_status_data ON candidatura_monitoria(monitoria_id, status, data_candidatura);
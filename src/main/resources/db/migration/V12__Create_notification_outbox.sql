@@ -0,0 +1,23 @@
+-- =====================================================
+-- MIGRAÇÃO V12 - OUTBOX DE NOTIFICAÇÕES
+-- E-mails gravados na mesma transação da alteração e enviados depois pelo NotificationDispatcher
+-- =====================================================
+
+CREATE TABLE notification_outbox (
+    id BINARY(16) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    last_error VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+-- O dispatcher busca as mensagens pendentes já vencidas, na ordem da próxima tentativa
+CREATE INDEX idx_outbox_status_next_attempt ON notification_outbox(status, next_attempt_at);
+
+ALTER TABLE notification_outbox COMMENT = 'Notificações por e-mail aguardando envio (transactional outbox)';
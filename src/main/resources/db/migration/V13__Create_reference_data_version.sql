@@ -0,0 +1,18 @@
+-- =====================================================
+-- MIGRAÇÃO V13 - VERSÃO DOS DADOS DE REFERÊNCIA
+-- Versão única de cursos e disciplinas, compartilhada por todas as instâncias da aplicação
+-- =====================================================
+
+-- Uma única linha (id = 1): a versão é incrementada na mesma transação que altera um curso ou disciplina
+-- e serve de ETag das listagens; changed_at (epoch em milissegundos) serve de Last-Modified.
+CREATE TABLE reference_data_version (
+    id INT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    changed_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO reference_data_version (id, version, changed_at)
+VALUES (1, 0, UNIX_TIMESTAMP(NOW(3)) * 1000);
+
+ALTER TABLE reference_data_version COMMENT = 'Versão dos dados de referência (cursos e disciplinas) usada como ETag';
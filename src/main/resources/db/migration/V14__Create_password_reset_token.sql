@@ -0,0 +1,21 @@
+-- =====================================================
+-- MIGRAÇÃO V14 - CÓDIGOS DE RECUPERAÇÃO DE SENHA
+-- Apenas o hash do código enviado por e-mail, com validade e uso único
+-- =====================================================
+
+CREATE TABLE password_reset_token (
+    id BINARY(16) NOT NULL,
+    user_id BINARY(16) NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    used_at DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE (token_hash),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- O limite de pedidos conta os códigos recentes do usuário
+CREATE INDEX idx_password_reset_user_created ON password_reset_token(user_id, created_at);
+
+ALTER TABLE password_reset_token COMMENT = 'Códigos de recuperação de senha (hash SHA-256), com validade e uso único';
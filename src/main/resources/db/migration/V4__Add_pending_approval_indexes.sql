@@ -0,0 +1,10 @@
+-- =====================================================
+-- MIGRAÇÃO V4 - ÍNDICES DA FILA DE APROVAÇÃO
+-- Índices compostos (status, data) usados pela listagem de pendências
+-- =====================================================
+
+-- A fila filtra por status e ordena por data + id (paginação por cursor).
+-- O id já faz parte de todo índice secundário no InnoDB, completando a chave do cursor.
+CREATE INDEX idx_monitoria_status_inicial_date ON monitoria(status, inicial_date);
+CREATE INDEX idx_research_projects_status_start_date ON research_projects(status, start_date);
+CREATE INDEX idx_extension_projects_status_start_date ON extension_projects(status, start_date);
@@ -0,0 +1,9 @@
+-- =====================================================
+-- MIGRAÇÃO V5 - ÍNDICES DE TÍTULO DOS PROJETOS
+-- Índices usados pela listagem paginada de projetos
+-- =====================================================
+
+-- A listagem ordena por título + id e continua a leitura por keyset a partir do último (título, id).
+-- O id já faz parte de todo índice secundário no InnoDB, completando a chave do cursor.
+CREATE INDEX idx_research_projects_title ON research_projects(title);
+CREATE INDEX idx_extension_projects_title ON extension_projects(title);
@@ -0,0 +1,9 @@
+-- =====================================================
+-- MIGRAÇÃO V6 - ÍNDICES FULLTEXT DA BUSCA
+-- Índices usados pelo endpoint unificado GET /search
+-- =====================================================
+
+-- As colunas de cada índice precisam ser exatamente as mesmas listadas no MATCH(...) das consultas de busca.
+ALTER TABLE monitoria ADD FULLTEXT INDEX ft_monitoria_search (title, description);
+ALTER TABLE research_projects ADD FULLTEXT INDEX ft_research_projects_search (title, description, research_line, subject_theme);
+ALTER TABLE extension_projects ADD FULLTEXT INDEX ft_extension_projects_search (title, description, location);
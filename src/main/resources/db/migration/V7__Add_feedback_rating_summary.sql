@@ -0,0 +1,22 @@
+-- =====================================================
+-- MIGRAÇÃO V7 - RESUMO DAS AVALIAÇÕES DA PLATAFORMA
+-- Agregado por estrela mantido a cada nova avaliação e índice por data para a tendência
+-- =====================================================
+
+-- Uma linha por quantidade de estrelas (1 a 5): a média e o histograma saem dessas cinco linhas,
+-- sem percorrer avaliacao_plataforma.
+CREATE TABLE avaliacao_plataforma_resumo (
+    rating INT NOT NULL,
+    total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (rating)
+);
+
+-- Carga inicial a partir das avaliações já existentes
+INSERT INTO avaliacao_plataforma_resumo (rating, total)
+SELECT s.rating, (SELECT COUNT(*) FROM avaliacao_plataforma a WHERE a.rating = s.rating)
+FROM (SELECT 1 AS rating UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4 UNION ALL SELECT 5) s;
+
+-- A tendência agrupa por período dentro de um intervalo de datas
+CREATE INDEX idx_avaliacao_date ON avaliacao_plataforma(avaliation_date);
+
+ALTER TABLE avaliacao_plataforma_resumo COMMENT = 'Totais de avaliações da plataforma por quantidade de estrelas';
@@ -0,0 +1,12 @@
+-- =====================================================
+-- MIGRAÇÃO V8 - VERSÃO DAS ENTIDADES (@Version)
+-- Controle de concorrência otimista e ETag dos endpoints de detalhe
+-- =====================================================
+
+-- O Hibernate incrementa a versão a cada UPDATE e a confere na cláusula WHERE.
+-- Registros existentes começam na versão 0.
+ALTER TABLE monitoria ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE research_projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE extension_projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE student ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE professor ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
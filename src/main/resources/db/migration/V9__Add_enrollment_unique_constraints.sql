@@ -0,0 +1,48 @@
+-- =====================================================
+-- MIGRAÇÃO V9 - INSCRIÇÕES ÚNICAS POR ALUNO E IDEMPOTÊNCIA
+-- Uma candidatura/inscrição por (monitoria ou projeto, aluno), base do INSERT ... ON DUPLICATE KEY UPDATE
+-- =====================================================
+
+-- Remove duplicatas criadas por cliques simultâneos, mantendo uma linha por par. A escolhida é a de status mais
+-- importante (APROVADA, depois PENDENTE ou LISTA_ESPERA, depois as demais), para não perder uma inscrição aprovada
+-- nem a vaga contada pela V10; entre as de mesmo status fica a mais recente (no empate da data, a de maior id).
+DELETE FROM candidatura_monitoria WHERE id IN (
+    SELECT id FROM (
+        SELECT id, ROW_NUMBER() OVER (
+                   PARTITION BY monitoria_id, aluno_id
+                   ORDER BY CASE status WHEN 'APROVADA' THEN 0 WHEN 'PENDENTE' THEN 1 WHEN 'LISTA_ESPERA' THEN 1 ELSE 2 END,
+                            data_candidatura IS NULL, data_candidatura DESC, id DESC) AS posicao
+        FROM candidatura_monitoria) ranqueadas
+    WHERE posicao > 1);
+
+DELETE FROM inscricao_research_project WHERE id IN (
+    SELECT id FROM (
+        SELECT id, ROW_NUMBER() OVER (
+                   PARTITION BY research_project_id, aluno_id
+                   ORDER BY CASE status WHEN 'APROVADA' THEN 0 WHEN 'PENDENTE' THEN 1 WHEN 'LISTA_ESPERA' THEN 1 ELSE 2 END,
+                            data_inscricao IS NULL, data_inscricao DESC, id DESC) AS posicao
+        FROM inscricao_research_project) ranqueadas
+    WHERE posicao > 1);
+
+DELETE FROM inscricao_extension_project WHERE id IN (
+    SELECT id FROM (
+        SELECT id, ROW_NUMBER() OVER (
+                   PARTITION BY extension_project_id, aluno_id
+                   ORDER BY CASE status WHEN 'APROVADA' THEN 0 WHEN 'PENDENTE' THEN 1 WHEN 'LISTA_ESPERA' THEN 1 ELSE 2 END,
+                            data_inscricao IS NULL, data_inscricao DESC, id DESC) AS posicao
+        FROM inscricao_extension_project) ranqueadas
+    WHERE posicao > 1);
+
+-- Chave de idempotência (cabeçalho Idempotency-Key) da requisição que criou ou reabriu a inscrição
+ALTER TABLE candidatura_monitoria ADD COLUMN idempotency_key VARCHAR(64);
+ALTER TABLE inscricao_research_project ADD COLUMN idempotency_key VARCHAR(64);
+ALTER TABLE inscricao_extension_project ADD COLUMN idempotency_key VARCHAR(64);
+
+ALTER TABLE candidatura_monitoria ADD CONSTRAINT uk_candidatura_monitoria_aluno UNIQUE (monitoria_id, aluno_id);
+ALTER TABLE inscricao_research_project ADD CONSTRAINT uk_inscricao_research_aluno UNIQUE (research_project_id, aluno_id);
+ALTER TABLE inscricao_extension_project ADD CONSTRAINT uk_inscricao_extension_aluno UNIQUE (extension_project_id, aluno_id);
+
+-- Os índices simples pela monitoria/projeto passam a ser prefixo das chaves únicas
+DROP INDEX idx_candidatura_monitoria ON candidatura_monitoria;
+DROP INDEX idx_inscricao_research_project ON inscricao_research_project;
+DROP INDEX idx_inscricao_extension_project ON inscricao_extension_project;
@@ -1,9 +1,16 @@
 package com.biopark.cepex_system;
 
 import com.biopark.cepex_system.domain.approval.ApprovalItemDTO;
+import com.biopark.cepex_system.domain.approval.ApprovalItemRefDTO;
+import com.biopark.cepex_system.domain.approval.BulkApprovalOutcome;
+import com.biopark.cepex_system.domain.approval.BulkApprovalResultDTO;
 import com.biopark.cepex_system.domain.course.Course;
 import com.biopark.cepex_system.domain.course.Discipline;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
+import com.biopark.cepex_system.domain.event.ChangeTopic;
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.notification.NotificationOutbox;
+import com.biopark.cepex_system.domain.notification.OutboxStatus;
 import com.biopark.cepex_system.domain.monitoria.SelectionType;
 import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
 import com.biopark.cepex_system.domain.professor.Professor;
@@ -11,19 +18,24 @@ import com.biopark.cepex_system.domain.project.ExtensionProject;
 import com.biopark.cepex_system.domain.project.ResearchProject;
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.infra.notification.FakeNotificationSender;
 import com.biopark.cepex_system.repository.CourseRepository;
 import com.biopark.cepex_system.repository.DisciplineRepository;
 import com.biopark.cepex_system.repository.ExtensionProjectRepository;
 import com.biopark.cepex_system.repository.MonitoriaRepository;
+import com.biopark.cepex_system.repository.NotificationOutboxRepository;
 import com.biopark.cepex_system.repository.ProfessorRepository;
 import com.biopark.cepex_system.repository.ResearchProjectRepository;
 import com.biopark.cepex_system.repository.UserRepository;
 import com.biopark.cepex_system.service.ApprovalService;
+import com.biopark.cepex_system.service.NotificationDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -36,8 +48,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@RecordApplicationEvents
 class ApprovalServiceTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private ApprovalService approvalService;
     @Autowired
@@ -54,6 +70,12 @@ class ApprovalServiceTest {
     private CourseRepository courseRepository;
     @Autowired
     private DisciplineRepository disciplineRepository;
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    @Autowired
+    private FakeNotificationSender fakeNotificationSender;
 
     private Monitoria pendingMonitoria;
     private ResearchProject pendingResearchProject;
@@ -189,6 +211,37 @@ class ApprovalServiceTest {
         assertEquals(StatusMonitoria.APROVADA, approvedMonitoria.get().getStatusMonitoria());
     }
 
+    @Test
+    @DisplayName("Should publish an approval queue change event when an item is approved")
+    void approveMonitoriaPublishesChangeEvent() {
+        approvalService.approveItem(pendingMonitoria.getId(), "MONITORIA");
+
+        List<ChangeEvent> events = applicationEvents.stream(ChangeEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(ChangeTopic.APPROVAL_QUEUE, events.get(0).topic());
+        assertEquals("MONITORIA", events.get(0).itemType());
+        assertEquals(pendingMonitoria.getId(), events.get(0).itemId());
+        assertEquals(StatusMonitoria.APROVADA.name(), events.get(0).status());
+    }
+
+    @Test
+    @DisplayName("Should write the decision e-mail to the outbox and deliver it through the dispatcher")
+    void approveMonitoriaNotifiesProfessorThroughOutbox() {
+        fakeNotificationSender.clear();
+        approvalService.approveItem(pendingMonitoria.getId(), "MONITORIA");
+
+        List<NotificationOutbox> outbox = outboxRepository.findByRecipientOrderByCreatedAtAsc("prof.test@biopark.edu.br");
+        assertEquals(1, outbox.size());
+        assertEquals(OutboxStatus.PENDENTE, outbox.get(0).getStatus());
+        assertTrue(fakeNotificationSender.sentMessages().isEmpty()); // Nada é enviado na transação da aprovação
+
+        notificationDispatcher.dispatch();
+
+        assertEquals(OutboxStatus.ENVIADA, outboxRepository.findById(outbox.get(0).getId()).orElseThrow().getStatus());
+        assertTrue(fakeNotificationSender.sentMessages().stream()
+                .anyMatch(m -> m.recipient().equals("prof.test@biopark.edu.br")));
+    }
+
     @Test
     @DisplayName("Should approve a pending research project")
     void approveResearchProject() {
@@ -271,4 +324,117 @@ class ApprovalServiceTest {
         );
         assertTrue(thrown.getMessage().contains("Tipo de item inválido para rejeição"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should page through the pending queue with a cursor")
+    void getPendingApprovalsWithCursor() {
+        ApprovalService.PendingApprovalsPage first = approvalService.getPendingApprovals(null, null, 2);
+        assertEquals(2, first.items().size());
+        assertNotNull(first.nextCursor());
+
+        ApprovalService.PendingApprovalsPage second = approvalService.getPendingApprovals(null, first.nextCursor(), 2);
+        assertEquals(1, second.items().size());
+        assertNull(second.nextCursor());
+        assertTrue(first.items().stream().noneMatch(item -> item.id().equals(second.items().get(0).id())));
+    }
+
+    @Test
+    @DisplayName("Should keep pending monitorias on later pages when a page ends on a project without start date")
+    void getPendingApprovalsWithCursorAfterNullStartDate() {
+        pendingResearchProject.setStartDate(null);
+        researchProjectRepository.saveAndFlush(pendingResearchProject);
+
+        ApprovalService.PendingApprovalsPage first = approvalService.getPendingApprovals(null, null, 1);
+        assertEquals(1, first.items().size());
+        assertEquals(pendingResearchProject.getId(), first.items().get(0).id());
+
+        ApprovalService.PendingApprovalsPage second = approvalService.getPendingApprovals(null, first.nextCursor(), 10);
+        assertEquals(2, second.items().size());
+        assertTrue(second.items().stream().anyMatch(item -> item.id().equals(pendingMonitoria.getId())));
+        assertTrue(second.items().stream().anyMatch(item -> item.id().equals(pendingExtensionProject.getId())));
+    }
+
+    @Test
+    @DisplayName("Should filter the pending queue by type")
+    void getPendingApprovalsByType() {
+        ApprovalService.PendingApprovalsPage page = approvalService.getPendingApprovals("extensao", null, 10);
+        assertEquals(1, page.items().size());
+        assertEquals(pendingExtensionProject.getId(), page.items().get(0).id());
+        assertThrows(IllegalArgumentException.class, () -> approvalService.getPendingApprovals("INVALID_TYPE", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> approvalService.getPendingApprovals(null, "not-a-cursor", 10));
+    }
+
+    @Test
+    @DisplayName("Should approve several items in bulk and report per-item outcomes")
+    void approveItemsInBulk() {
+        UUID missingId = UUID.randomUUID();
+        List<BulkApprovalResultDTO> results = approvalService.approveItems(List.of(
+                new ApprovalItemRefDTO(pendingMonitoria.getId(), "MONITORIA"),
+                new ApprovalItemRefDTO(pendingResearchProject.getId(), "pesquisa"),
+                new ApprovalItemRefDTO(missingId, "EXTENSAO"),
+                new ApprovalItemRefDTO(pendingExtensionProject.getId(), "INVALID_TYPE")
+        ));
+
+        assertEquals(4, results.size());
+        assertEquals(BulkApprovalOutcome.APLICADO, results.get(0).outcome());
+        assertEquals(BulkApprovalOutcome.APLICADO, results.get(1).outcome());
+        assertEquals(BulkApprovalOutcome.NAO_ENCONTRADO, results.get(2).outcome());
+        assertEquals(BulkApprovalOutcome.TIPO_INVALIDO, results.get(3).outcome());
+
+        assertEquals(StatusMonitoria.APROVADA, monitoriaRepository.findById(pendingMonitoria.getId()).get().getStatusMonitoria());
+        assertEquals(ResearchProject.ProjectStatus.ANALISE, researchProjectRepository.findById(pendingResearchProject.getId()).get().getStatus());
+        assertEquals(ExtensionProject.ProjectStatus.ABERTO, extensionProjectRepository.findById(pendingExtensionProject.getId()).get().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject several items in bulk")
+    void rejectItemsInBulk() {
+        List<BulkApprovalResultDTO> results = approvalService.rejectItems(List.of(
+                new ApprovalItemRefDTO(pendingMonitoria.getId(), "MONITORIA"),
+                new ApprovalItemRefDTO(pendingExtensionProject.getId(), "EXTENSAO")
+        ));
+
+        assertTrue(results.stream().allMatch(r -> r.outcome() == BulkApprovalOutcome.APLICADO));
+        assertEquals(StatusMonitoria.REJEITADA, monitoriaRepository.findById(pendingMonitoria.getId()).get().getStatusMonitoria());
+        assertEquals(ExtensionProject.ProjectStatus.CANCELADO, extensionProjectRepository.findById(pendingExtensionProject.getId()).get().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should leave already-decided items untouched in bulk and report them as not pending")
+    void approveItemsInBulkSkipsDecidedItems() {
+        approvalService.rejectItem(pendingMonitoria.getId(), "MONITORIA");
+        approvalService.approveItem(pendingResearchProject.getId(), "PESQUISA");
+        monitoriaRepository.flush();
+        Long monitoriaVersion = monitoriaRepository.findById(pendingMonitoria.getId()).orElseThrow().getVersion();
+        Long researchVersion = researchProjectRepository.findById(pendingResearchProject.getId()).orElseThrow().getVersion();
+        int outboxBefore = outboxRepository.findByRecipientOrderByCreatedAtAsc("prof.test@biopark.edu.br").size();
+        applicationEvents.clear();
+
+        // Seleção desatualizada: a monitoria já foi rejeitada e o projeto de pesquisa já foi aprovado
+        List<BulkApprovalResultDTO> results = approvalService.approveItems(List.of(
+                new ApprovalItemRefDTO(pendingMonitoria.getId(), "MONITORIA"),
+                new ApprovalItemRefDTO(pendingResearchProject.getId(), "PESQUISA"),
+                new ApprovalItemRefDTO(pendingExtensionProject.getId(), "EXTENSAO"),
+                new ApprovalItemRefDTO(UUID.randomUUID(), "MONITORIA")
+        ));
+
+        assertEquals(BulkApprovalOutcome.NAO_PENDENTE, results.get(0).outcome());
+        assertEquals(BulkApprovalOutcome.NAO_PENDENTE, results.get(1).outcome());
+        assertEquals(BulkApprovalOutcome.APLICADO, results.get(2).outcome());
+        assertEquals(BulkApprovalOutcome.NAO_ENCONTRADO, results.get(3).outcome());
+
+        Monitoria monitoria = monitoriaRepository.findById(pendingMonitoria.getId()).orElseThrow();
+        assertEquals(StatusMonitoria.REJEITADA, monitoria.getStatusMonitoria());
+        assertEquals(monitoriaVersion, monitoria.getVersion());
+        ResearchProject research = researchProjectRepository.findById(pendingResearchProject.getId()).orElseThrow();
+        assertEquals(ResearchProject.ProjectStatus.ANALISE, research.getStatus());
+        assertEquals(researchVersion, research.getVersion());
+        assertEquals(ExtensionProject.ProjectStatus.ANALISE, extensionProjectRepository.findById(pendingExtensionProject.getId()).get().getStatus());
+
+        // Só o item aplicado gera evento; a monitoria já decidida não gera um novo e-mail
+        List<ChangeEvent> events = applicationEvents.stream(ChangeEvent.class).toList();
+        assertEquals(1, events.size());
+        assertEquals(pendingExtensionProject.getId(), events.get(0).itemId());
+        assertEquals(outboxBefore, outboxRepository.findByRecipientOrderByCreatedAtAsc("prof.test@biopark.edu.br").size());
+    }
+}
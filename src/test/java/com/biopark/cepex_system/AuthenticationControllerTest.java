@@ -1,7 +1,10 @@
 package com.biopark.cepex_system;
 
+import com.biopark.cepex_system.domain.notification.NotificationOutbox;
+import com.biopark.cepex_system.domain.notification.OutboxStatus;
 import com.biopark.cepex_system.domain.user.*;
 import com.biopark.cepex_system.infra.security.TokenService;
+import com.biopark.cepex_system.repository.NotificationOutboxRepository;
 import com.biopark.cepex_system.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +14,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -31,10 +43,14 @@ class AuthenticationControllerTest {
     private ObjectMapper objectMapper;
     @Autowired
     private UserRepository userRepository;
-    @Autowired
+    @MockitoSpyBean
     private PasswordEncoder passwordEncoder;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeEach
     void setUp() {
@@ -57,6 +73,26 @@ class AuthenticationControllerTest {
                 .andExpect(jsonPath("$.token").exists());
     }
 
+    @Test
+    @DisplayName("Should rehash a password stored with an outdated BCrypt cost on login")
+    void loginRehashesOutdatedPassword() throws Exception {
+        String weakHash = new BCryptPasswordEncoder(4).encode("testpassword");
+        userRepository.save(new User("legacyuser", "legacy@example.com", weakHash, UserRole.STUDENT));
+
+        AuthenticationDTO authDto = new AuthenticationDTO("legacyuser", "testpassword");
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists());
+
+        User updated = (User) userRepository.findByLogin("legacyuser");
+        assertNotEquals(weakHash, updated.getPassword());
+        assertFalse(passwordEncoder.upgradeEncoding(updated.getPassword()));
+        assertTrue(passwordEncoder.matches("testpassword", updated.getPassword()));
+    }
+
     @Test
     @DisplayName("Should return 401 for invalid login credentials")
     void loginInvalidCredentials() throws Exception {
@@ -118,7 +154,20 @@ class AuthenticationControllerTest {
                 .andExpect(jsonPath("$").value("Erro: Email já cadastrado."));
     }
 
-    // Testes para /forgot-password e /reset-password (apenas validação de requisição, não a lógica de envio de email)
+    @Test
+    @DisplayName("Should return 429 when the password hashing pool is saturated")
+    void registerReturns429WhenHashingPoolIsFull() throws Exception {
+        doThrow(new RejectedExecutionException("pool cheio")).when(passwordEncoder).encode(any());
+        RegisterDTO registerDto = new RegisterDTO("busyuser", "busy@example.com", "securepassword", UserRole.STUDENT);
+
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerDto)))
+                .andExpect(status().isTooManyRequests());
+        assertNull(userRepository.findByLogin("busyuser"));
+    }
+
+    // Testes para /forgot-password e /reset-password
     @Test
     @DisplayName("Should return success message for forgot-password request even if email does not exist")
     void forgotPasswordRequest() throws Exception {
@@ -132,14 +181,94 @@ class AuthenticationControllerTest {
     }
 
     @Test
-    @DisplayName("Should return success message for reset-password request")
-    void resetPasswordRequest() throws Exception {
-        ResetPasswordDTO resetPasswordDto = new ResetPasswordDTO("valid-token-uuid", "newPassword123", "newPassword123");
+    @DisplayName("Should write the password reset e-mail to the outbox when the email exists")
+    void forgotPasswordEnqueuesEmail() throws Exception {
+        userRepository.save(new User("resetuser", "reset@example.com", passwordEncoder.encode("testpassword"), UserRole.STUDENT));
+
+        mockMvc.perform(post("/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ForgotPasswordDTO("reset@example.com"))))
+                .andExpect(status().isOk());
+
+        List<NotificationOutbox> outbox = outboxRepository.findByRecipientOrderByCreatedAtAsc("reset@example.com");
+        assertEquals(1, outbox.size());
+        assertEquals(OutboxStatus.PENDENTE, outbox.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reset the password with the e-mailed code only once")
+    void resetPasswordWithEmailedCode() throws Exception {
+        userRepository.save(new User("resetuser", "reset@example.com", passwordEncoder.encode("testpassword"), UserRole.STUDENT));
+        String token = requestResetCode("reset@example.com");
 
         mockMvc.perform(post("/auth/reset-password")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(resetPasswordDto)))
+                        .content(objectMapper.writeValueAsString(new ResetPasswordDTO(token, "newPassword123", "newPassword123"))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").value("Senha atualizada com sucesso!"));
+        assertTrue(passwordEncoder.matches("newPassword123", userRepository.findByEmail("reset@example.com").getPassword()));
+
+        // Uso único
+        mockMvc.perform(post("/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ResetPasswordDTO(token, "otherPassword123", "otherPassword123"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown, expired or superseded reset code and a mismatched confirmation")
+    void resetPasswordRejectsInvalidCodes() throws Exception {
+        userRepository.save(new User("resetuser", "reset@example.com", passwordEncoder.encode("testpassword"), UserRole.STUDENT));
+
+        mockMvc.perform(post("/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ResetPasswordDTO("valid-token-uuid", "newPassword123", "newPassword123"))))
+                .andExpect(status().isBadRequest());
+
+        String superseded = requestResetCode("reset@example.com");
+        String token = requestResetCode("reset@example.com"); // Só o código mais recente vale
+        mockMvc.perform(post("/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ResetPasswordDTO(superseded, "newPassword123", "newPassword123"))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ResetPasswordDTO(token, "newPassword123", "differentPassword"))))
+                .andExpect(status().isBadRequest());
+
+        jdbcTemplate.update("UPDATE password_reset_token SET expires_at = ?", LocalDateTime.now().minusMinutes(1));
+        mockMvc.perform(post("/auth/reset-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ResetPasswordDTO(token, "newPassword123", "newPassword123"))))
+                .andExpect(status().isBadRequest());
+        assertTrue(passwordEncoder.matches("testpassword", userRepository.findByEmail("reset@example.com").getPassword()));
+    }
+
+    @Test
+    @DisplayName("Should stop sending reset e-mails to an address above the request limit")
+    void forgotPasswordIsRateLimited() throws Exception {
+        userRepository.save(new User("resetuser", "reset@example.com", passwordEncoder.encode("testpassword"), UserRole.STUDENT));
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/auth/forgot-password")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new ForgotPasswordDTO("reset@example.com"))))
+                    .andExpect(status().isOk());
+        }
+
+        assertEquals(3, outboxRepository.findByRecipientOrderByCreatedAtAsc("reset@example.com").size());
+    }
+
+    // Pede um código de recuperação e o lê do e-mail que a requisição gravou no outbox
+    private String requestResetCode(String email) throws Exception {
+        List<NotificationOutbox> before = outboxRepository.findByRecipientOrderByCreatedAtAsc(email);
+        mockMvc.perform(post("/auth/forgot-password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ForgotPasswordDTO(email))))
+                .andExpect(status().isOk());
+        NotificationOutbox message = outboxRepository.findByRecipientOrderByCreatedAtAsc(email).stream()
+                .filter(outbox -> !before.contains(outbox))
+                .findFirst().orElseThrow();
+        return message.getBody().split("\n\n")[2];
     }
-}
\ No newline at end of file
+}
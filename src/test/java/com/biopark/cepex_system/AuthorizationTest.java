@@ -1,9 +1,15 @@
 package com.biopark.cepex_system;
 
+import com.auth0.jwt.JWT;
 import com.biopark.cepex_system.domain.user.User;
 import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.domain.usermanager.UserDTO;
+import com.biopark.cepex_system.infra.security.PrincipalCache;
+import com.biopark.cepex_system.infra.security.TokenRevocationRegistry;
 import com.biopark.cepex_system.infra.security.TokenService;
+import com.biopark.cepex_system.infra.security.TokenUserPrincipal;
 import com.biopark.cepex_system.repository.UserRepository;
+import com.biopark.cepex_system.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,12 +17,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -34,6 +47,14 @@ class AuthorizationTest {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private TokenService tokenService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     private String adminToken;
     private String studentToken;
@@ -149,4 +170,101 @@ class AuthorizationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden()); // Or 401 Unauthorized, depending on filter chain. 403 is more specific after token validation failure if the user is then considered anonymous.
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Role change through UserService should take effect immediately for a cached principal")
+    void roleChangeInvalidatesCachedPrincipal() throws Exception {
+        mockMvc.perform(get("/users/")
+                        .header("Authorization", "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+
+        User student = (User) userRepository.findByLogin("estudante1");
+        userService.updateRole(student.getId(), UserRole.ADMIN);
+
+        mockMvc.perform(get("/users/")
+                        .header("Authorization", "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Principal rebuilt from token claims should match the user and be revoked after a status change")
+    void statelessPrincipalFromClaims() {
+        User student = (User) userRepository.findByLogin("estudante1");
+
+        TokenUserPrincipal principal = tokenService.parsePrincipal(studentToken);
+        assertNotNull(principal);
+        assertEquals(student.getId(), principal.getId());
+        assertEquals("estudante1", principal.getUsername());
+        assertEquals(UserRole.STUDENT, principal.getRole());
+        assertFalse(revocationRegistry.isRevoked(principal.getId(), principal.epoch()));
+        assertNull(tokenService.parsePrincipal("INVALID_TOKEN"));
+
+        userService.updateStatus(student.getId(), false);
+
+        assertTrue(revocationRegistry.isRevoked(principal.getId(), principal.epoch()));
+    }
+
+    @Test
+    @DisplayName("A profile-only update should keep issued tokens valid, while a role change revokes them")
+    void profileUpdateDoesNotRevokeTokens() {
+        User student = (User) userRepository.findByLogin("estudante1");
+        TokenUserPrincipal principal = tokenService.parsePrincipal(studentToken);
+        assertNotNull(principal);
+
+        UserDTO dto = new UserDTO();
+        dto.setLogin("estudante1");
+        dto.setEmail("novo.email@biopark.edu.br");
+        dto.setTipo("Aluno");
+        userService.updateUser(student.getId(), dto);
+        userService.updateStatus(student.getId(), true);
+
+        assertFalse(revocationRegistry.isRevoked(principal.getId(), principal.epoch()));
+
+        userService.updateRole(student.getId(), UserRole.PROFESSOR);
+
+        assertTrue(revocationRegistry.isRevoked(principal.getId(), principal.epoch()));
+    }
+
+    @Test
+    @DisplayName("A principal loaded between the eviction and the commit should be discarded after the commit")
+    void evictionIsRepeatedAfterCommit() throws Exception {
+        User student = (User) userRepository.findByLogin("estudante1");
+        String token = "token-" + UUID.randomUUID();
+        long[] epochInWindow = new long[1];
+
+        // Transação própria, que de fato faz commit (a do teste sempre sofre rollback)
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            principalCache.revoke(student.getId(), student.getLogin());
+
+            // Requisição concorrente antes do commit: recarrega a linha antiga e a guarda no cache
+            UserDetails stale = principalCache.getOrLoad(token, () -> student);
+            assertSame(student, principalCache.getOrLoad(token, () -> null));
+
+            // Token emitido nessa janela, ainda com o papel antigo
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            epochInWindow[0] = System.currentTimeMillis();
+            assertFalse(revocationRegistry.isRevoked(student.getId(), epochInWindow[0]));
+            assertNotNull(stale);
+        });
+
+        assertNull(principalCache.getOrLoad(token, () -> null));
+        assertTrue(revocationRegistry.isRevoked(student.getId(), epochInWindow[0]));
+    }
+
+    @Test
+    @DisplayName("Token expiry should be the configured lifetime from now, independent of the host time zone")
+    void tokenExpiresAfterConfiguredLifetime() {
+        Instant expected = Instant.now().plusMillis(86400000L);
+        Instant expiresAt = JWT.decode(tokenService.generateToken((User) userRepository.findByLogin("admin")))
+                .getExpiresAtAsInstant();
+        assertTrue(Duration.between(expiresAt, expected).abs().getSeconds() < 5);
+    }
+}
@@ -0,0 +1,129 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.feedback.AvaliacaoPlataforma;
+import com.biopark.cepex_system.domain.feedback.RatingTrendGranularity;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.repository.AvaliacaoPlataformaRepository;
+import com.biopark.cepex_system.repository.UserRepository;
+import com.biopark.cepex_system.service.AvaliacaoPlataformaService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class AvaliacaoPlataformaServiceTest {
+
+    @Autowired
+    private AvaliacaoPlataformaService avaliacaoService;
+    @Autowired
+    private AvaliacaoPlataformaRepository avaliacaoRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        avaliacaoRepository.deleteAll();
+        // Zera o resumo por estrela direto no banco (desfeito pelo rollback do teste)
+        jdbcTemplate.update("UPDATE avaliacao_plataforma_resumo SET total = 0");
+
+        user = new User("avaliador", "avaliador@example.com", "password", UserRole.STUDENT);
+        user.setStatus(true);
+        user = userRepository.save(user);
+    }
+
+    @Test
+    @DisplayName("Should reject ratings outside 1 to 5")
+    void saveRejectsRatingOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> avaliacaoService.save(0, user.getId()));
+        assertThrows(IllegalArgumentException.class, () -> avaliacaoService.save(6, user.getId()));
+        assertThrows(IllegalArgumentException.class, () -> avaliacaoService.save(null, user.getId()));
+        assertEquals(0, avaliacaoRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should keep the per-star summary in step with saved ratings")
+    void saveUpdatesRatingSummary() {
+        avaliacaoService.save(5, user.getId());
+        avaliacaoService.save(5, user.getId());
+        avaliacaoService.save(2, user.getId());
+
+        AvaliacaoPlataformaService.RatingSummaryDTO summary = avaliacaoService.getRatingSummary();
+        assertEquals(3, summary.count());
+        assertEquals(4.0, summary.average(), 0.0001);
+        assertEquals(2L, summary.histogram().get(5));
+        assertEquals(1L, summary.histogram().get(2));
+        assertEquals(0L, summary.histogram().get(1));
+        assertEquals(5, summary.histogram().size());
+        assertEquals(4.0, avaliacaoService.getAverageRating(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Should group the rating trend by day, Monday-based week and month")
+    void getRatingTrendGroupsByPeriod() {
+        saveAt(5, LocalDateTime.of(2024, 1, 1, 10, 0));  // segunda-feira
+        saveAt(3, LocalDateTime.of(2024, 1, 3, 18, 30)); // quarta-feira da mesma semana
+        saveAt(4, LocalDateTime.of(2024, 1, 10, 9, 0));
+        saveAt(1, LocalDateTime.of(2024, 2, 5, 23, 59));
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 2, 29);
+
+        List<AvaliacaoPlataformaService.RatingTrendPointDTO> days = avaliacaoService.getRatingTrend(RatingTrendGranularity.DAY, from, to);
+        assertEquals(4, days.size());
+        assertEquals(LocalDate.of(2024, 1, 3), days.get(1).period());
+
+        List<AvaliacaoPlataformaService.RatingTrendPointDTO> weeks = avaliacaoService.getRatingTrend(RatingTrendGranularity.WEEK, from, to);
+        assertEquals(3, weeks.size());
+        assertEquals(LocalDate.of(2024, 1, 1), weeks.get(0).period());
+        assertEquals(2, weeks.get(0).count());
+        assertEquals(4.0, weeks.get(0).average(), 0.0001);
+        assertEquals(LocalDate.of(2024, 1, 8), weeks.get(1).period());
+        assertEquals(LocalDate.of(2024, 2, 5), weeks.get(2).period());
+
+        List<AvaliacaoPlataformaService.RatingTrendPointDTO> months = avaliacaoService.getRatingTrend(RatingTrendGranularity.MONTH, from, to);
+        assertEquals(2, months.size());
+        assertEquals(LocalDate.of(2024, 1, 1), months.get(0).period());
+        assertEquals(3, months.get(0).count());
+        assertEquals(4.0, months.get(0).average(), 0.0001);
+        assertEquals(LocalDate.of(2024, 2, 1), months.get(1).period());
+        assertEquals(1.0, months.get(1).average(), 0.0001);
+
+        // O último dia entra inteiro no intervalo
+        assertEquals(1, avaliacaoService.getRatingTrend(RatingTrendGranularity.DAY, LocalDate.of(2024, 2, 5), LocalDate.of(2024, 2, 5)).size());
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted or too long trend range")
+    void getRatingTrendValidatesRange() {
+        assertThrows(IllegalArgumentException.class, () ->
+                avaliacaoService.getRatingTrend(RatingTrendGranularity.DAY, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () ->
+                avaliacaoService.getRatingTrend(RatingTrendGranularity.MONTH, LocalDate.of(2020, 1, 1), LocalDate.of(2024, 1, 1)));
+    }
+
+    // A data da avaliação é preenchida na inserção (@CreationTimestamp); é ajustada depois, direto no banco
+    private void saveAt(int rating, LocalDateTime date) {
+        AvaliacaoPlataforma avaliacao = avaliacaoService.save(rating, user.getId());
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE avaliacao_plataforma SET avaliation_date = ? WHERE id = UUID_TO_BIN(?)",
+                date, avaliacao.getId().toString());
+    }
+}
@@ -2,6 +2,9 @@ package com.biopark.cepex_system;
 
 import com.biopark.cepex_system.domain.course.Course;
 import com.biopark.cepex_system.domain.course.Discipline;
+import com.biopark.cepex_system.domain.enrollment.EnrollmentSummary;
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
 import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
 import com.biopark.cepex_system.domain.monitoria.SelectionType;
@@ -17,16 +20,20 @@ import com.biopark.cepex_system.repository.MonitoriaRepository;
 import com.biopark.cepex_system.repository.ProfessorRepository;
 import com.biopark.cepex_system.repository.UserRepository;
 import com.biopark.cepex_system.service.CandidaturaMonitoriaService;
+import com.biopark.cepex_system.service.EnrollmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,11 +41,17 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@RecordApplicationEvents
 class CandidaturaMonitoriaServiceTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private CandidaturaMonitoriaService candidaturaMonitoriaService;
     @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
     private CandidaturaMonitoriaRepository candidaturaRepository;
     @Autowired
     private MonitoriaRepository monitoriaRepository;
@@ -177,6 +190,102 @@ class CandidaturaMonitoriaServiceTest {
         assertNotEquals(existingCandidatura.getDataCandidatura(), newCandidatura.getDataCandidatura());
     }
 
+    @Test
+    @DisplayName("Should return the same candidature when retried with the same idempotency key")
+    void candidatarIdempotentRetry() {
+        CandidaturaMonitoria first = candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId(), "retry-key-1");
+        CandidaturaMonitoria retried = candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId(), "retry-key-1");
+
+        assertEquals(first.getId(), retried.getId());
+        assertEquals(1, candidaturaRepository.findByMonitoria(monitoriaRepository.getReferenceById(monitoria.getId())).size());
+        assertThrows(RuntimeException.class, () ->
+                candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId(), "other-key")
+        );
+    }
+
+    @Test
+    @DisplayName("Should neither reopen nor republish a decided candidature when retried with the same idempotency key")
+    void candidatarRetryAfterDecision() {
+        CandidaturaMonitoria first = candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId(), "retry-key-2");
+        candidaturaMonitoriaService.rejeitarCandidatura(monitoria.getId(), first.getId());
+        applicationEvents.clear();
+
+        CandidaturaMonitoria retried = candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId(), "retry-key-2");
+
+        assertEquals(StatusCandidatura.REJEITADA, retried.getStatus());
+        assertEquals(0, applicationEvents.stream(ChangeEvent.class).count());
+
+        // Uma nova chave reabre a candidatura rejeitada e publica o novo status
+        CandidaturaMonitoria reopened = candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId(), "retry-key-3");
+        assertEquals(StatusCandidatura.PENDENTE, reopened.getStatus());
+        assertEquals(1, applicationEvents.stream(ChangeEvent.class).count());
+    }
+
+    @Test
+    @DisplayName("Should report a missing monitoria or student before writing the candidature")
+    void candidatarUnknownMonitoria() {
+        RuntimeException thrown = assertThrows(RuntimeException.class, () ->
+                candidaturaMonitoriaService.candidatar(UUID.randomUUID(), studentUser.getId())
+        );
+        assertEquals("Monitoria ou aluno não encontrado.", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should approve up to the number of vacancies and waitlist the overflow")
+    void aprovarCandidaturaRespectsVacancies() {
+        List<CandidaturaMonitoria> candidaturas = new java.util.ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User aluno = new User("aluno" + i, "aluno" + i + "@example.com", "password", UserRole.STUDENT);
+            aluno.setStatus(true);
+            aluno = userRepository.save(aluno);
+            candidaturas.add(candidaturaRepository.save(new CandidaturaMonitoria(monitoria, aluno)));
+        }
+
+        assertEquals(StatusCandidatura.APROVADA, candidaturaMonitoriaService.aprovarCandidatura(monitoria.getId(), candidaturas.get(0).getId()).getStatus());
+        assertEquals(StatusCandidatura.APROVADA, candidaturaMonitoriaService.aprovarCandidatura(monitoria.getId(), candidaturas.get(1).getId()).getStatus());
+        assertEquals(StatusCandidatura.LISTA_ESPERA, candidaturaMonitoriaService.aprovarCandidatura(monitoria.getId(), candidaturas.get(2).getId()).getStatus());
+        assertEquals(2, monitoriaRepository.findById(monitoria.getId()).orElseThrow().getFilled());
+        assertEquals(1, candidaturaMonitoriaService.findListaEspera(monitoria.getId()).size());
+
+        // Rejeitar uma aprovada libera a vaga, que é ocupada em seguida pela lista de espera
+        candidaturaMonitoriaService.rejeitarCandidatura(monitoria.getId(), candidaturas.get(0).getId());
+        assertEquals(StatusCandidatura.REJEITADA, candidaturaRepository.findById(candidaturas.get(0).getId()).orElseThrow().getStatus());
+        assertEquals(StatusCandidatura.APROVADA, candidaturaRepository.findById(candidaturas.get(2).getId()).orElseThrow().getStatus());
+        assertEquals(2, monitoriaRepository.findById(monitoria.getId()).orElseThrow().getFilled());
+        assertTrue(candidaturaMonitoriaService.findListaEspera(monitoria.getId()).isEmpty());
+
+        assertThrows(IllegalStateException.class, () ->
+                candidaturaMonitoriaService.aprovarCandidatura(monitoria.getId(), candidaturas.get(1).getId())
+        );
+
+        // Sem ninguém na lista de espera, a vaga liberada fica livre
+        candidaturaMonitoriaService.rejeitarCandidatura(monitoria.getId(), candidaturas.get(1).getId());
+        assertEquals(1, monitoriaRepository.findById(monitoria.getId()).orElseThrow().getFilled());
+    }
+
+    @Test
+    @DisplayName("Should promote the head of the waitlist when an approved candidature frees its seat")
+    void rejeitarCandidaturaPromotesWaitlist() {
+        List<CandidaturaMonitoria> candidaturas = new java.util.ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User aluno = new User("espera" + i, "espera" + i + "@example.com", "password", UserRole.STUDENT);
+            aluno.setStatus(true);
+            aluno = userRepository.save(aluno);
+            CandidaturaMonitoria candidatura = new CandidaturaMonitoria(monitoria, aluno);
+            candidatura.setDataCandidatura(LocalDateTime.now().minusMinutes(10 - i)); // Ordem de chegada explícita
+            candidaturas.add(candidaturaRepository.save(candidatura));
+        }
+        for (CandidaturaMonitoria candidatura : candidaturas) {
+            candidaturaMonitoriaService.aprovarCandidatura(monitoria.getId(), candidatura.getId());
+        }
+
+        candidaturaMonitoriaService.rejeitarCandidatura(monitoria.getId(), candidaturas.get(0).getId());
+
+        assertEquals(StatusCandidatura.APROVADA, candidaturaRepository.findById(candidaturas.get(2).getId()).orElseThrow().getStatus());
+        assertEquals(StatusCandidatura.LISTA_ESPERA, candidaturaRepository.findById(candidaturas.get(3).getId()).orElseThrow().getStatus());
+        assertEquals(2, monitoriaRepository.findById(monitoria.getId()).orElseThrow().getFilled());
+    }
+
     @Test
     @DisplayName("Should cancel a pending candidature successfully")
     void cancelarCandidaturaSuccess() {
@@ -253,6 +362,34 @@ class CandidaturaMonitoriaServiceTest {
         assertEquals(2, candidaturas.size());
     }
 
+    @Test
+    @DisplayName("Should return the student's status for several monitorias at once")
+    void findCandidaturaStatusesBatch() {
+        candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId());
+        UUID semCandidatura = UUID.randomUUID();
+
+        Map<UUID, StatusCandidatura> statuses = candidaturaMonitoriaService.findCandidaturaStatuses(
+                List.of(monitoria.getId(), semCandidatura), studentUser.getId());
+        assertEquals(Map.of(monitoria.getId(), StatusCandidatura.PENDENTE), statuses);
+        assertTrue(candidaturaMonitoriaService.findCandidaturaStatuses(List.of(), studentUser.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should list the student's enrollments as compact summaries")
+    void findEnrollmentsByAluno() {
+        CandidaturaMonitoria candidatura = candidaturaMonitoriaService.candidatar(monitoria.getId(), studentUser.getId());
+
+        List<EnrollmentSummary> enrollments = enrollmentService.findByAluno(studentUser.getId());
+        assertEquals(1, enrollments.size());
+        EnrollmentSummary summary = enrollments.get(0);
+        assertEquals(EnrollmentType.MONITORIA, summary.type());
+        assertEquals(candidatura.getId(), summary.id());
+        assertEquals(monitoria.getId(), summary.itemId());
+        assertEquals("Monitoria de POO", summary.itemTitle());
+        assertEquals(StatusCandidatura.PENDENTE.name(), summary.status());
+        assertTrue(enrollmentService.findByAluno(professorUser.getId()).isEmpty());
+    }
+
     @Test
     @DisplayName("Should find candidatures by student")
     void findCandidaturasByAluno() {
@@ -0,0 +1,179 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.enrollment.EnrollmentType;
+import com.biopark.cepex_system.domain.event.ChangeEvent;
+import com.biopark.cepex_system.domain.event.ChangeTopic;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.service.ChangeStreamHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do canal de eventos chamando subscribe e onChange diretamente, sem contexto Spring.
+ * As conexões são RecordingEmitter, que guardam os eventos enviados pelas duas threads de envio.
+ */
+class ChangeStreamHubTest {
+
+    private final Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+    private ChangeStreamHub hub;
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        if (hub != null) {
+            hub.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver the approval queue only to staff and a student's enrollments only to that student")
+    void onChangeFiltersByRole() throws Exception {
+        hub = newHub(100, 10);
+        UUID studentId = UUID.randomUUID();
+        hub.subscribe(UUID.randomUUID(), UserRole.SECRETARY, Set.of());
+        RecordingEmitter staff = emitters.getLast();
+        hub.subscribe(studentId, UserRole.STUDENT, Set.of());
+        RecordingEmitter student = emitters.getLast();
+        hub.subscribe(UUID.randomUUID(), UserRole.ADMIN, EnumSet.of(ChangeTopic.ENROLLMENT));
+        RecordingEmitter enrollmentsOnly = emitters.getLast();
+
+        ChangeEvent approval = ChangeEvent.approval("MONITORIA", UUID.randomUUID(), "APROVADA");
+        ChangeEvent otherStudent = ChangeEvent.enrollment(EnrollmentType.MONITORIA, UUID.randomUUID(), UUID.randomUUID(), "APROVADA");
+        ChangeEvent ownEnrollment = ChangeEvent.enrollment(EnrollmentType.MONITORIA, UUID.randomUUID(), studentId, "REJEITADA");
+        hub.onChange(approval);
+        hub.onChange(otherStudent);
+        hub.onChange(ownEnrollment);
+
+        assertEquals(approval, staff.next());
+        assertEquals(otherStudent, staff.next());
+        assertEquals(ownEnrollment, staff.next());
+        // Cada conexão recebe na ordem de publicação: o primeiro evento do aluno já deve ser o seu
+        assertEquals(ownEnrollment, student.next());
+        assertEquals(otherStudent, enrollmentsOnly.next());
+        assertEquals(ownEnrollment, enrollmentsOnly.next());
+        assertTrue(student.sent.isEmpty());
+        assertEquals(3, hub.connectionCount());
+    }
+
+    @Test
+    @DisplayName("Should not let a student subscribe to the approval queue")
+    void studentCannotSubscribeToApprovalQueue() throws Exception {
+        hub = newHub(100, 10);
+        UUID studentId = UUID.randomUUID();
+        hub.subscribe(studentId, UserRole.STUDENT, EnumSet.of(ChangeTopic.APPROVAL_QUEUE, ChangeTopic.ENROLLMENT));
+        RecordingEmitter student = emitters.getLast();
+
+        hub.onChange(ChangeEvent.approval("PESQUISA", UUID.randomUUID(), "APROVADO"));
+        ChangeEvent ownEnrollment = ChangeEvent.enrollment(EnrollmentType.RESEARCH_PROJECT, UUID.randomUUID(), studentId, "APROVADA");
+        hub.onChange(ownEnrollment);
+
+        assertEquals(ownEnrollment, student.next());
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose buffer overflows and keep serving the others")
+    void bufferOverflowDisconnectsSlowSubscriber() throws Exception {
+        hub = newHub(1, 10);
+        hub.subscribe(UUID.randomUUID(), UserRole.ADMIN, Set.of());
+        RecordingEmitter slow = emitters.getLast();
+        slow.blocking = true;
+        hub.subscribe(UUID.randomUUID(), UserRole.ADMIN, Set.of());
+        RecordingEmitter fast = emitters.getLast();
+
+        ChangeEvent first = ChangeEvent.approval("MONITORIA", UUID.randomUUID(), "APROVADA");
+        hub.onChange(first);
+        // A thread de envio do cliente lento fica presa no primeiro evento
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        assertEquals(first, fast.next());
+
+        ChangeEvent second = ChangeEvent.approval("MONITORIA", UUID.randomUUID(), "REJEITADA");
+        hub.onChange(second); // Ocupa o buffer
+        assertFalse(slow.completed);
+        ChangeEvent third = ChangeEvent.approval("EXTENSAO", UUID.randomUUID(), "APROVADO");
+        hub.onChange(third); // Buffer cheio: desconecta
+
+        assertTrue(slow.completed);
+        assertEquals(1, hub.connectionCount());
+        assertEquals(second, fast.next());
+        assertEquals(third, fast.next());
+    }
+
+    @Test
+    @DisplayName("Should refuse new connections above the configured limit")
+    void subscribeRespectsConnectionCap() {
+        hub = newHub(10, 2);
+        hub.subscribe(UUID.randomUUID(), UserRole.ADMIN, Set.of());
+        hub.subscribe(UUID.randomUUID(), UserRole.STUDENT, Set.of());
+
+        assertThrows(IllegalStateException.class, () -> hub.subscribe(UUID.randomUUID(), UserRole.ADMIN, Set.of()));
+        assertEquals(2, hub.connectionCount());
+    }
+
+    private ChangeStreamHub newHub(int bufferSize, int maxConnections) {
+        return new ChangeStreamHub(2, bufferSize, maxConnections, 60000) {
+            @Override
+            protected SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    /**
+     * Conexão que guarda os eventos enviados; com blocking, a primeira escrita fica presa até release,
+     * simulando um cliente lento.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<ChangeEvent> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blocking;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blocking) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+                if (item.getData() instanceof ChangeEvent event) {
+                    sent.add(event);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        private ChangeEvent next() throws InterruptedException {
+            ChangeEvent event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "Nenhum evento recebido");
+            return event;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.course.Course;
+import com.biopark.cepex_system.domain.course.Discipline;
+import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.SelectionType;
+import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
+import com.biopark.cepex_system.domain.professor.Professor;
+import com.biopark.cepex_system.domain.project.ResearchProject;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.repository.CourseRepository;
+import com.biopark.cepex_system.repository.DisciplineRepository;
+import com.biopark.cepex_system.repository.MonitoriaRepository;
+import com.biopark.cepex_system.repository.ProfessorRepository;
+import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import com.biopark.cepex_system.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes dos endpoints de detalhe versionados: ETag / If-None-Match no GET e If-Match no PUT.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class DetailVersionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private MonitoriaRepository monitoriaRepository;
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private DisciplineRepository disciplineRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("GET /research-projects/{id} should answer 304 for the current ETag and PUT should reject a stale If-Match")
+    void researchProjectDetailUsesVersionAsETag() throws Exception {
+        ResearchProject project = new ResearchProject();
+        project.setTitle("Projeto de Pesquisa Versionado");
+        project.setStatus(ResearchProject.ProjectStatus.ABERTO);
+        project.setLeadResearcher(createUser(UserRole.PROFESSOR));
+        project = researchProjectRepository.save(project);
+        entityManager.flush();
+        entityManager.clear();
+        String url = "/research-projects/" + project.getId();
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn().getResponse().getHeader("ETag");
+        assertEquals("\"0\"", etag);
+
+        mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        String body = "{\"title\":\"Atualizado\",\"status\":\"ABERTO\",\"leadResearcher\":{\"id\":\""
+                + project.getLeadResearcher().getId() + "\"}}";
+        mockMvc.perform(put(url).header("If-Match", "\"7\"").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put(url).header("If-Match", "7").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("PUT /monitorias/{id} should reject a stale If-Match and apply the update for the current one")
+    void monitoriaUpdateChecksIfMatch() throws Exception {
+        Monitoria monitoria = createMonitoria();
+        entityManager.flush();
+        entityManager.clear();
+        String url = "/monitorias/" + monitoria.getId();
+
+        mockMvc.perform(put(url).header("If-Match", "\"3\"").contentType(MediaType.APPLICATION_JSON)
+                        .content(monitoriaBody(monitoria, "Título Recusado")))
+                .andExpect(status().isPreconditionFailed());
+        entityManager.clear();
+        assertEquals("Monitoria Versionada", monitoriaRepository.findById(monitoria.getId()).orElseThrow().getTitle());
+
+        mockMvc.perform(put(url).header("If-Match", "3").contentType(MediaType.APPLICATION_JSON)
+                        .content(monitoriaBody(monitoria, "Título Recusado")))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put(url).header("If-Match", "\"0\"").contentType(MediaType.APPLICATION_JSON)
+                        .content(monitoriaBody(monitoria, "Título Atualizado")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.title").value("Título Atualizado"));
+
+        mockMvc.perform(put("/monitorias/" + UUID.randomUUID()).contentType(MediaType.APPLICATION_JSON)
+                        .content(monitoriaBody(monitoria, "Inexistente")))
+                .andExpect(status().isNotFound());
+    }
+
+    private static String monitoriaBody(Monitoria monitoria, String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"Descrição\",\"remote\":false,\"location\":\"Sala 1\"," +
+                "\"vacancies\":2,\"workload\":20," +
+                "\"inicialDate\":\"" + monitoria.getInicialDate() + "\",\"finalDate\":\"" + monitoria.getFinalDate() + "\"," +
+                "\"inicialIngressDate\":\"" + monitoria.getInicialIngressDate() + "\"," +
+                "\"finalIngressDate\":\"" + monitoria.getFinalIngressDate() + "\"," +
+                "\"selectionType\":\"ENTREVISTA\",\"statusMonitoria\":\"APROVADA\"," +
+                "\"courseId\":\"" + monitoria.getCourse().getId() + "\"," +
+                "\"subjectId\":\"" + monitoria.getSubject().getId() + "\"," +
+                "\"professorId\":\"" + monitoria.getProfessor().getId() + "\"}";
+    }
+
+    private Monitoria createMonitoria() {
+        Course course = courseRepository.save(new Course(null, "Curso Versionado", 8, true, LocalDateTime.now()));
+        Discipline discipline = disciplineRepository.save(new Discipline(null, "Disciplina Versionada", true, LocalDateTime.now(), course));
+
+        Professor professor = new Professor();
+        professor.setFirstName("Professor");
+        professor.setLastName("Versionado");
+        professor.setEmail("professor.versionado@biopark.edu.br");
+        professor.setRa("PV1");
+        professor.setCpf("30303030303");
+        professor.setActive(true);
+        professor.setUser(createUser(UserRole.PROFESSOR));
+        professor.setDisciplines(new HashSet<>(Set.of(discipline)));
+        professor = professorRepository.save(professor);
+
+        return monitoriaRepository.save(new Monitoria(null, "Monitoria Versionada", "Descrição", false, "Sala 1", 2, 20,
+                LocalDate.now().plusDays(10), LocalDate.now().plusMonths(3),
+                LocalDate.now().plusDays(5), LocalDate.now().plusDays(9),
+                SelectionType.ENTREVISTA, LocalDate.now().plusDays(15), "14:00", LocalDate.now().plusDays(13),
+                StatusMonitoria.APROVADA, course, discipline, professor));
+    }
+
+    private User createUser(UserRole role) {
+        String login = "version." + UUID.randomUUID();
+        User user = new User(login, login + "@biopark.edu.br", "password", role);
+        user.setStatus(true);
+        return userRepository.save(user);
+    }
+}
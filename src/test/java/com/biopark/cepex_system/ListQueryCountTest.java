@@ -0,0 +1,260 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.course.Course;
+import com.biopark.cepex_system.domain.course.Discipline;
+import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.SelectionType;
+import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
+import com.biopark.cepex_system.domain.professor.Professor;
+import com.biopark.cepex_system.domain.project.ExtensionProject;
+import com.biopark.cepex_system.domain.project.ResearchProject;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.repository.CandidaturaMonitoriaRepository;
+import com.biopark.cepex_system.repository.CourseRepository;
+import com.biopark.cepex_system.repository.DisciplineRepository;
+import com.biopark.cepex_system.repository.ExtensionProjectRepository;
+import com.biopark.cepex_system.repository.MonitoriaRepository;
+import com.biopark.cepex_system.repository.ProfessorRepository;
+import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import com.biopark.cepex_system.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Garante que as listagens executam um número constante de comandos SQL, independente da quantidade de linhas
+ * (sem consultas secundárias por linha para associações).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class ListQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CandidaturaMonitoriaRepository candidaturaRepository;
+    @Autowired
+    private MonitoriaRepository monitoriaRepository;
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+    @Autowired
+    private ExtensionProjectRepository extensionProjectRepository;
+    @Autowired
+    private ProfessorRepository professorRepository;
+    @Autowired
+    private DisciplineRepository disciplineRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        candidaturaRepository.deleteAll();
+        monitoriaRepository.deleteAll();
+        researchProjectRepository.deleteAll();
+        extensionProjectRepository.deleteAll();
+        professorRepository.deleteAll();
+        disciplineRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("GET /monitorias should run the same number of statements for 2 and 6 rows")
+    void monitoriaListStatementCountIsConstant() throws Exception {
+        createMonitorias(2);
+        long fewRows = countStatements("/monitorias");
+
+        createMonitorias(4);
+        long moreRows = countStatements("/monitorias");
+
+        assertEquals(fewRows, moreRows);
+    }
+
+    @Test
+    @DisplayName("GET /monitorias should page through duplicate titles without repeating rows and reject unknown sorts")
+    void monitoriaListPagesAreStable() throws Exception {
+        createMonitorias(3);
+        monitoriaRepository.findAll().forEach(m -> m.setTitle("Monitoria Repetida"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<String> ids = new HashSet<>();
+        for (int page = 0; page < 2; page++) {
+            MvcResult result = mockMvc.perform(get("/monitorias").param("size", "2").param("page", String.valueOf(page)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.page.totalElements").value(3))
+                    .andExpect(jsonPath("$.page.size").value(2))
+                    .andReturn();
+            List<String> pageIds = JsonPath.read(result.getResponse().getContentAsString(), "$.content[*].id");
+            ids.addAll(pageIds);
+        }
+        assertEquals(3, ids.size());
+
+        mockMvc.perform(get("/monitorias").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/monitorias").param("direction", "sideways"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /research-projects should run the same number of statements for 2 and 6 rows")
+    void researchProjectListStatementCountIsConstant() throws Exception {
+        createResearchProjects(2);
+        long fewRows = countStatements("/research-projects");
+
+        createResearchProjects(4);
+        long moreRows = countStatements("/research-projects");
+
+        assertEquals(fewRows, moreRows);
+    }
+
+    @Test
+    @DisplayName("GET /extension-projects should run the same number of statements for 2 and 6 rows")
+    void extensionProjectListStatementCountIsConstant() throws Exception {
+        createExtensionProjects(2);
+        long fewRows = countStatements("/extension-projects");
+
+        createExtensionProjects(4);
+        long moreRows = countStatements("/extension-projects");
+
+        assertEquals(fewRows, moreRows);
+    }
+
+    @Test
+    @DisplayName("GET /research-projects should page by offset with X-Total-Count and continue by keyset cursor")
+    void researchProjectListPagesByOffsetAndCursor() throws Exception {
+        createResearchProjects(5);
+        entityManager.flush();
+        entityManager.clear();
+
+        MvcResult first = mockMvc.perform(get("/research-projects").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn();
+        String cursor = first.getResponse().getHeader("X-Next-Cursor");
+        assertNotNull(cursor);
+
+        MvcResult second = mockMvc.perform(get("/research-projects").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andReturn();
+        cursor = second.getResponse().getHeader("X-Next-Cursor");
+        assertNotNull(cursor);
+
+        mockMvc.perform(get("/research-projects").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/research-projects").param("cursor", "inválido"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/research-projects").param("sort", "description"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Limpa o contexto de persistência para que a listagem carregue tudo do banco
+    private long countStatements(String url) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User createUser(UserRole role) {
+        int n = ++sequence;
+        User user = new User("user" + n, "user" + n + "@biopark.edu.br", "password", role);
+        user.setStatus(true);
+        return userRepository.save(user);
+    }
+
+    private void createMonitorias(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = ++sequence;
+            Course course = courseRepository.save(new Course(null, "Curso " + n, 8, true, LocalDateTime.now()));
+            Discipline discipline = disciplineRepository.save(new Discipline(null, "Disciplina " + n, true, LocalDateTime.now(), course));
+
+            Professor professor = new Professor();
+            professor.setFirstName("Professor" + n);
+            professor.setLastName("Teste");
+            professor.setEmail("professor" + n + "@biopark.edu.br");
+            professor.setRa("P" + n);
+            professor.setCpf(String.format("%011d", n));
+            professor.setActive(true);
+            professor.setUser(createUser(UserRole.PROFESSOR));
+            professor.setDisciplines(new HashSet<>(Set.of(discipline)));
+            professor = professorRepository.save(professor);
+
+            monitoriaRepository.save(new Monitoria(null, "Monitoria " + n, "Descrição", false, "Sala " + n, 2, 20,
+                    LocalDate.now().plusDays(10), LocalDate.now().plusMonths(3),
+                    LocalDate.now().plusDays(5), LocalDate.now().plusDays(9),
+                    SelectionType.ENTREVISTA, LocalDate.now().plusDays(15), "14:00", LocalDate.now().plusDays(13),
+                    StatusMonitoria.APROVADA, course, discipline, professor));
+        }
+    }
+
+    private void createResearchProjects(int count) {
+        for (int i = 0; i < count; i++) {
+            ResearchProject project = new ResearchProject();
+            project.setTitle("Projeto de Pesquisa " + (++sequence));
+            project.setStatus(ResearchProject.ProjectStatus.ABERTO);
+            project.setLeadResearcher(createUser(UserRole.PROFESSOR));
+            project.getCollaborators().add(createUser(UserRole.PROFESSOR));
+            researchProjectRepository.save(project);
+        }
+    }
+
+    private void createExtensionProjects(int count) {
+        for (int i = 0; i < count; i++) {
+            User coordinator = createUser(UserRole.PROFESSOR);
+            ExtensionProject project = new ExtensionProject();
+            project.setTitle("Projeto de Extensão " + (++sequence));
+            project.setLocation("Campus");
+            project.setStatus(ExtensionProject.ProjectStatus.ABERTO);
+            project.setCoordinator(coordinator);
+            project.setLeadResearcher(coordinator);
+            project.getTeam().add(createUser(UserRole.STUDENT));
+            extensionProjectRepository.save(project);
+        }
+    }
+}
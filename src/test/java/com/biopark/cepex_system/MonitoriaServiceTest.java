@@ -4,6 +4,7 @@ import com.biopark.cepex_system.domain.course.Course;
 import com.biopark.cepex_system.domain.course.Discipline;
 import com.biopark.cepex_system.domain.monitoria.CandidaturaMonitoria;
 import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.MonitoriaSummary;
 import com.biopark.cepex_system.domain.monitoria.SelectionType;
 import com.biopark.cepex_system.domain.monitoria.StatusCandidatura;
 import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
@@ -23,11 +24,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -152,9 +155,9 @@ class MonitoriaServiceTest {
     @Test
     @DisplayName("Should find all monitorias")
     void findAllMonitorias() {
-        List<Monitoria> monitorias = monitoriaService.findAll(null, null);
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries(null, null, PageRequest.of(0, 10));
         assertFalse(monitorias.isEmpty());
-        assertEquals(1, monitorias.size());
+        assertEquals(1, monitorias.getTotalElements());
     }
 
     @Test
@@ -194,28 +197,28 @@ class MonitoriaServiceTest {
     @Test
     @DisplayName("Should apply search filter by title")
     void findAllMonitoriasWithSearchByTitle() {
-        List<Monitoria> monitorias = monitoriaService.findAll("POO", null);
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries("POO", null, PageRequest.of(0, 10));
         assertFalse(monitorias.isEmpty());
-        assertEquals(1, monitorias.size());
-        assertEquals("Monitoria de POO", monitorias.get(0).getTitle());
+        assertEquals(1, monitorias.getTotalElements());
+        assertEquals("Monitoria de POO", monitorias.getContent().get(0).getTitle());
     }
 
     @Test
     @DisplayName("Should apply search filter by professor name")
     void findAllMonitoriasWithSearchByProfessorName() {
-        List<Monitoria> monitorias = monitoriaService.findAll("prof test", null);
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries("prof test", null, PageRequest.of(0, 10));
         assertFalse(monitorias.isEmpty());
-        assertEquals(1, monitorias.size());
-        assertEquals("Monitoria de POO", monitorias.get(0).getTitle());
+        assertEquals(1, monitorias.getTotalElements());
+        assertEquals("Monitoria de POO", monitorias.getContent().get(0).getTitle());
     }
 
     @Test
     @DisplayName("Should apply search filter by subject name")
     void findAllMonitoriasWithSearchBySubjectName() {
-        List<Monitoria> monitorias = monitoriaService.findAll("orientada", null);
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries("orientada", null, PageRequest.of(0, 10));
         assertFalse(monitorias.isEmpty());
-        assertEquals(1, monitorias.size());
-        assertEquals("Monitoria de POO", monitorias.get(0).getTitle());
+        assertEquals(1, monitorias.getTotalElements());
+        assertEquals("Monitoria de POO", monitorias.getContent().get(0).getTitle());
     }
 
     @Test
@@ -223,25 +226,85 @@ class MonitoriaServiceTest {
     void findAllMonitoriasWithStatusFilter() {
         monitoria.setStatusMonitoria(StatusMonitoria.APROVADA);
         monitoriaService.save(monitoria);
-        List<Monitoria> monitorias = monitoriaService.findAll(null, "APROVADA");
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries(null, "APROVADA", PageRequest.of(0, 10));
         assertFalse(monitorias.isEmpty());
-        assertEquals(1, monitorias.size());
-        assertEquals(StatusMonitoria.APROVADA, monitorias.get(0).getStatusMonitoria());
+        assertEquals(1, monitorias.getTotalElements());
+        assertEquals(StatusMonitoria.APROVADA, monitorias.getContent().get(0).getStatusMonitoria());
     }
 
     @Test
     @DisplayName("Should return empty list for non-existent search criteria")
     void findAllMonitoriasNoMatch() {
-        List<Monitoria> monitorias = monitoriaService.findAll("NonExistent", null);
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries("NonExistent", null, PageRequest.of(0, 10));
         assertTrue(monitorias.isEmpty());
     }
 
     @Test
     @DisplayName("Should return empty list for non-existent status")
     void findAllMonitoriasInvalidStatus() {
-        List<Monitoria> monitorias = monitoriaService.findAll(null, "INVALID_STATUS");
+        Page<MonitoriaSummary> monitorias = monitoriaService.findSummaries(null, "INVALID_STATUS", PageRequest.of(0, 10));
         // Should return all if status is invalid
         assertFalse(monitorias.isEmpty());
-        assertEquals(1, monitorias.size());
+        assertEquals(1, monitorias.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return a paginated page filtered by search and status in the database")
+    void findAllMonitoriasPaginated() {
+        monitoria.setStatusMonitoria(StatusMonitoria.APROVADA);
+        monitoriaService.save(monitoria);
+
+        Page<MonitoriaSummary> page = monitoriaService.findSummaries("poo", "APROVADA", PageRequest.of(0, 10, Sort.by("title")));
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Monitoria de POO", page.getContent().get(0).getTitle());
+
+        Page<MonitoriaSummary> emptyPage = monitoriaService.findSummaries("poo", "REJEITADA", PageRequest.of(0, 10));
+        assertEquals(0, emptyPage.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should only list approved monitorias for students")
+    void findAllForStudentOnlyApproved() {
+        Page<MonitoriaSummary> pending = monitoriaService.findSummariesForStudent(null, PageRequest.of(0, 10));
+        assertEquals(0, pending.getTotalElements());
+
+        monitoria.setStatusMonitoria(StatusMonitoria.APROVADA);
+        monitoriaService.save(monitoria);
+        Page<MonitoriaSummary> approved = monitoriaService.findSummariesForStudent(null, PageRequest.of(0, 10));
+        assertEquals(1, approved.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should compute statistics with per-course and per-discipline breakdowns")
+    void getMonitoriaStatisticsWithBreakdowns() {
+        candidaturaRepository.save(new CandidaturaMonitoria(monitoria, studentUser));
+
+        MonitoriaService.MonitoriaStatisticsDTO stats = monitoriaService.getMonitoriaStatistics();
+        assertEquals(1, stats.monitoriasAbertas());
+        assertEquals(0, stats.monitoresAtivos());
+        assertEquals(1, stats.candidatosPendentes());
+
+        assertEquals(1, stats.porCurso().size());
+        assertEquals(course.getId(), stats.porCurso().get(0).id());
+        assertEquals(1, stats.porCurso().get(0).candidatosPendentes());
+        assertEquals(1, stats.porDisciplina().size());
+        assertEquals(discipline.getName(), stats.porDisciplina().get(0).nome());
+    }
+
+    @Test
+    @DisplayName("Should list monitorias as lightweight summaries with filters applied in SQL")
+    void findSummariesReturnsListingColumns() {
+        Page<MonitoriaSummary> page = monitoriaService.findSummaries("poo", null, PageRequest.of(0, 10, Sort.by("title")));
+
+        assertEquals(1, page.getTotalElements());
+        MonitoriaSummary summary = page.getContent().get(0);
+        assertEquals(monitoria.getId(), summary.getId());
+        assertEquals("Monitoria de POO", summary.getTitle());
+        assertEquals(StatusMonitoria.PENDENTE, summary.getStatusMonitoria());
+        assertEquals("Prof Test", summary.getProfessorName());
+        assertEquals("Engenharia de Software Test", summary.getCourseName());
+        assertEquals("Programação Orientada a Objetos Test", summary.getDisciplineName());
+
+        assertTrue(monitoriaService.findSummariesForStudent("poo", PageRequest.of(0, 10)).isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.course.Course;
+import com.biopark.cepex_system.repository.CourseRepository;
+import com.biopark.cepex_system.service.CourseService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes das listagens condicionais de dados de referência (ETag / If-None-Match).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMIN")
+class ReferenceDataControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("GET /courses should answer 304 for the current ETag and a new ETag after a change")
+    void coursesAnswerNotModifiedUntilChanged() throws Exception {
+        String etag = mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/courses").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        courseService.save(new Course(null, "Curso de Versionamento", 8, true, null));
+
+        String body = mockMvc.perform(get("/courses").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String newEtag = mockMvc.perform(get("/courses"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, newEtag);
+        assertTrue(body.contains("Curso de Versionamento"));
+
+        mockMvc.perform(get("/disciplines").header("If-None-Match", newEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("A change recorded by another instance should replace the ETag and the locally cached list")
+    void changeFromAnotherInstanceEvictsLocalCache() throws Exception {
+        String etag = mockMvc.perform(get("/courses/active"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Outra instância: grava direto no banco e avança a versão, sem passar pelo cache desta instância
+        courseRepository.save(new Course(null, "Curso de Outra Instância", 6, true, null));
+        jdbcTemplate.update("UPDATE reference_data_version SET version = version + 1 WHERE id = 1");
+
+        String body = mockMvc.perform(get("/courses/active").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Curso de Outra Instância"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.monitoria.Monitoria;
+import com.biopark.cepex_system.domain.monitoria.SelectionType;
+import com.biopark.cepex_system.domain.monitoria.StatusMonitoria;
+import com.biopark.cepex_system.domain.project.ResearchProject;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.repository.MonitoriaRepository;
+import com.biopark.cepex_system.repository.ResearchProjectRepository;
+import com.biopark.cepex_system.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes da busca unificada (GET /search).
+ * Sem @Transactional: o índice FULLTEXT do InnoDB só enxerga linhas confirmadas, então os dados são gravados
+ * com commit e removidos ao fim de cada teste.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class SearchControllerTest {
+
+    // Palavra que não aparece em nenhum outro dado, para isolar os resultados deste teste
+    private static final String TERM = "quasarlogia";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MonitoriaRepository monitoriaRepository;
+    @Autowired
+    private ResearchProjectRepository researchProjectRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UUID> monitoriaIds = new ArrayList<>();
+    private final List<UUID> projectIds = new ArrayList<>();
+    private final List<UUID> userIds = new ArrayList<>();
+
+    private Monitoria approvedMonitoria;
+    private Monitoria pendingMonitoria;
+    private ResearchProject researchProject;
+
+    @BeforeEach
+    void setUp() {
+        // O termo aparece mais vezes na monitoria aprovada, que deve vir antes da pendente
+        approvedMonitoria = createMonitoria("Monitoria de " + TERM, TERM + " aplicada: exercícios de " + TERM, StatusMonitoria.APROVADA);
+        pendingMonitoria = createMonitoria("Monitoria de Física", "Introdução à " + TERM, StatusMonitoria.PENDENTE);
+        // Linhas sem o termo: com todas as linhas da tabela contendo a palavra, o InnoDB atribui relevância zero
+        createMonitoria("Monitoria de Cálculo", "Limites e derivadas", StatusMonitoria.APROVADA);
+        createMonitoria("Monitoria de Química", "Estequiometria", StatusMonitoria.APROVADA);
+
+        User lead = new User("search.lead." + UUID.randomUUID(), "search.lead." + UUID.randomUUID() + "@biopark.edu.br", "password", UserRole.PROFESSOR);
+        lead = userRepository.save(lead);
+        userIds.add(lead.getId());
+        researchProject = createResearchProject("Pesquisa em " + TERM, lead);
+        createResearchProject("Pesquisa em Botânica", lead);
+        createResearchProject("Pesquisa em Geologia", lead);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitoriaRepository.deleteAllById(monitoriaIds);
+        researchProjectRepository.deleteAllById(projectIds);
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    @DisplayName("Should return hits from every type ordered by relevance with the total in X-Total-Count")
+    void searchRanksAcrossTypes() throws Exception {
+        JsonNode items = readItems(mockMvc.perform(get("/search").param("q", TERM))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals(3, items.size());
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i - 1).get("score").asDouble() >= items.get(i).get("score").asDouble());
+        }
+        assertTrue(indexOf(items, approvedMonitoria.getId()) < indexOf(items, pendingMonitoria.getId()));
+        assertTrue(indexOf(items, researchProject.getId()) >= 0);
+    }
+
+    @Test
+    @DisplayName("Should only return approved monitorias to students")
+    void studentsOnlySeeApprovedMonitorias() throws Exception {
+        User student = new User("search.student", "search.student@biopark.edu.br", "password", UserRole.STUDENT);
+        JsonNode items = readItems(mockMvc.perform(get("/search").param("q", TERM).with(user(student)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andReturn().getResponse().getContentAsString());
+
+        assertTrue(indexOf(items, approvedMonitoria.getId()) >= 0);
+        assertEquals(-1, indexOf(items, pendingMonitoria.getId()));
+    }
+
+    @Test
+    @DisplayName("Should reject short terms and pages past the result window, and clamp the page size")
+    void searchValidatesTermAndPaging() throws Exception {
+        mockMvc.perform(get("/search").param("q", " ab "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/search").param("q", TERM).param("page", "50").param("size", "10"))
+                .andExpect(status().isBadRequest());
+
+        // size=1000 é limitado a 50: a página 9 termina exatamente no limite de 500 resultados
+        mockMvc.perform(get("/search").param("q", TERM).param("page", "9").param("size", "1000"))
+                .andExpect(status().isOk());
+        JsonNode items = readItems(mockMvc.perform(get("/search").param("q", TERM).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(1, items.size());
+    }
+
+    private JsonNode readItems(String body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+
+    private static int indexOf(JsonNode items, UUID id) {
+        for (int i = 0; i < items.size(); i++) {
+            if (id.toString().equals(items.get(i).get("id").asText())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Monitoria createMonitoria(String title, String description, StatusMonitoria status) {
+        Monitoria monitoria = monitoriaRepository.save(new Monitoria(null, title, description, false, "Sala 1", 2, 20,
+                LocalDate.now().plusDays(10), LocalDate.now().plusMonths(3),
+                LocalDate.now().plusDays(5), LocalDate.now().plusDays(9),
+                SelectionType.ENTREVISTA, LocalDate.now().plusDays(15), "14:00", LocalDate.now().plusDays(13),
+                status, null, null, null));
+        monitoriaIds.add(monitoria.getId());
+        return monitoria;
+    }
+
+    private ResearchProject createResearchProject(String title, User lead) {
+        ResearchProject project = new ResearchProject();
+        project.setTitle(title);
+        project.setStatus(ResearchProject.ProjectStatus.ABERTO);
+        project.setLeadResearcher(lead);
+        project = researchProjectRepository.save(project);
+        projectIds.add(project.getId());
+        return project;
+    }
+}
@@ -0,0 +1,145 @@
+package com.biopark.cepex_system;
+
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.repository.UserRepository;
+import com.biopark.cepex_system.service.UserRoleCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes dos contadores do painel (UserRoleCounters) mantidos pelo UserCountListener.
+ * Sem @Transactional: as diferenças só são aplicadas após o commit, então cada alteração é confirmada
+ * e os usuários criados são removidos ao fim de cada teste.
+ */
+@SpringBootTest
+class UserRoleCountersTest {
+
+    @Autowired
+    private UserRoleCounters counters;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private final List<UUID> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        counters.reconcile(); // Parte do estado atual do banco
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    @DisplayName("Should count a committed insert by role and as active")
+    void persistIncrementsCounters() {
+        long students = counters.countByRole(UserRole.STUDENT);
+        long active = counters.countActive();
+
+        createUser(UserRole.STUDENT, true);
+
+        assertEquals(students + 1, counters.countByRole(UserRole.STUDENT));
+        assertEquals(active + 1, counters.countActive());
+    }
+
+    @Test
+    @DisplayName("Should move the user between roles and out of the active count on update")
+    void roleAndStatusChangeMovesCounters() {
+        User user = createUser(UserRole.STUDENT, true);
+        long students = counters.countByRole(UserRole.STUDENT);
+        long professors = counters.countByRole(UserRole.PROFESSOR);
+        long active = counters.countActive();
+
+        transaction.executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setRole(UserRole.PROFESSOR);
+            managed.setStatus(false);
+        });
+
+        assertEquals(students - 1, counters.countByRole(UserRole.STUDENT));
+        assertEquals(professors + 1, counters.countByRole(UserRole.PROFESSOR));
+        assertEquals(active - 1, counters.countActive());
+    }
+
+    @Test
+    @DisplayName("Should decrement the counters when a user is removed")
+    void removeDecrementsCounters() {
+        User user = createUser(UserRole.SECRETARY, true);
+        long secretaries = counters.countByRole(UserRole.SECRETARY);
+        long active = counters.countActive();
+
+        userRepository.deleteById(user.getId());
+
+        assertEquals(secretaries - 1, counters.countByRole(UserRole.SECRETARY));
+        assertEquals(active - 1, counters.countActive());
+    }
+
+    @Test
+    @DisplayName("Should leave the counters unchanged when the transaction rolls back")
+    void rollbackLeavesCountersUnchanged() {
+        long coordenation = counters.countByRole(UserRole.COORDENATION);
+        long active = counters.countActive();
+
+        transaction.executeWithoutResult(status -> {
+            userRepository.saveAndFlush(newUser(UserRole.COORDENATION, true));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(coordenation, counters.countByRole(UserRole.COORDENATION));
+        assertEquals(active, counters.countActive());
+    }
+
+    @Test
+    @DisplayName("Should correct counters drifted by changes made outside JPA on reconcile")
+    void reconcileCorrectsDrift() {
+        User user = createUser(UserRole.STUDENT, true);
+        long students = counters.countByRole(UserRole.STUDENT);
+        long professors = counters.countByRole(UserRole.PROFESSOR);
+
+        // UPDATE direto no banco: o listener não é chamado e os contadores ficam desatualizados
+        jdbcTemplate.update("UPDATE users SET role = 'PROFESSOR' WHERE id = UUID_TO_BIN(?)", user.getId().toString());
+        counters.add(UserRole.ADMIN, true, 5);
+        assertEquals(students, counters.countByRole(UserRole.STUDENT));
+
+        counters.reconcile();
+
+        assertEquals(students - 1, counters.countByRole(UserRole.STUDENT));
+        assertEquals(professors + 1, counters.countByRole(UserRole.PROFESSOR));
+        long activeInDatabase = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE status = 1", Long.class);
+        assertEquals(activeInDatabase, counters.countActive());
+    }
+
+    private User createUser(UserRole role, boolean status) {
+        User user = userRepository.save(newUser(role, status));
+        createdIds.add(user.getId());
+        return user;
+    }
+
+    private static User newUser(UserRole role, boolean status) {
+        String login = "counter." + UUID.randomUUID();
+        User user = new User(login, login + "@biopark.edu.br", "password", role);
+        user.setStatus(status);
+        return user;
+    }
+}
@@ -0,0 +1,159 @@
+package com.biopark.cepex_system.benchmark;
+
+import com.biopark.cepex_system.infra.persistence.UuidV7;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de inserções em candidatura_monitoria durante uma onda de candidaturas (abertura das inscrições),
+ * comparando chaves primárias UUID v4 aleatórias com UUID v7 ordenados pelo tempo (UuidV7).
+ * Usa uma cópia da tabela com as mesmas chaves e índices (sem as chaves estrangeiras) em um MySQL real. Ao fim de
+ * cada configuração, imprime as divisões de página de índice registradas pelo InnoDB (INNODB_METRICS.index_page_splits,
+ * contador global do servidor) e o tamanho final dos dados e índices.
+ * Conexão: -Dbench.jdbc.url, -Dbench.jdbc.user e -Dbench.jdbc.password (padrão: banco local db_cepex, usuário root).
+ * A métrica de page splits exige permissão para SET GLOBAL innodb_monitor_enable; sem ela, apenas a vazão é medida.
+ * Execução: mvn test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CandidaturaInsertBenchmark {
+
+    private static final String TABLE = "candidatura_monitoria_bench";
+    private static final int BATCH_SIZE = 100;
+    // Poucas monitorias concentram as candidaturas, como na abertura das inscrições
+    private static final int MONITORIAS = 20;
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public String keyType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private byte[][] monitoriaIds;
+    private boolean pageSplitMetric;
+    private long pageSplitsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url",
+                        "jdbc:mysql://localhost:3306/db_cepex?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", ""));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (" +
+                    "id BINARY(16) NOT NULL, monitoria_id BINARY(16) NOT NULL, aluno_id BINARY(16) NOT NULL, " +
+                    "status VARCHAR(20), data_candidatura DATETIME(6), idempotency_key VARCHAR(64), " +
+                    "PRIMARY KEY (id), " +
+                    "UNIQUE KEY uk_bench_monitoria_aluno (monitoria_id, aluno_id), " +
+                    "KEY idx_bench_monitoria_status_data (monitoria_id, status, data_candidatura))");
+        }
+
+        monitoriaIds = new byte[MONITORIAS][];
+        for (int i = 0; i < MONITORIAS; i++) {
+            monitoriaIds[i] = toBytes(UuidV7.next());
+        }
+        pageSplitMetric = enablePageSplitMetric();
+        pageSplitsBefore = readPageSplits();
+
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + TABLE +
+                " (id, monitoria_id, aluno_id, status, data_candidatura, idempotency_key) VALUES (?, ?, ?, 'PENDENTE', ?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertCandidaturas() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setBytes(1, toBytes(nextId()));
+            insert.setBytes(2, monitoriaIds[random.nextInt(MONITORIAS)]);
+            insert.setBytes(3, toBytes(UUID.randomUUID())); // Alunos já cadastrados, em ordem qualquer
+            insert.setTimestamp(4, now);
+            insert.setString(5, UUID.randomUUID().toString());
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        if (pageSplitMetric) {
+            System.out.printf("%n[%s] index_page_splits: %d%n", keyType, readPageSplits() - pageSplitsBefore);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + TABLE);
+            try (ResultSet rs = statement.executeQuery("SELECT table_rows, data_length, index_length FROM information_schema.TABLES " +
+                    "WHERE table_schema = DATABASE() AND table_name = '" + TABLE + "'")) {
+                if (rs.next()) {
+                    System.out.printf("[%s] linhas: ~%d, dados: %d KB, índices secundários: %d KB%n", keyType,
+                            rs.getLong(1), rs.getLong(2) / 1024, rs.getLong(3) / 1024);
+                }
+            }
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        insert.close();
+        connection.close();
+    }
+
+    private UUID nextId() {
+        return keyType.equals("TIME_ORDERED_V7") ? UuidV7.next() : UUID.randomUUID();
+    }
+
+    private boolean enablePageSplitMetric() {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET GLOBAL innodb_monitor_enable = 'index_page_splits'");
+            return true;
+        } catch (SQLException e) {
+            System.out.println("Sem permissão para habilitar index_page_splits; medindo apenas a vazão.");
+            return false;
+        }
+    }
+
+    private long readPageSplits() throws SQLException {
+        if (!pageSplitMetric) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT `COUNT` FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits'")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // Mesma disposição de bytes do BINARY(16) gravado pelo Hibernate (bits mais significativos primeiro)
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CandidaturaInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,73 @@
+package com.biopark.cepex_system.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.biopark.cepex_system.domain.user.User;
+import com.biopark.cepex_system.domain.user.UserRole;
+import com.biopark.cepex_system.infra.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH do custo de validação de token por requisição.
+ * Compara a abordagem anterior (Algorithm e JWTVerifier criados a cada chamada) com o TokenService atual,
+ * com e sem o cache de tokens verificados.
+ * Execução: mvn test-compile e depois rodar o main desta classe com o classpath de teste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark_secret_key_long_enough_for_hmac256_signatures";
+    private static final String ISSUER = "cepex-auth-api";
+
+    private TokenService cachedService;
+    private TokenService uncachedService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = new TokenService(SECRET, 86400000L, 10000);
+        uncachedService = new TokenService(SECRET, 86400000L, 0);
+
+        User user = new User("benchmark", "benchmark@biopark.edu.br", "hash", UserRole.STUDENT);
+        user.setId(UUID.randomUUID());
+        token = cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public String perRequestVerifier() {
+        // Comportamento anterior: algoritmo e verificador reconstruídos a cada requisição
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        return JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedVerifier() {
+        return uncachedService.validateToken(token);
+    }
+
+    @Benchmark
+    public String sharedVerifierWithCache() {
+        return cachedService.validateToken(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}